@@ -0,0 +1,28 @@
+package com.roja.contentplatform.api.dto;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cross-region listing merged from every shard involved.
+ *
+ * @param counts region -> status -> number of items
+ */
+public record AdminContentResponse(
+    List<Item> items,
+    Map<String, Map<String, Long>> counts,
+    List<String> shards
+) {
+  public record Item(
+      Long id,
+      String region,
+      String category,
+      String status,
+      boolean internal,
+      String createdBy,
+      Instant createdAt,
+      Instant lastModifiedAt,
+      String shard
+  ) {}
+}
@@ -0,0 +1,6 @@
+package com.roja.contentplatform.api.dto;
+
+import java.util.List;
+
+public record BatchTransitionRequest(List<Long> ids) {
+}
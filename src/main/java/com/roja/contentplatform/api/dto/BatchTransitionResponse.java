@@ -0,0 +1,26 @@
+package com.roja.contentplatform.api.dto;
+
+import java.util.List;
+
+/**
+ * Per-item outcome of a batch transition, in request order (duplicates removed).
+ *
+ * @param transitioned items whose status changed; the rest are listed with the reason
+ */
+public record BatchTransitionResponse(
+    String transition,
+    int requested,
+    int transitioned,
+    List<Result> results
+) {
+  /**
+   * @param outcome TRANSITIONED, UNCHANGED (already in the target status), NOT_FOUND, FORBIDDEN
+   *                (outside the caller's regions), INVALID_STATE or NO_VARIANT
+   * @param status  the item's status after the batch; null if not found or forbidden
+   */
+  public record Result(
+      long id,
+      String outcome,
+      String status
+  ) {}
+}
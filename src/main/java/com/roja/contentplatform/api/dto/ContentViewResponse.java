@@ -22,5 +22,6 @@ public record ContentViewResponse(
     String approvedBy,
     Instant approvedAt,
     int version,
-    boolean internal
+    boolean internal,
+    String coverImageUrl
 ) {}
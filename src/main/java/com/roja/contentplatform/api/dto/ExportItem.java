@@ -0,0 +1,43 @@
+package com.roja.contentplatform.api.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/** One {@code "type":"item"} line of a content export: the item row with its tags and every variant. */
+public record ExportItem(
+    String type,
+    Long id,
+    String contentType,
+    String region,
+    String category,
+    List<String> tags,
+    String status,
+    String priority,
+    boolean pinned,
+    boolean internal,
+    Instant scheduledPublishAt,
+    Instant scheduledUnpublishAt,
+    String createdBy,
+    Instant createdAt,
+    String approvedBy,
+    Instant approvedAt,
+    String publishedBy,
+    Instant publishedAt,
+    String archivedBy,
+    Instant archivedAt,
+    String lastModifiedBy,
+    Instant lastModifiedAt,
+    int version,
+    String coverImageSha256,
+    List<Variant> variants
+) {
+  public record Variant(
+      Long id,
+      String languageCode,
+      String title,
+      String bodyHtml,
+      boolean defaultLang,
+      String updatedBy,
+      Instant updatedAt
+  ) {}
+}
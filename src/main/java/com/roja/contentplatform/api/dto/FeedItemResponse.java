@@ -4,6 +4,11 @@ import java.time.Instant;
 import java.util.List;
 import java.util.Set;
 
+/**
+ * @param excerpt            plain-text start of the body; this and the fields after it are null
+ *                           for variants not yet summarised
+ * @param firstImageSrc      {@code src} of the body's first image, as written in the HTML
+ */
 public record FeedItemResponse(
     Long id,
     String contentType,
@@ -23,5 +28,10 @@ public record FeedItemResponse(
     String approvedBy,
     Instant approvedAt,
     int version,
-    boolean internal
+    boolean internal,
+    String coverImageUrl,
+    String excerpt,
+    Integer wordCount,
+    Integer readingTimeMinutes,
+    String firstImageSrc
 ) {}
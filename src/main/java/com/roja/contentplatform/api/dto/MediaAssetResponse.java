@@ -0,0 +1,13 @@
+package com.roja.contentplatform.api.dto;
+
+import java.util.Map;
+
+public record MediaAssetResponse(
+    String sha256,
+    String url,
+    String mediaType,
+    long sizeBytes,
+    Integer width,
+    Integer height,
+    Map<String, String> renditions // rendition name -> url
+) {}
@@ -0,0 +1,7 @@
+package com.roja.contentplatform.api.dto;
+
+/** @param similarity estimated overlap of tags, category and text with the source item, 0..1 */
+public record RelatedItemResponse(
+    double similarity,
+    FeedItemResponse item
+) {}
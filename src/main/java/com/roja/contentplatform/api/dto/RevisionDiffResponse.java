@@ -0,0 +1,19 @@
+package com.roja.contentplatform.api.dto;
+
+import java.util.List;
+
+public record RevisionDiffResponse(
+    Long contentItemId,
+    String languageCode,
+    int from,
+    int to,
+    String fromTitle,
+    String toTitle,
+    List<Change> changes
+) {
+  /**
+   * @param op EQUAL, DELETE or INSERT
+   * @param length chars covered; long EQUAL runs are abbreviated in {@code text}
+   */
+  public record Change(String op, String text, int length) {}
+}
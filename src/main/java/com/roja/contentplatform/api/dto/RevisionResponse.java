@@ -0,0 +1,13 @@
+package com.roja.contentplatform.api.dto;
+
+import java.time.Instant;
+
+public record RevisionResponse(
+    Long contentItemId,
+    String languageCode,
+    int revision,
+    String title,
+    String bodyHtml,
+    Instant createdAt,
+    String createdBy
+) {}
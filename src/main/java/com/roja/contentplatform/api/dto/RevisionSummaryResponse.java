@@ -0,0 +1,13 @@
+package com.roja.contentplatform.api.dto;
+
+import java.time.Instant;
+
+public record RevisionSummaryResponse(
+    int revision,
+    boolean snapshot,
+    String title,
+    int bodyLength,
+    int storedBytes,
+    Instant createdAt,
+    String createdBy
+) {}
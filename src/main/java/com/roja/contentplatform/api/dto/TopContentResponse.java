@@ -0,0 +1,3 @@
+package com.roja.contentplatform.api.dto;
+
+public record TopContentResponse(Long id, Long views, Long impressions) {}
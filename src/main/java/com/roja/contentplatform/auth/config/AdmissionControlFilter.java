@@ -0,0 +1,81 @@
+package com.roja.contentplatform.auth.config;
+
+import com.roja.contentplatform.services.ratelimit.ClientRateLimiter;
+import com.roja.contentplatform.services.ratelimit.LoadShedder;
+import com.roja.contentplatform.services.ratelimit.RouteClass;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Admission control for {@code /api/**}: sheds load with 503 while the service is overloaded,
+ * then applies the caller's token bucket (429). Both responses carry {@code Retry-After}.
+ * Runs after bearer-token authentication so callers are keyed by JWT {@code sub}.
+ */
+class AdmissionControlFilter extends OncePerRequestFilter {
+
+  private final ClientRateLimiter rateLimiter;
+  private final LoadShedder loadShedder;
+
+  AdmissionControlFilter(ClientRateLimiter rateLimiter, LoadShedder loadShedder) {
+    this.rateLimiter = rateLimiter;
+    this.loadShedder = loadShedder;
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return !request.getRequestURI().startsWith("/api/");
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+      throws ServletException, IOException {
+    RouteClass routeClass = RouteClass.of(request.getMethod());
+
+    if (loadShedder.shouldShed(routeClass)) {
+      reject(response, HttpStatus.SERVICE_UNAVAILABLE, loadShedder.retryAfterSeconds(), "server overloaded");
+      return;
+    }
+
+    long waitMs = rateLimiter.tryAcquire(clientId(request), routeClass);
+    if (waitMs > 0) {
+      reject(response, HttpStatus.TOO_MANY_REQUESTS, Math.max(1, (waitMs + 999) / 1000), "rate limit exceeded");
+      return;
+    }
+
+    long start = System.nanoTime();
+    try {
+      chain.doFilter(request, response);
+    } finally {
+      if (request.getAttribute(LoadShedder.UNTIMED) == null) {
+        loadShedder.recordLatency(routeClass, System.nanoTime() - start);
+      }
+    }
+  }
+
+  private static String clientId(HttpServletRequest request) {
+    Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+    if (auth != null && auth.getPrincipal() instanceof Jwt jwt && jwt.getSubject() != null) {
+      return jwt.getSubject();
+    }
+    return "ip:" + request.getRemoteAddr();
+  }
+
+  private static void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds, String message)
+      throws IOException {
+    response.setStatus(status.value());
+    response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    response.getWriter().write("{\"status\":" + status.value() + ",\"error\":\"" + message + "\"}");
+  }
+}
@@ -0,0 +1,41 @@
+package com.roja.contentplatform.auth.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.ClientAuthenticationMethod;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClient;
+import org.springframework.security.oauth2.server.authorization.client.RegisteredClientRepository;
+import org.springframework.security.oauth2.server.authorization.settings.ClientSettings;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Clients for the load driver under the {@code synthetic} profile: {@code loadtest-0} to
+ * {@code loadtest-<n-1>}, one per virtual user. Each gets its own JWT {@code sub} and so its own
+ * rate-limit buckets, so a capacity run goes through admission control with the real limits.
+ * They get the same scopes as {@code content-platform-client}, never the internal one.
+ */
+@Component
+@Profile("synthetic")
+class LoadTestClients {
+
+  static final String CLIENT_ID_PREFIX = "loadtest-";
+
+  LoadTestClients(RegisteredClientRepository clients,
+                  @Value("${content.synthetic.load-clients:64}") int count,
+                  @Value("${content.synthetic.load-client-secret:loadtest}") String secret) {
+    for (int i = 0; i < count; i++) {
+      clients.save(RegisteredClient.withId(UUID.randomUUID().toString())
+          .clientId(CLIENT_ID_PREFIX + i)
+          .clientSecret(secret)
+          .clientAuthenticationMethod(ClientAuthenticationMethod.CLIENT_SECRET_BASIC)
+          .authorizationGrantType(AuthorizationGrantType.CLIENT_CREDENTIALS)
+          .scope("content.read")
+          .scope("content.write")
+          .clientSettings(ClientSettings.builder().requireProofKey(false).build())
+          .build());
+    }
+  }
+}
@@ -1,6 +1,9 @@
 package com.roja.contentplatform.auth.config;
 
 import com.nimbusds.jose.JOSEException;
+import com.roja.contentplatform.services.Audience;
+import com.roja.contentplatform.services.ratelimit.ClientRateLimiter;
+import com.roja.contentplatform.services.ratelimit.LoadShedder;
 import org.springframework.beans.factory.annotation.Value;
 import com.nimbusds.jose.jwk.RSAKey;
 import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
@@ -9,6 +12,7 @@ import com.nimbusds.jose.proc.SecurityContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -29,6 +33,7 @@ import org.springframework.security.oauth2.server.authorization.settings.Authori
 import org.springframework.security.oauth2.server.authorization.settings.ClientSettings;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
 import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
+import org.springframework.security.oauth2.server.resource.web.authentication.BearerTokenAuthenticationFilter;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 
@@ -43,6 +48,9 @@ import java.util.UUID;
 @EnableMethodSecurity
 public class SecurityConfig {
 
+    /** The only client that may be granted {@link Audience#INTERNAL_SCOPE}. */
+    public static final String STAFF_CLIENT_ID = "content-platform-staff";
+
     @Bean
     @Order(1)
     public SecurityFilterChain authorizationServerSecurityFilterChain(HttpSecurity http, CorsConfigurationSource corsConfigurationSource) throws Exception {
@@ -55,25 +63,31 @@ public class SecurityConfig {
 
     @Bean
     @Order(2)
-    public SecurityFilterChain resourceServerSecurityFilterChain(HttpSecurity http, CorsConfigurationSource corsConfigurationSource) throws Exception {
+    public SecurityFilterChain resourceServerSecurityFilterChain(HttpSecurity http, CorsConfigurationSource corsConfigurationSource,
+                                                                 ClientRateLimiter rateLimiter, LoadShedder loadShedder) throws Exception {
         http.cors(cors -> cors.configurationSource(corsConfigurationSource));
         http.authorizeHttpRequests(authorize ->
                 authorize
                 .requestMatchers(
-                    "/actuator/**",
+                    "/actuator/health/**",
+                    "/actuator/info",
                     "/oauth2/jwks",
                     "/oauth2/token",
                     "/swagger-ui.html",
                     "/swagger-ui/**",
                     "/v3/api-docs/**"
                 ).permitAll()
-                        .anyRequest().authenticated()
+                // Content-addressed media URLs are unguessable and immutable, so they work in <img> tags
+                .requestMatchers(HttpMethod.GET, "/api/v1/media/*").permitAll()
+                // Every other path needs a token, /actuator metrics (pools, latencies, request rates) included
+                .anyRequest().authenticated()
         );
         http.oauth2ResourceServer(oauth2 ->
                 oauth2.jwt(jwt ->
                         jwt.jwtAuthenticationConverter(jwtAuthenticationConverter())
                 )
         );
+        http.addFilterAfter(new AdmissionControlFilter(rateLimiter, loadShedder), BearerTokenAuthenticationFilter.class);
         return http.build();
     }
 
@@ -111,7 +125,13 @@ public class SecurityConfig {
     }
 
     @Bean
-    public RegisteredClientRepository registeredClientRepository() {
+    public RegisteredClientRepository registeredClientRepository(
+            @Value("${STAFF_CLIENT_SECRET}") String staffSecret) {
+        // No default: a well-known secret would hand the internal scope to anyone
+        if (staffSecret.isBlank()) {
+            throw new IllegalStateException("STAFF_CLIENT_SECRET must not be blank");
+        }
+        // Shared with external integrations, so it never gets the internal scope
         RegisteredClient client = RegisteredClient.withId(UUID.randomUUID().toString())
                 .clientId("content-platform-client")
                 .clientSecret("secret")
@@ -123,7 +143,20 @@ public class SecurityConfig {
                 .clientSettings(ClientSettings.builder().requireProofKey(false).build())
                 .build();
 
-        return new InMemoryRegisteredClientRepository(client);
+        // Staff tools (the web dashboard) read internal content through their own client
+        RegisteredClient staff = RegisteredClient.withId(UUID.randomUUID().toString())
+                .clientId(STAFF_CLIENT_ID)
+                .clientSecret(staffSecret)
+                .clientAuthenticationMethod(ClientAuthenticationMethod.CLIENT_SECRET_BASIC)
+                .authorizationGrantType(AuthorizationGrantType.CLIENT_CREDENTIALS)
+                .authorizationGrantType(AuthorizationGrantType.REFRESH_TOKEN)
+                .scope("content.read")
+                .scope("content.write")
+                .scope(Audience.INTERNAL_SCOPE)
+                .clientSettings(ClientSettings.builder().requireProofKey(false).build())
+                .build();
+
+        return new InMemoryRegisteredClientRepository(client, staff);
     }
 
     @Bean
@@ -2,6 +2,7 @@ package com.roja.contentplatform.auth.config;
 
 import java.util.List;
 
+import com.roja.contentplatform.services.Audience;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -24,11 +25,19 @@ public class TokenCustomizerConfig {
           .toList();
       context.getClaims().claim("roles", roles);
 
+      // Staff roles and the staff client (the only one granted content.internal) read internal content
+      // everyone else is external
+      boolean internal = roles.contains("ROLE_ADMIN") || roles.contains("ROLE_EDITOR")
+          || context.getAuthorizedScopes().contains(Audience.INTERNAL_SCOPE);
+      context.getClaims().claim(Audience.CLAIM, (internal ? Audience.INTERNAL : Audience.EXTERNAL).claimValue());
+
       // Demo region assignment based on username/client (replace later with DB)
       String principal_name = principal.getName();
       
       // OAuth2 client gets all regions
-      if ("content-platform-client".equals(principal_name)) {
+      if ("content-platform-client".equals(principal_name)
+          || SecurityConfig.STAFF_CLIENT_ID.equals(principal_name)
+          || principal_name.startsWith(LoadTestClients.CLIENT_ID_PREFIX)) {
         context.getClaims().claim("regions", List.of("US", "JP", "RU"));
       } else if ("admin".equals(principal_name)) {
         context.getClaims().claim("regions", List.of("US", "JP", "RU"));
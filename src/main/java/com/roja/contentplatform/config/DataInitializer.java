@@ -4,7 +4,9 @@ import com.roja.contentplatform.model.ContentItem;
 import com.roja.contentplatform.model.ContentVariant;
 import com.roja.contentplatform.repository.ContentItemRepository;
 import com.roja.contentplatform.repository.ContentVariantRepository;
+import com.roja.contentplatform.services.sharding.ShardRouter;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
@@ -12,19 +14,22 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Component
+@Profile("!synthetic")
 public class DataInitializer implements CommandLineRunner {
 
     private final ContentItemRepository itemRepo;
     private final ContentVariantRepository variantRepo;
+    private final ShardRouter shards;
 
-    public DataInitializer(ContentItemRepository itemRepo, ContentVariantRepository variantRepo) {
+    public DataInitializer(ContentItemRepository itemRepo, ContentVariantRepository variantRepo, ShardRouter shards) {
         this.itemRepo = itemRepo;
         this.variantRepo = variantRepo;
+        this.shards = shards;
     }
 
     @Override
     public void run(String... args) throws Exception {
-        if (itemRepo.count() > 0) {
+        if (shards.scatterAll(shard -> itemRepo.count()).stream().mapToLong(Long::longValue).sum() > 0) {
             return;
         }
 
@@ -43,7 +48,7 @@ public class DataInitializer implements CommandLineRunner {
         item1.setApprovedAt(Instant.now().minusSeconds(172800));
         item1.setVersion(1);
         item1.setInternal(false);
-        ContentItem saved1 = itemRepo.save(item1);
+        ContentItem saved1 = shards.onRegion(item1.getRegion(), () -> itemRepo.save(item1));
 
         ContentVariant var1 = new ContentVariant();
         var1.setContentItem(saved1);
@@ -52,7 +57,7 @@ public class DataInitializer implements CommandLineRunner {
         var1.setBodyHtml("<p>We've launched advanced analytics features for real-time dashboard insights. Track metrics, create custom reports, and export data effortlessly.</p>");
         var1.setDefaultLang(true);
         var1.setUpdatedBy("sarah.williams");
-        variantRepo.save(var1);
+        shards.onItem(var1.getContentItem().getId(), () -> variantRepo.save(var1));
 
         ContentVariant var1_jp = new ContentVariant();
         var1_jp.setContentItem(saved1);
@@ -61,7 +66,7 @@ public class DataInitializer implements CommandLineRunner {
         var1_jp.setBodyHtml("<p>リアルタイムダッシュボード分析の高度な機能をリリースしました。</p>");
         var1_jp.setDefaultLang(false);
         var1_jp.setUpdatedBy("sarah.williams");
-        variantRepo.save(var1_jp);
+        shards.onItem(var1_jp.getContentItem().getId(), () -> variantRepo.save(var1_jp));
 
         // JP - Security Policy
         ContentItem item2 = new ContentItem();
@@ -78,7 +83,7 @@ public class DataInitializer implements CommandLineRunner {
         item2.setApprovedAt(Instant.now().minusSeconds(345600));
         item2.setVersion(2);
         item2.setInternal(true);
-        ContentItem saved2 = itemRepo.save(item2);
+        ContentItem saved2 = shards.onRegion(item2.getRegion(), () -> itemRepo.save(item2));
 
         ContentVariant var2_ja = new ContentVariant();
         var2_ja.setContentItem(saved2);
@@ -87,7 +92,7 @@ public class DataInitializer implements CommandLineRunner {
         var2_ja.setBodyHtml("<p>新しいデータセキュリティポリシーが発効します。</p>");
         var2_ja.setDefaultLang(true);
         var2_ja.setUpdatedBy("tanaka.yuki");
-        variantRepo.save(var2_ja);
+        shards.onItem(var2_ja.getContentItem().getId(), () -> variantRepo.save(var2_ja));
 
         // RU - Training Announcement
         ContentItem item3 = new ContentItem();
@@ -104,7 +109,7 @@ public class DataInitializer implements CommandLineRunner {
         item3.setApprovedAt(Instant.now().minusSeconds(518400));
         item3.setVersion(1);
         item3.setInternal(false);
-        ContentItem saved3 = itemRepo.save(item3);
+        ContentItem saved3 = shards.onRegion(item3.getRegion(), () -> itemRepo.save(item3));
 
         ContentVariant var3_ru = new ContentVariant();
         var3_ru.setContentItem(saved3);
@@ -113,7 +118,7 @@ public class DataInitializer implements CommandLineRunner {
         var3_ru.setBodyHtml("<p>Новый год — отличное время для обновления ваших навыков и знаний.</p>");
         var3_ru.setDefaultLang(true);
         var3_ru.setUpdatedBy("ivanov.boris");
-        variantRepo.save(var3_ru);
+        shards.onItem(var3_ru.getContentItem().getId(), () -> variantRepo.save(var3_ru));
 
         // US - Guidelines
         ContentItem item4 = new ContentItem();
@@ -130,7 +135,7 @@ public class DataInitializer implements CommandLineRunner {
         item4.setApprovedAt(Instant.now().minusSeconds(691200));
         item4.setVersion(3);
         item4.setInternal(false);
-        ContentItem saved4 = itemRepo.save(item4);
+        ContentItem saved4 = shards.onRegion(item4.getRegion(), () -> itemRepo.save(item4));
 
         ContentVariant var4_en = new ContentVariant();
         var4_en.setContentItem(saved4);
@@ -139,7 +144,7 @@ public class DataInitializer implements CommandLineRunner {
         var4_en.setBodyHtml("<p>Follow these guidelines to ensure seamless API integrations with proper error handling and security.</p>");
         var4_en.setDefaultLang(true);
         var4_en.setUpdatedBy("alice.johnson");
-        variantRepo.save(var4_en);
+        shards.onItem(var4_en.getContentItem().getId(), () -> variantRepo.save(var4_en));
 
         // JP - FAQ
         ContentItem item5 = new ContentItem();
@@ -156,7 +161,7 @@ public class DataInitializer implements CommandLineRunner {
         item5.setApprovedAt(Instant.now().minusSeconds(259200));
         item5.setVersion(1);
         item5.setInternal(false);
-        ContentItem saved5 = itemRepo.save(item5);
+        ContentItem saved5 = shards.onRegion(item5.getRegion(), () -> itemRepo.save(item5));
 
         ContentVariant var5_ja = new ContentVariant();
         var5_ja.setContentItem(saved5);
@@ -165,7 +170,7 @@ public class DataInitializer implements CommandLineRunner {
         var5_ja.setBodyHtml("<h3>Q: パスワードをリセットするには？</h3><p>A: 「ログイン」ページで「パスワードを忘れた」をクリックしてください。</p>");
         var5_ja.setDefaultLang(true);
         var5_ja.setUpdatedBy("support.team");
-        variantRepo.save(var5_ja);
+        shards.onItem(var5_ja.getContentItem().getId(), () -> variantRepo.save(var5_ja));
     }
 
     private Set<String> createTagSet(String... tags) {
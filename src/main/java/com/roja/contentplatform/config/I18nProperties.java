@@ -0,0 +1,21 @@
+package com.roja.contentplatform.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Language settings under {@code content.i18n}.
+ *
+ * @param fallbacks explicit BCP-47 fallback chains, e.g. {@code en-GB: [en-US, en]}. Tags that are
+ *                  not listed still fall back by truncation ({@code ja-JP -> ja}) and then to the
+ *                  item's default language.
+ */
+@ConfigurationProperties("content.i18n")
+public record I18nProperties(Map<String, List<String>> fallbacks) {
+
+  public I18nProperties {
+    fallbacks = fallbacks == null ? Map.of() : fallbacks;
+  }
+}
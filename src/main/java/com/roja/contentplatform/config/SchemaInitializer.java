@@ -0,0 +1,48 @@
+package com.roja.contentplatform.config;
+
+import com.roja.contentplatform.services.sharding.ShardRouter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Schema fixes Hibernate's {@code ddl-auto=update} cannot make, run once every bean is up and
+ * before the web server takes requests. With sharding, the other shards are prepared first (see
+ * {@link ShardSchemaInitializer}).
+ *
+ * Hibernate guards enum columns with a CHECK constraint listing the values known when the table
+ * was created, and {@code update} never widens it. Columns whose enum grows over time have that
+ * constraint dropped, so databases created by an older build accept the new values.
+ */
+@Component
+class SchemaInitializer implements SmartInitializingSingleton {
+
+  /** Table -> enum check constraint (Hibernate names them {@code <table>_<column>_check}) that must not pin the value set. */
+  private static final Map<String, String> OPEN_ENUM_CHECKS = Map.of("content_outbox", "content_outbox_type_check");
+
+  private final ShardRouter router;
+  private final JdbcTemplate jdbc;
+  private final ObjectProvider<ShardSchemaInitializer> shardSchema;
+
+  SchemaInitializer(ShardRouter router, JdbcTemplate jdbc, ObjectProvider<ShardSchemaInitializer> shardSchema) {
+    this.router = router;
+    this.jdbc = jdbc;
+    this.shardSchema = shardSchema;
+  }
+
+  @Override
+  public void afterSingletonsInstantiated() {
+    shardSchema.ifAvailable(ShardSchemaInitializer::prepareShards);
+    router.forEachShard(shard -> {
+      OPEN_ENUM_CHECKS.forEach(this::dropCheck);
+      return null;
+    });
+  }
+
+  private void dropCheck(String table, String constraint) {
+    jdbc.execute("ALTER TABLE " + table + " DROP CONSTRAINT IF EXISTS " + constraint);
+  }
+}
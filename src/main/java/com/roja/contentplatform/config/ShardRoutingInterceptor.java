@@ -0,0 +1,46 @@
+package com.roja.contentplatform.config;
+
+import com.roja.contentplatform.services.sharding.ShardRouter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * Binds the request thread to a shard before the handler runs: by the {@code {id}} path
+ * variable (item ids encode their shard) or else by the {@code region} parameter. Requests with
+ * neither stay on the home shard unless the handler binds one itself.
+ */
+class ShardRoutingInterceptor implements AsyncHandlerInterceptor {
+
+  private final ShardRouter router;
+
+  ShardRoutingInterceptor(ShardRouter router) {
+    this.router = router;
+  }
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+    @SuppressWarnings("unchecked")
+    Map<String, String> vars = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+    String id = vars == null ? null : vars.get("id");
+    if (id != null && !id.isEmpty() && id.length() <= 18 && id.chars().allMatch(Character::isDigit)) {
+      router.bindItem(Long.parseLong(id));
+    } else if (request.getParameter("region") != null) {
+      router.bindRegion(request.getParameter("region"));
+    }
+    return true;
+  }
+
+  @Override
+  public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+    router.unbind(); // the async part binds for itself
+  }
+
+  @Override
+  public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+    router.unbind();
+  }
+}
@@ -0,0 +1,99 @@
+package com.roja.contentplatform.config;
+
+import com.roja.contentplatform.services.sharding.ShardRouter;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.hibernate.tool.hbm2ddl.SchemaUpdate;
+import org.hibernate.tool.schema.TargetType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * Prepares every shard once the EntityManagerFactory is up; run by {@link SchemaInitializer}.
+ *
+ * Hibernate's {@code ddl-auto=update} only reaches the home shard, so the boot metadata is
+ * captured through an {@link Integrator} and replayed with {@link SchemaUpdate} against the other
+ * shards. Then the id sequences of tables whose ids must name their shard are switched to
+ * {@code INCREMENT BY shardCount}, offset so that {@code id % shardCount == shard}.
+ */
+class ShardSchemaInitializer implements Integrator {
+
+  private static final Logger log = LoggerFactory.getLogger(ShardSchemaInitializer.class);
+
+  /** Tables whose ids are routed on: items, and outbox events (change-log consumers dedupe on them). */
+  private static final List<String> SHARD_ENCODED_TABLES = List.of("content_item", "content_outbox");
+
+  private final ShardRouter router;
+  private final ObjectProvider<JdbcTemplate> jdbc;
+  private final Environment env;
+  private volatile Metadata metadata;
+  private volatile SessionFactoryImplementor sessionFactory;
+
+  ShardSchemaInitializer(ShardRouter router, ObjectProvider<JdbcTemplate> jdbc, Environment env) {
+    this.router = router;
+    this.jdbc = jdbc;
+    this.env = env;
+  }
+
+  IntegratorProvider integratorProvider() {
+    return () -> List.of(this);
+  }
+
+  @Override
+  public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+    this.metadata = metadata;
+    this.sessionFactory = sessionFactory;
+  }
+
+  @Override
+  public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+    this.metadata = null;
+    this.sessionFactory = null;
+  }
+
+  void prepareShards() {
+    if ("update".equals(env.getProperty("spring.jpa.hibernate.ddl-auto")) && metadata != null) {
+      for (int shard = 1; shard < router.shardCount(); shard++) {
+        log.info("updating schema on shard {}", router.shardName(shard));
+        router.onShard(shard, () -> {
+          new SchemaUpdate().setHaltOnError(true)
+              .execute(EnumSet.of(TargetType.DATABASE), metadata, sessionFactory.getServiceRegistry());
+          return null;
+        });
+      }
+    }
+    router.forEachShard(shard -> {
+      SHARD_ENCODED_TABLES.forEach(table -> encodeShard(table, shard));
+      return null;
+    });
+  }
+
+  private void encodeShard(String table, int shard) {
+    JdbcTemplate jt = jdbc.getObject();
+    int n = router.shardCount();
+    Long increment = jt.queryForObject("""
+        SELECT s.increment_by FROM pg_sequences s
+        WHERE quote_ident(s.schemaname) || '.' || quote_ident(s.sequencename) = pg_get_serial_sequence(?, 'id')
+        """, Long.class, table);
+    if (increment != null && increment == n) {
+      return; // already set up
+    }
+    // Next id is the first value above everything existing that maps to this shard
+    Long max = jt.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+    long last = max - Math.floorMod(max - shard, (long) n);
+    if (last < 1) last += n;
+    jt.execute("ALTER TABLE " + table + " ALTER COLUMN id SET INCREMENT BY " + n);
+    jt.queryForObject("SELECT setval(pg_get_serial_sequence(?, 'id'), ?, true)", Long.class, table, last);
+    log.info("{} ids on shard {} now step by {} from {}", table, router.shardName(shard), n, last + n);
+  }
+}
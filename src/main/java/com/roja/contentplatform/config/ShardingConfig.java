@@ -0,0 +1,110 @@
+package com.roja.contentplatform.config;
+
+import com.roja.contentplatform.services.sharding.ShardContext;
+import com.roja.contentplatform.services.sharding.ShardRouter;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces the single {@code spring.datasource} with one pool per shard behind a routing
+ * DataSource when {@code content.sharding.enabled=true}.
+ *
+ * The routing DataSource is wrapped in a {@link LazyConnectionDataSourceProxy}, so a transaction
+ * only picks its shard when it runs its first statement; code can therefore bind the shard
+ * after a {@code @Transactional} method has started (see ContentController#createContent).
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "content.sharding", name = "enabled", havingValue = "true")
+public class ShardingConfig implements WebMvcConfigurer {
+
+  private final ShardRouter router;
+
+  public ShardingConfig(ShardRouter router) {
+    this.router = router;
+  }
+
+  @Bean(destroyMethod = "close")
+  ShardRoutingDataSource shardRoutingDataSource(ShardingProperties props, ObjectProvider<MeterRegistry> meters) {
+    Map<Object, Object> targets = new HashMap<>();
+    List<ShardingProperties.Shard> shards = props.shards();
+    for (int i = 0; i < shards.size(); i++) {
+      ShardingProperties.Shard shard = shards.get(i);
+      HikariDataSource pool = new HikariDataSource();
+      pool.setPoolName("shard-" + shard.name());
+      pool.setJdbcUrl(shard.url());
+      pool.setUsername(shard.username());
+      pool.setPassword(shard.password());
+      pool.setMaximumPoolSize(shard.maxPoolSize());
+      // Pools are not beans, so Boot does not bind their metrics; LoadShedder reads them
+      meters.ifAvailable(registry -> pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+      targets.put(i, pool);
+    }
+    ShardRoutingDataSource routing = new ShardRoutingDataSource();
+    routing.setTargetDataSources(targets);
+    routing.setDefaultTargetDataSource(targets.get(0));
+    routing.setLenientFallback(false);
+    routing.afterPropertiesSet();
+    return routing;
+  }
+
+  @Bean
+  @Primary
+  DataSource dataSource(ShardRoutingDataSource routing) {
+    LazyConnectionDataSourceProxy lazy = new LazyConnectionDataSourceProxy();
+    lazy.setTargetDataSource(routing);
+    // Set explicitly so the proxy does not open a connection to find out at startup
+    lazy.setDefaultAutoCommit(true);
+    lazy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+    return lazy;
+  }
+
+  @Bean
+  ShardSchemaInitializer shardSchemaInitializer(ObjectProvider<JdbcTemplate> jdbc, Environment env) {
+    return new ShardSchemaInitializer(router, jdbc, env);
+  }
+
+  @Bean
+  HibernatePropertiesCustomizer shardSchemaCapture(ShardSchemaInitializer initializer) {
+    return properties -> properties.put("hibernate.integrator_provider", initializer.integratorProvider());
+  }
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    registry.addInterceptor(new ShardRoutingInterceptor(router)).addPathPatterns("/api/**");
+  }
+
+  static class ShardRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+      Integer shard = ShardContext.current();
+      return shard == null ? 0 : shard;
+    }
+
+    @Override
+    public void close() {
+      getResolvedDataSources().values().forEach(ds -> {
+        if (ds instanceof HikariDataSource pool) pool.close();
+      });
+    }
+  }
+}
@@ -0,0 +1,37 @@
+package com.roja.contentplatform.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+/**
+ * Region sharding under {@code content.sharding}. Disabled by default, in which case the single
+ * {@code spring.datasource} holds everything.
+ *
+ * @param enabled          route content storage across {@code shards}
+ * @param scatterTimeoutMs upper bound for one cross-shard (scatter-gather) query
+ * @param shards           shard 0 is the home shard: it owns regions no other shard lists and
+ *                         work that runs outside any region (startup, schedulers). Item ids are
+ *                         routed by {@code id % shards.size()}, so changing the number of shards
+ *                         means re-homing existing items; moving a region does too.
+ */
+@ConfigurationProperties("content.sharding")
+public record ShardingProperties(boolean enabled, long scatterTimeoutMs, List<Shard> shards) {
+
+  public ShardingProperties {
+    scatterTimeoutMs = scatterTimeoutMs <= 0 ? 5000 : scatterTimeoutMs;
+    shards = shards == null ? List.of() : List.copyOf(shards);
+  }
+
+  /**
+   * @param regions regions stored on this shard, e.g. {@code [US]}
+   */
+  public record Shard(String name, String url, String username, String password, List<String> regions,
+                      int maxPoolSize) {
+
+    public Shard {
+      regions = regions == null ? List.of() : List.copyOf(regions);
+      maxPoolSize = maxPoolSize <= 0 ? 10 : maxPoolSize;
+    }
+  }
+}
@@ -0,0 +1,231 @@
+package com.roja.contentplatform.config;
+
+import com.roja.contentplatform.model.ContentItem;
+import com.roja.contentplatform.repository.ContentItemRepository;
+import com.roja.contentplatform.services.sharding.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Capacity-planning dataset, enabled with the {@code synthetic} profile (replaces {@link DataInitializer}).
+ *
+ * Generates {@code content.synthetic.items} items spread over regions, categories, tags, priorities
+ * and statuses, each with 1-3 language variants whose body sizes follow a log-normal distribution
+ * (median {@code body-median-bytes}, long tail capped at {@code body-max-bytes}). Rows go in through
+ * JDBC batches with ids pre-allocated from the identity sequences, so JPA's per-row IDENTITY
+ * round trips are avoided. Each batch's items, tags and variants commit together, so the
+ * {@code count()} that drives a top-up never counts a half-written item. Each item's random
+ * stream is derived from {@code seed} and the item's ordinal, so the dataset is deterministic for
+ * a given {@code seed} even when a run tops up one that was interrupted. Single database only:
+ * pre-allocated ids would not encode a shard.
+ */
+@Component
+@Profile("synthetic")
+public class SyntheticDataGenerator implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    private static final String[] REGIONS = {"US", "US", "US", "JP", "JP", "RU"};
+    private static final String[] LANGS = {"en", "ja", "ru"};
+    private static final String[] CATEGORIES = {
+        "TRADES", "MARKETS", "COMPLIANCE", "RISK_MANAGEMENT", "POLICY", "OPERATIONS", "RESEARCH",
+        "ALERTS", "PRODUCT_NEWS", "TRAINING", "CLIENT_SERVICES", "TECHNOLOGY", "REGULATORY"
+    };
+    private static final String[] WORDS = {
+        "market", "rates", "equity", "credit", "liquidity", "client", "policy", "update", "risk",
+        "trading", "desk", "yield", "volatility", "settlement", "custody", "regulatory", "review",
+        "quarter", "outlook", "portfolio", "hedge", "exposure", "capital", "funding", "report"
+    };
+
+    private final ContentItemRepository itemRepo;
+    private final JdbcTemplate jdbc;
+    private final int items;
+    private final int batchSize;
+    private final int bodyMedianBytes;
+    private final int bodyMaxBytes;
+    private final long seed;
+    private final ShardRouter shards;
+    private final TransactionTemplate tx;
+
+    public SyntheticDataGenerator(ContentItemRepository itemRepo, JdbcTemplate jdbc, ShardRouter shards,
+                                  PlatformTransactionManager txManager,
+                                  @Value("${content.synthetic.items:10000}") int items,
+                                  @Value("${content.synthetic.batch-size:500}") int batchSize,
+                                  @Value("${content.synthetic.body-median-bytes:4000}") int bodyMedianBytes,
+                                  @Value("${content.synthetic.body-max-bytes:200000}") int bodyMaxBytes,
+                                  @Value("${content.synthetic.seed:42}") long seed) {
+        this.itemRepo = itemRepo;
+        this.jdbc = jdbc;
+        this.items = items;
+        this.batchSize = batchSize;
+        this.bodyMedianBytes = bodyMedianBytes;
+        this.bodyMaxBytes = bodyMaxBytes;
+        this.seed = seed;
+        this.shards = shards;
+        this.tx = new TransactionTemplate(txManager);
+    }
+
+    @Override
+    public void run(String... args) {
+        if (shards.isEnabled()) {
+            throw new IllegalStateException("the synthetic profile does not support content.sharding");
+        }
+        long existing = itemRepo.count();
+        if (existing >= items) {
+            log.info("synthetic dataset already present ({} items)", existing);
+            return;
+        }
+
+        long started = System.nanoTime();
+        for (long next = existing; next < items; ) {
+            int n = (int) Math.min(batchSize, items - next);
+            insertBatch(next, n);
+            next += n;
+        }
+        log.info("generated {} synthetic items in {} ms", items - existing,
+            Duration.ofNanos(System.nanoTime() - started).toMillis());
+    }
+
+    private void insertBatch(long firstOrdinal, int n) {
+        List<Long> ids = allocateIds("content_item", n);
+        Instant now = Instant.now();
+
+        List<Object[]> itemRows = new ArrayList<>(n);
+        List<Object[]> tagRows = new ArrayList<>(n * 3);
+        List<Object[]> variantRows = new ArrayList<>(n * 2);
+
+        for (int i = 0; i < n; i++) {
+            long id = ids.get(i);
+            Random random = new Random(seed ^ ((firstOrdinal + i) * 0x9E3779B97F4A7C15L));
+            String region = pick(random, REGIONS);
+            ContentItem.Status status = status(random);
+            Instant created = now.minusSeconds(random.nextInt(365 * 86400));
+            Instant approved = status == ContentItem.Status.DRAFT || status == ContentItem.Status.IN_REVIEW
+                ? null : created.plusSeconds(random.nextInt(3 * 86400));
+            Instant published = status == ContentItem.Status.PUBLISHED || status == ContentItem.Status.ARCHIVED
+                ? approved.plusSeconds(random.nextInt(86400)) : null;
+            Instant archived = status == ContentItem.Status.ARCHIVED ? published.plusSeconds(random.nextInt(30 * 86400)) : null;
+            String author = "author" + random.nextInt(200);
+            String approver = approved == null ? null : "approver" + random.nextInt(20);
+
+            itemRows.add(new Object[] {
+                id, pick(random, ContentItem.ContentType.values()).name(), region, pick(random, CATEGORIES),
+                status.name(), priority(random).name(), random.nextInt(50) == 0, ts(created), author,
+                approver, ts(approved), ts(published), published == null ? null : approver,
+                ts(archived), archived == null ? null : approver, ts(created), author,
+                1 + random.nextInt(5), random.nextInt(4) == 0
+            });
+
+            Set<String> tags = new HashSet<>();
+            int tagCount = 1 + random.nextInt(4);
+            for (int t = 0; t < tagCount; t++) {
+                // Skewed towards low tag numbers so some tags are very common
+                tags.add("tag" + (int) Math.floor(Math.pow(random.nextDouble(), 2) * 60));
+            }
+            for (String tag : tags) {
+                tagRows.add(new Object[] { id, tag });
+            }
+
+            int langs = 1 + random.nextInt(LANGS.length);
+            int first = random.nextInt(LANGS.length);
+            for (int l = 0; l < langs; l++) {
+                String lang = LANGS[(first + l) % LANGS.length];
+                variantRows.add(new Object[] {
+                    id, lang, title(random), body(random), l == 0, ts(created), author
+                });
+            }
+        }
+
+        tx.executeWithoutResult(status -> insertRows(itemRows, tagRows, variantRows));
+    }
+
+    private void insertRows(List<Object[]> itemRows, List<Object[]> tagRows, List<Object[]> variantRows) {
+        jdbc.batchUpdate("""
+            INSERT INTO content_item
+              (id, content_type, region, category, status, priority, pinned, created_at, created_by,
+               approved_by, approved_at, published_at, published_by, archived_at, archived_by,
+               last_modified_at, last_modified_by, version, internal)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """, itemRows);
+        jdbc.batchUpdate("INSERT INTO content_tags (content_id, tag) VALUES (?, ?)", tagRows);
+        jdbc.batchUpdate("""
+            INSERT INTO content_variant
+              (content_item_id, language_code, title, body_html, is_default_lang, updated_at, updated_by)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """, variantRows);
+    }
+
+    private List<Long> allocateIds(String table, int n) {
+        return jdbc.queryForList(
+            "SELECT nextval(pg_get_serial_sequence(?, 'id')) FROM generate_series(1, ?)", Long.class, table, n);
+    }
+
+    private static ContentItem.Status status(Random random) {
+        int r = random.nextInt(100);
+        if (r < 60) return ContentItem.Status.PUBLISHED;
+        if (r < 75) return ContentItem.Status.DRAFT;
+        if (r < 85) return ContentItem.Status.IN_REVIEW;
+        if (r < 95) return ContentItem.Status.APPROVED;
+        return ContentItem.Status.ARCHIVED;
+    }
+
+    private static ContentItem.Priority priority(Random random) {
+        int r = random.nextInt(100);
+        if (r < 20) return ContentItem.Priority.LOW;
+        if (r < 80) return ContentItem.Priority.NORMAL;
+        if (r < 95) return ContentItem.Priority.HIGH;
+        return ContentItem.Priority.URGENT;
+    }
+
+    private static String title(Random random) {
+        StringBuilder sb = new StringBuilder();
+        int words = 4 + random.nextInt(8);
+        for (int i = 0; i < words; i++) {
+            if (i > 0) sb.append(' ');
+            sb.append(pick(random, WORDS));
+        }
+        sb.setCharAt(0, Character.toUpperCase(sb.charAt(0)));
+        return sb.toString();
+    }
+
+    /** Log-normal size (sigma 1): most bodies are a few KB, a few approach {@code bodyMaxBytes}. */
+    private String body(Random random) {
+        int target = (int) Math.min(bodyMaxBytes, Math.max(200, bodyMedianBytes * Math.exp(random.nextGaussian())));
+        StringBuilder sb = new StringBuilder(target + 64);
+        while (sb.length() < target) {
+            String tag = random.nextInt(8) == 0 ? "h3" : "p";
+            sb.append('<').append(tag).append('>');
+            int words = tag.equals("h3") ? 3 + random.nextInt(5) : 20 + random.nextInt(60);
+            for (int i = 0; i < words; i++) {
+                if (i > 0) sb.append(' ');
+                sb.append(pick(random, WORDS));
+            }
+            sb.append("</").append(tag).append('>');
+        }
+        return sb.toString();
+    }
+
+    private static <T> T pick(Random random, T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static Timestamp ts(Instant instant) {
+        return instant == null ? null : Timestamp.from(instant);
+    }
+}
@@ -0,0 +1,98 @@
+package com.roja.contentplatform.controller;
+
+import com.roja.contentplatform.api.dto.AdminContentResponse;
+import com.roja.contentplatform.model.ContentItem;
+import com.roja.contentplatform.repository.ContentItemRepository;
+import com.roja.contentplatform.repository.ContentItemSummary;
+import com.roja.contentplatform.repository.RegionStatusCount;
+import com.roja.contentplatform.services.Audience;
+import com.roja.contentplatform.services.sharding.ShardRouter;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeMap;
+
+import static com.roja.contentplatform.controller.JwtSupport.audience;
+import static com.roja.contentplatform.controller.JwtSupport.jwt;
+import static com.roja.contentplatform.controller.JwtSupport.userRegions;
+
+@RestController
+@RequestMapping("/api/v1/admin")
+public class AdminController {
+
+  private static final int MAX_LIMIT = 200;
+
+  private final ContentItemRepository itemRepo;
+  private final ShardRouter shards;
+
+  public AdminController(ContentItemRepository itemRepo, ShardRouter shards) {
+    this.itemRepo = itemRepo;
+    this.shards = shards;
+  }
+
+  /**
+   * Latest items across the caller's regions (or the {@code regions} subset). Each shard that
+   * holds one of the regions is queried in parallel for its top {@code limit}; the merge keeps the
+   * overall top {@code limit} and sums the per-status counts.
+   */
+  @GetMapping("/content")
+  public AdminContentResponse content(@RequestParam(required = false) List<String> regions,
+                                      @RequestParam(required = false) String status,
+                                      @RequestParam(defaultValue = "50") int limit,
+                                      Authentication auth) {
+    Jwt j = jwt(auth);
+    if (audience(j) != Audience.INTERNAL) {
+      throw new ResponseStatusException(HttpStatus.FORBIDDEN, "internal audience required");
+    }
+    List<String> allowed = userRegions(j);
+    List<String> scope = regions == null || regions.isEmpty() ? allowed : regions;
+    if (scope.isEmpty() || !allowed.containsAll(scope)) {
+      throw new ResponseStatusException(HttpStatus.FORBIDDEN, "not allowed to access this region");
+    }
+    if (limit < 1 || limit > MAX_LIMIT) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_LIMIT);
+    }
+    ContentItem.Status st;
+    try {
+      st = status == null ? null : ContentItem.Status.valueOf(status);
+    } catch (IllegalArgumentException ex) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "invalid status");
+    }
+
+    List<Boolean> visible = Audience.INTERNAL.visibleInternalFlags();
+    SortedSet<Integer> involved = shards.shardsForRegions(scope);
+    List<ShardResult> results = shards.scatter(involved, shard -> new ShardResult(shard,
+        itemRepo.findSummaries(scope, visible, st, PageRequest.of(0, limit)),
+        itemRepo.countByRegionAndStatus(scope, visible)));
+
+    List<AdminContentResponse.Item> items = results.stream()
+        .flatMap(r -> r.items().stream().map(s -> toItem(s, shards.shardName(r.shard()))))
+        .sorted(Comparator.comparing(AdminContentResponse.Item::lastModifiedAt).reversed()
+            .thenComparing(AdminContentResponse.Item::id, Comparator.reverseOrder()))
+        .limit(limit)
+        .toList();
+
+    Map<String, Map<String, Long>> counts = new TreeMap<>();
+    for (ShardResult r : results) {
+      for (RegionStatusCount c : r.counts()) {
+        counts.computeIfAbsent(c.region(), k -> new TreeMap<>()).merge(c.status().name(), c.count(), Long::sum);
+      }
+    }
+    return new AdminContentResponse(items, counts, involved.stream().map(shards::shardName).toList());
+  }
+
+  private static AdminContentResponse.Item toItem(ContentItemSummary s, String shard) {
+    return new AdminContentResponse.Item(s.id(), s.region(), s.category(), s.status().name(),
+        Boolean.TRUE.equals(s.internal()), s.createdBy(), s.createdAt(), s.lastModifiedAt(), shard);
+  }
+
+  private record ShardResult(int shard, List<ContentItemSummary> items, List<RegionStatusCount> counts) {}
+}
@@ -0,0 +1,62 @@
+package com.roja.contentplatform.controller;
+
+import com.roja.contentplatform.api.dto.TopContentResponse;
+import com.roja.contentplatform.model.ContentViewRollup;
+import com.roja.contentplatform.repository.ContentViewRollupRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static com.roja.contentplatform.controller.JwtSupport.audience;
+import static com.roja.contentplatform.controller.JwtSupport.jwt;
+import static com.roja.contentplatform.controller.JwtSupport.userRegions;
+
+@RestController
+@RequestMapping("/api/v1/analytics")
+public class AnalyticsController {
+
+  private static final int MAX_LIMIT = 100;
+
+  private final ContentViewRollupRepository rollupRepo;
+
+  public AnalyticsController(ContentViewRollupRepository rollupRepo) {
+    this.rollupRepo = rollupRepo;
+  }
+
+  /**
+   * Most viewed items in a region. Defaults to the last 7 daily buckets; with
+   * {@code granularity=HOUR} the last 24 hourly buckets. External callers never see internal items.
+   */
+  @GetMapping("/top")
+  public List<TopContentResponse> top(@RequestParam String region,
+                                      @RequestParam(defaultValue = "DAY") String granularity,
+                                      @RequestParam(required = false) Instant since,
+                                      @RequestParam(defaultValue = "10") int limit,
+                                      Authentication auth) {
+    Jwt j = jwt(auth);
+    if (!userRegions(j).contains(region)) {
+      throw new ResponseStatusException(HttpStatus.FORBIDDEN, "not allowed to access this region");
+    }
+
+    ContentViewRollup.Granularity g;
+    try {
+      g = ContentViewRollup.Granularity.valueOf(granularity);
+    } catch (IllegalArgumentException ex) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "invalid granularity");
+    }
+    if (limit < 1 || limit > MAX_LIMIT) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_LIMIT);
+    }
+
+    Instant from = since != null ? since
+        : Instant.now().minus(g == ContentViewRollup.Granularity.HOUR ? Duration.ofHours(24) : Duration.ofDays(7));
+    return rollupRepo.findTopByRegion(region, g, from, audience(j).visibleInternalFlags(), PageRequest.of(0, limit));
+  }
+}
@@ -1,55 +1,86 @@
 package com.roja.contentplatform.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.roja.contentplatform.api.dto.*;
 import com.roja.contentplatform.model.ContentItem;
 import com.roja.contentplatform.model.ContentVariant;
+import com.roja.contentplatform.model.OutboxEvent;
 import com.roja.contentplatform.repository.ContentItemRepository;
 import com.roja.contentplatform.repository.ContentVariantRepository;
 import com.roja.contentplatform.services.ContentQueryService;
+import com.roja.contentplatform.services.ContentView;
+import com.roja.contentplatform.services.FeedStreamWriter;
+import com.roja.contentplatform.services.LanguageFallbacks;
+import com.roja.contentplatform.services.VariantResolutionCache;
+import com.roja.contentplatform.services.analytics.ContentViewCounters;
+import com.roja.contentplatform.services.changelog.ContentChangeOutbox;
+import com.roja.contentplatform.services.revisions.RevisionHistory;
+import com.roja.contentplatform.services.sharding.ShardRouter;
+import com.roja.contentplatform.services.summary.BodySummary;
+import com.roja.contentplatform.services.workflow.BatchTransitions;
+import com.roja.contentplatform.services.workflow.WorkflowTransition;
+import jakarta.servlet.http.HttpServletResponse;
 
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.time.Instant;
 import java.util.List;
 import java.util.Set;
 
+import static com.roja.contentplatform.controller.JwtSupport.audience;
+import static com.roja.contentplatform.controller.JwtSupport.jwt;
+import static com.roja.contentplatform.controller.JwtSupport.userRegions;
+
 @RestController
 @RequestMapping("/api/v1")
 public class ContentController {
 
+  private static final int MAX_RELATED = 50;
+
   private final ContentItemRepository itemRepo;
   private final ContentVariantRepository varRepo;
   private final ContentQueryService queryService;
+  private final ContentViewCounters viewCounters;
+  private final LanguageFallbacks languageFallbacks;
+  private final VariantResolutionCache variantResolution;
+  private final FeedStreamWriter feedStreamWriter;
+  private final ContentChangeOutbox outbox;
+  private final RevisionHistory revisions;
+  private final ShardRouter shards;
+  private final BatchTransitions batchTransitions;
+  private final ObjectMapper objectMapper;
 
-  public ContentController(ContentItemRepository itemRepo, ContentVariantRepository varRepo, ContentQueryService queryService) {
+  public ContentController(ContentItemRepository itemRepo, ContentVariantRepository varRepo, ContentQueryService queryService,
+                           ContentViewCounters viewCounters, LanguageFallbacks languageFallbacks,
+                           VariantResolutionCache variantResolution, FeedStreamWriter feedStreamWriter,
+                           ContentChangeOutbox outbox, RevisionHistory revisions,
+                           ShardRouter shards, BatchTransitions batchTransitions, ObjectMapper objectMapper) {
     this.itemRepo = itemRepo;
     this.varRepo = varRepo;
     this.queryService = queryService;
+    this.viewCounters = viewCounters;
+    this.languageFallbacks = languageFallbacks;
+    this.variantResolution = variantResolution;
+    this.feedStreamWriter = feedStreamWriter;
+    this.outbox = outbox;
+    this.revisions = revisions;
+    this.shards = shards;
+    this.batchTransitions = batchTransitions;
+    this.objectMapper = objectMapper;
   }
 
   // ---- Helpers
-  private Jwt jwt(Authentication auth) {
-    if (auth == null || !(auth.getPrincipal() instanceof Jwt j)) {
-      throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "JWT required");
-    }
-    return j;
-  }
-
-  @SuppressWarnings("unchecked")
-  private List<String> userRegions(Jwt jwt) {
-    Object claim = jwt.getClaims().get("regions");
-    if (claim instanceof List<?> list) {
-      return (List<String>) list;
-    }
-    // fallback: single region claim
-    String region = jwt.getClaimAsString("region");
-    return region == null ? List.of() : List.of(region);
-  }
-
   private ContentItem.ContentType contentTypeOrDefault(String value) {
     if (value == null) return ContentItem.ContentType.ARTICLE;
     try {
@@ -72,6 +103,7 @@ public class ContentController {
 
   @PostMapping("/content")
   @ResponseStatus(HttpStatus.CREATED)
+  @Transactional
   public ContentItem createContent(@RequestBody CreateContentRequest req, Authentication auth) {
     Jwt j = jwt(auth);
 
@@ -84,6 +116,9 @@ public class ContentController {
       throw new ResponseStatusException(HttpStatus.FORBIDDEN, "not allowed to create content in this region");
     }
 
+    // New items go to their region's shard; no statement has run yet, so the transaction follows
+    shards.bindRegion(req.region());
+
     ContentItem item = new ContentItem();
     item.setContentType(contentTypeOrDefault(req.contentType()));
     item.setRegion(req.region());
@@ -98,10 +133,13 @@ public class ContentController {
     item.setLastModifiedBy(j.getSubject());
     item.setLastModifiedAt(Instant.now());
     item.setStatus(ContentItem.Status.DRAFT);
-    return itemRepo.save(item);
+    ContentItem saved = itemRepo.save(item);
+    outbox.record(OutboxEvent.Type.CREATED, saved, null, j.getSubject());
+    return saved;
   }
 
   @PutMapping("/content/{id}/variants")
+  @Transactional
   public ContentVariant upsertVariant(@PathVariable Long id, @RequestBody UpsertVariantRequest req, Authentication auth) {
     Jwt j = jwt(auth);
 
@@ -117,12 +155,23 @@ public class ContentController {
     }
 
     ContentVariant v = varRepo.findByContentItemIdAndLanguageCode(id, req.languageCode()).orElseGet(ContentVariant::new);
+    RevisionHistory.Previous previous = RevisionHistory.Previous.of(v);
     v.setContentItem(item);
     v.setLanguageCode(req.languageCode());
     v.setTitle(req.title());
     v.setBodyHtml(req.bodyHtml());
+    // Card fields are derived here once so feeds never parse bodies
+    BodySummary summary = BodySummary.of(req.bodyHtml());
+    v.setExcerpt(summary.excerpt());
+    v.setWordCount(summary.wordCount());
+    v.setReadingTimeMinutes(summary.readingTimeMinutes());
+    v.setFirstImageSrc(summary.firstImageSrc());
+    Instant now = Instant.now();
     v.setUpdatedBy(j.getSubject());
-    v.setUpdatedAt(Instant.now());
+    v.setUpdatedAt(now);
+    // A variant edit modifies the item too; exports select changed items by lastModifiedAt
+    item.setLastModifiedBy(j.getSubject());
+    item.setLastModifiedAt(now);
 
     // If setting default language, unset others
     if (req.isDefaultLang()) {
@@ -136,10 +185,22 @@ public class ContentController {
       v.setDefaultLang(true);
     }
 
-    return varRepo.save(v);
+    ContentVariant saved;
+    try {
+      saved = varRepo.save(v);
+      revisions.record(saved, previous);
+      varRepo.flush(); // surface unique-key violations here rather than at commit
+    } catch (DataIntegrityViolationException ex) {
+      // A concurrent upsert of the same (item, language) created the variant or took the revision number first
+      throw new ResponseStatusException(HttpStatus.CONFLICT, "language variant changed concurrently; retry");
+    }
+    outbox.record(OutboxEvent.Type.VARIANT_UPSERTED, item, saved.getLanguageCode(), j.getSubject());
+    variantResolution.refreshAfterCommit(id);
+    return saved;
   }
 
   @PostMapping("/content/{id}/publish")
+  @Transactional
   public ContentItem publish(@PathVariable Long id, Authentication auth) {
     Jwt j = jwt(auth);
     ContentItem item = itemRepo.findById(id).orElseThrow(() ->
@@ -154,9 +215,31 @@ public class ContentController {
       throw new ResponseStatusException(HttpStatus.CONFLICT, "cannot publish without a language variant");
     }
 
+    Instant now = Instant.now();
     item.setStatus(ContentItem.Status.PUBLISHED);
-    item.setPublishedAt(Instant.now());
-    return itemRepo.save(item);
+    item.setPublishedBy(j.getSubject());
+    item.setPublishedAt(now);
+    item.setLastModifiedBy(j.getSubject());
+    item.setLastModifiedAt(now);
+    ContentItem saved = itemRepo.save(item);
+    outbox.record(OutboxEvent.Type.PUBLISHED, saved, null, j.getSubject());
+    return saved;
+  }
+
+  /**
+   * Applies {@code approve}, {@code publish}, {@code archive} or {@code unpublish} to every id in
+   * the body at once. Ineligible items do not fail the batch; each gets its own outcome.
+   */
+  @PostMapping("/content:batch/{transition}")
+  public BatchTransitionResponse batchTransition(@PathVariable String transition,
+                                                 @RequestBody BatchTransitionRequest req,
+                                                 Authentication auth) {
+    Jwt j = jwt(auth);
+    WorkflowTransition t = WorkflowTransition.parse(transition);
+    if (t == null) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "invalid transition");
+    }
+    return batchTransitions.apply(t, req.ids(), userRegions(j), j.getSubject());
   }
 
   // ---- Delivery
@@ -164,16 +247,54 @@ public class ContentController {
   @GetMapping("/feed")
   public List<FeedItemResponse> feed(@RequestParam String region,
                                     @RequestParam(required = false) String lang,
+                                    @RequestHeader(value = HttpHeaders.ACCEPT_LANGUAGE, required = false) String acceptLanguage,
                                     Authentication auth) {
     Jwt j = jwt(auth);
-    return queryService.getFeed(region, lang, userRegions(j));
+    List<FeedItemResponse> feed = queryService.getFeed(region, languageFallbacks.preferences(lang, acceptLanguage), userRegions(j), audience(j));
+    for (FeedItemResponse f : feed) {
+      viewCounters.recordImpression(f.id(), f.region(), f.displayLanguage());
+    }
+    return feed;
+  }
+
+  /** Same payload as {@code /feed}, written incrementally for large regions. */
+  @GetMapping("/feed/stream")
+  public ResponseEntity<StreamingResponseBody> feedStream(@RequestParam String region,
+                                                          @RequestParam(required = false) String lang,
+                                                          @RequestHeader(value = HttpHeaders.ACCEPT_LANGUAGE, required = false) String acceptLanguage,
+                                                          Authentication auth) {
+    Jwt j = jwt(auth);
+    StreamingResponseBody body = feedStreamWriter.stream(region, languageFallbacks.preferences(lang, acceptLanguage), userRegions(j), audience(j));
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+  }
+
+  @GetMapping("/content/{id}/related")
+  public List<RelatedItemResponse> related(@PathVariable Long id,
+                                           @RequestParam(required = false) String lang,
+                                           @RequestHeader(value = HttpHeaders.ACCEPT_LANGUAGE, required = false) String acceptLanguage,
+                                           @RequestParam(defaultValue = "10") int limit,
+                                           Authentication auth) {
+    Jwt j = jwt(auth);
+    if (limit < 1 || limit > MAX_RELATED) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_RELATED);
+    }
+    return queryService.getRelated(id, languageFallbacks.preferences(lang, acceptLanguage), userRegions(j), audience(j), limit);
   }
 
+  /**
+   * Responds with a {@link ContentViewResponse}. Written by hand so that published bodies go from
+   * the memory-mapped body store to the socket without becoming heap Strings.
+   */
   @GetMapping("/content/{id}/view")
-  public ContentViewResponse view(@PathVariable Long id,
-                                  @RequestParam(required = false) String lang,
-                                  Authentication auth) {
+  public void view(@PathVariable Long id,
+                   @RequestParam(required = false) String lang,
+                   @RequestHeader(value = HttpHeaders.ACCEPT_LANGUAGE, required = false) String acceptLanguage,
+                   Authentication auth, HttpServletResponse response) throws IOException {
     Jwt j = jwt(auth);
-    return queryService.getContentView(id, lang, userRegions(j));
+    ContentView view = queryService.getContentView(id, languageFallbacks.preferences(lang, acceptLanguage), userRegions(j), audience(j));
+    ContentViewResponse meta = view.response();
+    viewCounters.recordView(meta.id(), meta.region(), meta.selectedLanguage());
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    view.writeJson(response.getOutputStream(), objectMapper);
   }
 }
@@ -0,0 +1,76 @@
+package com.roja.contentplatform.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.roja.contentplatform.model.ContentItem;
+import com.roja.contentplatform.services.export.ContentExporter;
+import com.roja.contentplatform.services.export.ExportCursor;
+import com.roja.contentplatform.services.ratelimit.LoadShedder;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Locale;
+
+import static com.roja.contentplatform.controller.JwtSupport.audience;
+import static com.roja.contentplatform.controller.JwtSupport.jwt;
+import static com.roja.contentplatform.controller.JwtSupport.userRegions;
+
+@RestController
+@RequestMapping("/api/v1")
+public class ExportController {
+
+  private final ContentExporter exporter;
+  private final ObjectMapper objectMapper;
+
+  public ExportController(ContentExporter exporter, ObjectMapper objectMapper) {
+    this.exporter = exporter;
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * Bulk export of one region as NDJSON ({@code format=ndjson}) or gzipped NDJSON
+   * ({@code format=gzip}). {@code from}/{@code to} bound {@code lastModifiedAt} (inclusive,
+   * exclusive). To resume, pass the last {@code cursor} line received; it carries the original
+   * filters, so only {@code region} (which must match) and {@code format} are read alongside it.
+   */
+  @GetMapping("/content:export")
+  public void export(@RequestParam String region,
+                     @RequestParam(required = false) String status,
+                     @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+                     @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+                     @RequestParam(defaultValue = "ndjson") String format,
+                     @RequestParam(required = false) String cursor,
+                     Authentication auth,
+                     HttpServletRequest request,
+                     HttpServletResponse response) throws IOException {
+    Jwt j = jwt(auth);
+    if (!userRegions(j).contains(region)) {
+      throw new ResponseStatusException(HttpStatus.FORBIDDEN, "not allowed to access this region");
+    }
+    ContentExporter.Format fmt;
+    ContentItem.Status st;
+    try {
+      fmt = ContentExporter.Format.valueOf(format.toUpperCase(Locale.ROOT));
+      st = status == null ? null : ContentItem.Status.valueOf(status);
+    } catch (IllegalArgumentException ex) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "invalid format or status");
+    }
+    ExportCursor start = cursor == null
+        ? ExportCursor.start(region, st, from, to)
+        : ExportCursor.decode(cursor, objectMapper);
+    if (!start.region().equals(region)) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "cursor belongs to another region");
+    }
+
+    // Minutes-long downloads would otherwise read as a latency spike to the load shedder
+    request.setAttribute(LoadShedder.UNTIMED, Boolean.TRUE);
+    exporter.export(start, audience(j), fmt, response);
+  }
+}
@@ -0,0 +1,37 @@
+package com.roja.contentplatform.controller;
+
+import com.roja.contentplatform.services.Audience;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+/** JWT claim helpers shared by the API controllers. */
+final class JwtSupport {
+
+  private JwtSupport() {}
+
+  static Jwt jwt(Authentication auth) {
+    if (auth == null || !(auth.getPrincipal() instanceof Jwt j)) {
+      throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "JWT required");
+    }
+    return j;
+  }
+
+  @SuppressWarnings("unchecked")
+  static List<String> userRegions(Jwt jwt) {
+    Object claim = jwt.getClaims().get("regions");
+    if (claim instanceof List<?> list) {
+      return (List<String>) list;
+    }
+    // fallback: single region claim
+    String region = jwt.getClaimAsString("region");
+    return region == null ? List.of() : List.of(region);
+  }
+
+  static Audience audience(Jwt jwt) {
+    return Audience.fromClaim(jwt.getClaimAsString(Audience.CLAIM));
+  }
+}
@@ -0,0 +1,130 @@
+package com.roja.contentplatform.controller;
+
+import com.roja.contentplatform.api.dto.MediaAssetResponse;
+import com.roja.contentplatform.services.media.MediaService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+
+import static com.roja.contentplatform.controller.JwtSupport.jwt;
+import static com.roja.contentplatform.controller.JwtSupport.userRegions;
+
+@RestController
+@RequestMapping("/api/v1")
+public class MediaController {
+
+  private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+
+  private final MediaService mediaService;
+
+  public MediaController(MediaService mediaService) {
+    this.mediaService = mediaService;
+  }
+
+  @PostMapping("/content/{id}/media")
+  @ResponseStatus(HttpStatus.CREATED)
+  public MediaAssetResponse upload(@PathVariable Long id,
+                                   @RequestParam("file") MultipartFile file,
+                                   @RequestParam(defaultValue = "false") boolean cover,
+                                   Authentication auth) {
+    Jwt j = jwt(auth);
+    return mediaService.upload(id, file, cover, j.getSubject(), userRegions(j));
+  }
+
+  /**
+   * Serves a stored file by hash. URLs are content-addressed, so responses are cacheable forever.
+   * Supports a single {@code Range}; bodies go out through Tomcat sendfile when the connector
+   * offers it, otherwise through {@link FileChannel#transferTo}.
+   */
+  @GetMapping("/media/{sha256}")
+  public void serve(@PathVariable String sha256, HttpServletRequest request, HttpServletResponse response) throws IOException {
+    MediaService.ResolvedMedia media;
+    try {
+      media = mediaService.resolve(sha256);
+    } catch (IllegalArgumentException ex) {
+      response.sendError(HttpStatus.NOT_FOUND.value());
+      return;
+    }
+
+    String etag = "\"" + sha256 + "\"";
+    response.setHeader(HttpHeaders.ETAG, etag);
+    response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE);
+    response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+    response.setHeader("X-Content-Type-Options", "nosniff"); // browsers must not second-guess the stored type
+    response.setContentType(media.mediaType());
+    if (etag.equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+      response.setStatus(HttpStatus.NOT_MODIFIED.value());
+      return;
+    }
+
+    long size = media.sizeBytes();
+    long start = 0;
+    long end = size - 1;
+    String range = request.getHeader(HttpHeaders.RANGE);
+    if (range != null && range.startsWith("bytes=") && !range.contains(",")) {
+      // Multi-range requests fall through to a full 200 response, which RFC 9110 allows
+      long[] r = parseRange(range.substring(6).trim(), size);
+      if (r == null) {
+        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+        response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+        return;
+      }
+      start = r[0];
+      end = r[1];
+      response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+      response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+    }
+    long length = end - start + 1;
+    response.setContentLengthLong(length);
+    if ("HEAD".equals(request.getMethod()) || length == 0) {
+      return;
+    }
+
+    if (Boolean.TRUE.equals(request.getAttribute("org.apache.tomcat.sendfile.support"))) {
+      request.setAttribute("org.apache.tomcat.sendfile.filename", media.path().toString());
+      request.setAttribute("org.apache.tomcat.sendfile.start", start);
+      request.setAttribute("org.apache.tomcat.sendfile.end", end + 1);
+      return;
+    }
+
+    try (FileChannel file = FileChannel.open(media.path(), StandardOpenOption.READ)) {
+      WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+      long pos = start;
+      while (pos <= end) {
+        pos += file.transferTo(pos, end + 1 - pos, out);
+      }
+    }
+  }
+
+  /** {@code [start, end]} inclusive for "a-b", "a-" or "-suffix"; null when unsatisfiable. */
+  private static long[] parseRange(String spec, long size) {
+    int dash = spec.indexOf('-');
+    if (dash < 0 || size == 0) return null;
+    try {
+      String a = spec.substring(0, dash).trim();
+      String b = spec.substring(dash + 1).trim();
+      if (a.isEmpty()) {
+        long suffix = Long.parseLong(b);
+        if (suffix <= 0) return null;
+        return new long[] { Math.max(0, size - suffix), size - 1 };
+      }
+      long start = Long.parseLong(a);
+      long end = b.isEmpty() ? size - 1 : Math.min(Long.parseLong(b), size - 1);
+      if (start >= size || start > end) return null;
+      return new long[] { start, end };
+    } catch (NumberFormatException ex) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,63 @@
+package com.roja.contentplatform.controller;
+
+import com.roja.contentplatform.api.dto.RevisionDiffResponse;
+import com.roja.contentplatform.api.dto.RevisionResponse;
+import com.roja.contentplatform.api.dto.RevisionSummaryResponse;
+import com.roja.contentplatform.model.ContentItem;
+import com.roja.contentplatform.repository.ContentItemRepository;
+import com.roja.contentplatform.services.revisions.RevisionHistory;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+import static com.roja.contentplatform.controller.JwtSupport.audience;
+import static com.roja.contentplatform.controller.JwtSupport.jwt;
+import static com.roja.contentplatform.controller.JwtSupport.userRegions;
+
+@RestController
+@RequestMapping("/api/v1/content/{id}/variants/{lang}/revisions")
+public class RevisionController {
+
+  private final ContentItemRepository itemRepo;
+  private final RevisionHistory history;
+
+  public RevisionController(ContentItemRepository itemRepo, RevisionHistory history) {
+    this.itemRepo = itemRepo;
+    this.history = history;
+  }
+
+  @GetMapping
+  public List<RevisionSummaryResponse> list(@PathVariable Long id, @PathVariable String lang, Authentication auth) {
+    checkAccess(id, auth);
+    return history.list(id, lang);
+  }
+
+  @GetMapping("/{revision}")
+  public RevisionResponse get(@PathVariable Long id, @PathVariable String lang, @PathVariable int revision,
+                              Authentication auth) {
+    checkAccess(id, auth);
+    return history.get(id, lang, revision);
+  }
+
+  /** Token-level diff between two revisions; {@code from} may be later than {@code to}. */
+  @GetMapping("/diff")
+  public RevisionDiffResponse diff(@PathVariable Long id, @PathVariable String lang,
+                                   @RequestParam int from, @RequestParam int to, Authentication auth) {
+    checkAccess(id, auth);
+    return history.diff(id, lang, from, to);
+  }
+
+  private void checkAccess(Long id, Authentication auth) {
+    Jwt j = jwt(auth);
+    ContentItem item = itemRepo.findById(id)
+        .filter(i -> audience(j).canSee(i.isInternal()))
+        .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "content not found"));
+    if (!userRegions(j).contains(item.getRegion())) {
+      throw new ResponseStatusException(HttpStatus.FORBIDDEN, "not allowed to access this region");
+    }
+  }
+}
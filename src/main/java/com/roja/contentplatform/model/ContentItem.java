@@ -6,7 +6,15 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "content_item")
+@Table(
+  name = "content_item",
+  indexes = {
+    // Feed partitions: external feeds read only the internal = false slice of a region
+    @Index(name = "idx_content_item_feed", columnList = "region, internal, status, published_at"),
+    // Keyset scan for exports
+    @Index(name = "idx_content_item_region_id", columnList = "region, id")
+  }
+)
 public class ContentItem {
 
   public enum Status { DRAFT, IN_REVIEW, APPROVED, PUBLISHED, ARCHIVED }
@@ -73,6 +81,9 @@ public class ContentItem {
   @Column(nullable = false)
   private boolean internal = false; // internal vs external visibility
 
+  @Column(length = 64)
+  private String coverImageSha256; // MediaAsset original, served from /api/v1/media/{sha256}
+
   // getters/setters
   public Long getId() { return id; }
   
@@ -137,4 +148,7 @@ public class ContentItem {
   
   public boolean isInternal() { return internal; }
   public void setInternal(boolean internal) { this.internal = internal; }
+
+  public String getCoverImageSha256() { return coverImageSha256; }
+  public void setCoverImageSha256(String coverImageSha256) { this.coverImageSha256 = coverImageSha256; }
 }
@@ -0,0 +1,75 @@
+package com.roja.contentplatform.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * One saved state of a language variant. Every {@code content.revisions.snapshot-interval}
+ * revisions (and whenever a delta would not pay off) the body is stored as a deflated full
+ * snapshot; in between it is a deflated delta against the previous revision, so rebuilding
+ * any revision replays at most one snapshot interval.
+ */
+@Entity
+@Table(
+  name = "content_revision",
+  uniqueConstraints = @UniqueConstraint(columnNames = {"content_item_id", "language_code", "revision"})
+)
+public class ContentRevision {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "content_item_id", nullable = false)
+  private Long contentItemId;
+
+  @Column(name = "language_code", nullable = false)
+  private String languageCode;
+
+  @Column(nullable = false)
+  private int revision;
+
+  @Column(nullable = false)
+  private boolean snapshot;
+
+  @Column(nullable = false)
+  private String title;
+
+  @Column(nullable = false, columnDefinition = "bytea")
+  private byte[] data;
+
+  @Column(nullable = false)
+  private int bodyLength; // chars of the reconstructed body
+
+  @Column(nullable = false)
+  private int storedBytes;
+
+  @Column(nullable = false)
+  private Instant createdAt = Instant.now();
+
+  @Column(nullable = false)
+  private String createdBy;
+
+  // getters/setters
+  public Long getId() { return id; }
+  public Long getContentItemId() { return contentItemId; }
+  public void setContentItemId(Long contentItemId) { this.contentItemId = contentItemId; }
+  public String getLanguageCode() { return languageCode; }
+  public void setLanguageCode(String languageCode) { this.languageCode = languageCode; }
+  public int getRevision() { return revision; }
+  public void setRevision(int revision) { this.revision = revision; }
+  public boolean isSnapshot() { return snapshot; }
+  public void setSnapshot(boolean snapshot) { this.snapshot = snapshot; }
+  public String getTitle() { return title; }
+  public void setTitle(String title) { this.title = title; }
+  public byte[] getData() { return data; }
+  public void setData(byte[] data) { this.data = data; }
+  public int getBodyLength() { return bodyLength; }
+  public void setBodyLength(int bodyLength) { this.bodyLength = bodyLength; }
+  public int getStoredBytes() { return storedBytes; }
+  public void setStoredBytes(int storedBytes) { this.storedBytes = storedBytes; }
+  public Instant getCreatedAt() { return createdAt; }
+  public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+  public String getCreatedBy() { return createdBy; }
+  public void setCreatedBy(String createdBy) { this.createdBy = createdBy; }
+}
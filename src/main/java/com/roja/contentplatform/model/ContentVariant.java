@@ -36,6 +36,16 @@ public class ContentVariant {
   @Column(nullable = false)
   private String updatedBy;
 
+  // Feed card preview derived from bodyHtml on write; null until derived (see SummaryBackfill)
+  @Column(length = 320)
+  private String excerpt;
+
+  private Integer wordCount;
+  private Integer readingTimeMinutes;
+
+  @Column(length = 2048)
+  private String firstImageSrc;
+
   // getters/setters
   public Long getId() { return id; }
   public ContentItem getContentItem() { return contentItem; }
@@ -52,4 +62,12 @@ public class ContentVariant {
   public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
   public String getUpdatedBy() { return updatedBy; }
   public void setUpdatedBy(String updatedBy) { this.updatedBy = updatedBy; }
+  public String getExcerpt() { return excerpt; }
+  public void setExcerpt(String excerpt) { this.excerpt = excerpt; }
+  public Integer getWordCount() { return wordCount; }
+  public void setWordCount(Integer wordCount) { this.wordCount = wordCount; }
+  public Integer getReadingTimeMinutes() { return readingTimeMinutes; }
+  public void setReadingTimeMinutes(Integer readingTimeMinutes) { this.readingTimeMinutes = readingTimeMinutes; }
+  public String getFirstImageSrc() { return firstImageSrc; }
+  public void setFirstImageSrc(String firstImageSrc) { this.firstImageSrc = firstImageSrc; }
 }
@@ -0,0 +1,51 @@
+package com.roja.contentplatform.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+@Entity
+@Table(
+  name = "content_view_rollup",
+  uniqueConstraints = @UniqueConstraint(columnNames = {"contentItemId", "languageCode", "granularity", "bucketStart"}),
+  indexes = @Index(columnList = "region, granularity, bucketStart")
+)
+public class ContentViewRollup {
+
+  public enum Granularity { HOUR, DAY }
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(nullable = false)
+  private Long contentItemId;
+
+  @Column(nullable = false)
+  private String languageCode;
+
+  @Column(nullable = false)
+  private String region;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false)
+  private Granularity granularity;
+
+  @Column(nullable = false)
+  private Instant bucketStart; // start of the hour/day bucket, UTC
+
+  @Column(nullable = false)
+  private long views;
+
+  @Column(nullable = false)
+  private long impressions; // feed appearances
+
+  // getters (rows are written by ContentViewFlusher via batched upsert)
+  public Long getId() { return id; }
+  public Long getContentItemId() { return contentItemId; }
+  public String getLanguageCode() { return languageCode; }
+  public String getRegion() { return region; }
+  public Granularity getGranularity() { return granularity; }
+  public Instant getBucketStart() { return bucketStart; }
+  public long getViews() { return views; }
+  public long getImpressions() { return impressions; }
+}
@@ -0,0 +1,72 @@
+package com.roja.contentplatform.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * A stored media file attached to a content item. Files live on disk addressed by SHA-256
+ * (see MediaStore), so identical uploads share one file; renditions are separate rows that
+ * point back to their original through {@code originalSha256}.
+ */
+@Entity
+@Table(
+  name = "media_asset",
+  uniqueConstraints = @UniqueConstraint(columnNames = {"content_item_id", "sha256"}),
+  indexes = @Index(columnList = "sha256")
+)
+public class MediaAsset {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @ManyToOne(fetch = FetchType.LAZY, optional = false)
+  @JoinColumn(name = "content_item_id", nullable = false)
+  private ContentItem contentItem;
+
+  @Column(nullable = false, length = 64)
+  private String sha256;
+
+  @Column(nullable = false, length = 64)
+  private String originalSha256;
+
+  @Column(nullable = false)
+  private String rendition; // original, w320, w1280 ...
+
+  @Column(nullable = false)
+  private String mediaType;
+
+  @Column(nullable = false)
+  private long sizeBytes;
+
+  private Integer width;
+  private Integer height;
+
+  @Column(nullable = false)
+  private Instant createdAt = Instant.now();
+
+  @Column(nullable = false)
+  private String createdBy;
+
+  // getters/setters
+  public Long getId() { return id; }
+  public ContentItem getContentItem() { return contentItem; }
+  public void setContentItem(ContentItem contentItem) { this.contentItem = contentItem; }
+  public String getSha256() { return sha256; }
+  public void setSha256(String sha256) { this.sha256 = sha256; }
+  public String getOriginalSha256() { return originalSha256; }
+  public void setOriginalSha256(String originalSha256) { this.originalSha256 = originalSha256; }
+  public String getRendition() { return rendition; }
+  public void setRendition(String rendition) { this.rendition = rendition; }
+  public String getMediaType() { return mediaType; }
+  public void setMediaType(String mediaType) { this.mediaType = mediaType; }
+  public long getSizeBytes() { return sizeBytes; }
+  public void setSizeBytes(long sizeBytes) { this.sizeBytes = sizeBytes; }
+  public Integer getWidth() { return width; }
+  public void setWidth(Integer width) { this.width = width; }
+  public Integer getHeight() { return height; }
+  public void setHeight(Integer height) { this.height = height; }
+  public Instant getCreatedAt() { return createdAt; }
+  public String getCreatedBy() { return createdBy; }
+  public void setCreatedBy(String createdBy) { this.createdBy = createdBy; }
+}
@@ -0,0 +1,59 @@
+package com.roja.contentplatform.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * A content change written in the same transaction as the mutation itself. Every replica's
+ * OutboxRelay copies rows into its local change log in ({@code txId}, {@code id}) order; rows are
+ * deleted once all live replicas have copied them (see {@link OutboxReader}).
+ */
+@Entity
+@Table(name = "content_outbox", indexes = @Index(name = "idx_content_outbox_tx", columnList = "tx_id, id"))
+public class OutboxEvent {
+
+  public enum Type { CREATED, VARIANT_UPSERTED, PUBLISHED, APPROVED, ARCHIVED, UNPUBLISHED }
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false)
+  private Type type;
+
+  @Column(nullable = false)
+  private Long contentItemId;
+
+  @Column(nullable = false)
+  private String region;
+
+  private String languageCode; // variant events only
+
+  @Column(nullable = false)
+  private String actor; // JWT sub
+
+  @Column(nullable = false)
+  private Instant occurredAt = Instant.now();
+
+  // Writing transaction, set by the database. Ids are handed out before commit, so a reader going
+  // by id alone could pass a row whose transaction commits later; transaction ids below the
+  // oldest running one are final.
+  @Column(insertable = false, updatable = false, columnDefinition = "bigint NOT NULL DEFAULT txid_current()")
+  private Long txId;
+
+  // getters/setters
+  public Long getId() { return id; }
+  public Type getType() { return type; }
+  public void setType(Type type) { this.type = type; }
+  public Long getContentItemId() { return contentItemId; }
+  public void setContentItemId(Long contentItemId) { this.contentItemId = contentItemId; }
+  public String getRegion() { return region; }
+  public void setRegion(String region) { this.region = region; }
+  public String getLanguageCode() { return languageCode; }
+  public void setLanguageCode(String languageCode) { this.languageCode = languageCode; }
+  public String getActor() { return actor; }
+  public void setActor(String actor) { this.actor = actor; }
+  public Instant getOccurredAt() { return occurredAt; }
+  public Long getTxId() { return txId; }
+}
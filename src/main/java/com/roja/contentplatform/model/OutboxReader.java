@@ -0,0 +1,32 @@
+package com.roja.contentplatform.model;
+
+import jakarta.persistence.*;
+import java.time.Instant;
+
+/**
+ * How far one replica's OutboxRelay has copied this database's outbox into its local change log.
+ * Outbox rows at or below the slowest live reader's position are deleted; readers that have not
+ * reported for {@code content.changelog.reader-expiry-ms} no longer count and are removed.
+ */
+@Entity
+@Table(name = "content_outbox_reader")
+public class OutboxReader {
+
+  @Id
+  private String replicaId;
+
+  @Column(nullable = false)
+  private long lastTxId;
+
+  @Column(nullable = false)
+  private long lastEventId;
+
+  @Column(nullable = false)
+  private Instant updatedAt;
+
+  // getters (rows are written by OutboxRelay with plain SQL)
+  public String getReplicaId() { return replicaId; }
+  public long getLastTxId() { return lastTxId; }
+  public long getLastEventId() { return lastEventId; }
+  public Instant getUpdatedAt() { return updatedAt; }
+}
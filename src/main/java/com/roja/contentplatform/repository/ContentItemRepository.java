@@ -1,9 +1,100 @@
 package com.roja.contentplatform.repository;
 
 import com.roja.contentplatform.model.ContentItem;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
 public interface ContentItemRepository extends JpaRepository<ContentItem, Long> {
-  List<ContentItem> findByRegionAndStatusOrderByPublishedAtDesc(String region, ContentItem.Status status);
+  /** Feed rows visible to an audience; see {@link com.roja.contentplatform.services.Audience#visibleInternalFlags}. */
+  List<ContentItem> findByRegionAndInternalInAndStatusOrderByPublishedAtDesc(
+      String region, Collection<Boolean> internal, ContentItem.Status status);
+
+  /**
+   * One keyset page of the same rows, newest first: those strictly after
+   * ({@code publishedAt}, {@code id}) in {@code (published_at desc, id desc)} order.
+   */
+  @Query("""
+      select i from ContentItem i
+      where i.region = :region and i.internal in :internal and i.status = :status
+        and (i.publishedAt < :publishedAt or (i.publishedAt = :publishedAt and i.id < :id))
+      order by i.publishedAt desc, i.id desc
+      """)
+  List<ContentItem> findFeedPage(@Param("region") String region,
+                                 @Param("internal") Collection<Boolean> internal,
+                                 @Param("status") ContentItem.Status status,
+                                 @Param("publishedAt") Instant publishedAt,
+                                 @Param("id") Long id,
+                                 Pageable page);
+
+  /** Tags of several items in one query. */
+  @Query("select new com.roja.contentplatform.repository.ItemTag(i.id, t) from ContentItem i join i.tags t where i.id in :ids")
+  List<ItemTag> findTagsByIdIn(@Param("ids") Collection<Long> ids);
+
+  /** Most recently modified first; one shard's share of an admin listing. */
+  @Query("""
+      select new com.roja.contentplatform.repository.ContentItemSummary(
+        i.id, i.region, i.category, i.status, i.internal, i.createdBy, i.createdAt, i.lastModifiedAt)
+      from ContentItem i
+      where i.region in :regions and i.internal in :internal and (:status is null or i.status = :status)
+      order by i.lastModifiedAt desc, i.id desc
+      """)
+  List<ContentItemSummary> findSummaries(@Param("regions") Collection<String> regions,
+                                         @Param("internal") Collection<Boolean> internal,
+                                         @Param("status") ContentItem.Status status,
+                                         Pageable page);
+
+  @Query("""
+      select new com.roja.contentplatform.repository.RegionStatusCount(i.region, i.status, count(i))
+      from ContentItem i
+      where i.region in :regions and i.internal in :internal
+      group by i.region, i.status
+      """)
+  List<RegionStatusCount> countByRegionAndStatus(@Param("regions") Collection<String> regions,
+                                                 @Param("internal") Collection<Boolean> internal);
+
+  // Set-based workflow transitions: one statement for any number of items. The caller checks
+  // eligibility first; the persistence context is flushed before and cleared after.
+
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("""
+      update ContentItem i set i.status = :status, i.approvedBy = :actor, i.approvedAt = :at,
+        i.lastModifiedBy = :actor, i.lastModifiedAt = :at, i.version = i.version + 1
+      where i.id in :ids
+      """)
+  int markApproved(@Param("ids") Collection<Long> ids, @Param("status") ContentItem.Status status,
+                   @Param("actor") String actor, @Param("at") Instant at);
+
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("""
+      update ContentItem i set i.status = :status, i.publishedBy = :actor, i.publishedAt = :at,
+        i.lastModifiedBy = :actor, i.lastModifiedAt = :at, i.version = i.version + 1
+      where i.id in :ids
+      """)
+  int markPublished(@Param("ids") Collection<Long> ids, @Param("status") ContentItem.Status status,
+                    @Param("actor") String actor, @Param("at") Instant at);
+
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("""
+      update ContentItem i set i.status = :status, i.archivedBy = :actor, i.archivedAt = :at,
+        i.lastModifiedBy = :actor, i.lastModifiedAt = :at, i.version = i.version + 1
+      where i.id in :ids
+      """)
+  int markArchived(@Param("ids") Collection<Long> ids, @Param("status") ContentItem.Status status,
+                   @Param("actor") String actor, @Param("at") Instant at);
+
+  /** Status change without an actor column of its own, e.g. unpublishing back to APPROVED. */
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("""
+      update ContentItem i set i.status = :status,
+        i.lastModifiedBy = :actor, i.lastModifiedAt = :at, i.version = i.version + 1
+      where i.id in :ids
+      """)
+  int markStatus(@Param("ids") Collection<Long> ids, @Param("status") ContentItem.Status status,
+                 @Param("actor") String actor, @Param("at") Instant at);
 }
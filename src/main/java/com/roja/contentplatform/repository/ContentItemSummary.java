@@ -0,0 +1,9 @@
+package com.roja.contentplatform.repository;
+
+import com.roja.contentplatform.model.ContentItem;
+
+import java.time.Instant;
+
+/** Listing columns of an item, without tags or variants. */
+public record ContentItemSummary(Long id, String region, String category, ContentItem.Status status, Boolean internal,
+                                 String createdBy, Instant createdAt, Instant lastModifiedAt) {}
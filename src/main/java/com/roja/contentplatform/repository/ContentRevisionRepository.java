@@ -0,0 +1,31 @@
+package com.roja.contentplatform.repository;
+
+import com.roja.contentplatform.model.ContentRevision;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface ContentRevisionRepository extends JpaRepository<ContentRevision, Long> {
+  Optional<ContentRevision> findFirstByContentItemIdAndLanguageCodeOrderByRevisionDesc(Long contentItemId, String languageCode);
+
+  Optional<ContentRevision> findFirstByContentItemIdAndLanguageCodeAndSnapshotTrueAndRevisionLessThanEqualOrderByRevisionDesc(
+      Long contentItemId, String languageCode, int revision);
+
+  List<ContentRevision> findByContentItemIdAndLanguageCodeAndRevisionBetweenOrderByRevisionAsc(
+      Long contentItemId, String languageCode, int from, int to);
+
+  List<RevisionSummary> findByContentItemIdAndLanguageCodeOrderByRevisionDesc(Long contentItemId, String languageCode);
+
+  /** Metadata-only projection so listing history never loads the stored bodies. */
+  interface RevisionSummary {
+    int getRevision();
+    boolean isSnapshot();
+    String getTitle();
+    int getBodyLength();
+    int getStoredBytes();
+    Instant getCreatedAt();
+    String getCreatedBy();
+  }
+}
@@ -2,7 +2,10 @@ package com.roja.contentplatform.repository;
 
 import com.roja.contentplatform.model.ContentVariant;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -10,4 +13,30 @@ public interface ContentVariantRepository extends JpaRepository<ContentVariant,
   Optional<ContentVariant> findByContentItemIdAndLanguageCode(Long contentItemId, String languageCode);
   List<ContentVariant> findByContentItemId(Long contentItemId);
   Optional<ContentVariant> findFirstByContentItemIdAndIsDefaultLangTrue(Long contentItemId);
+
+  @Query("""
+      select new com.roja.contentplatform.repository.VariantLanguage(v.id, v.languageCode, v.isDefaultLang)
+      from ContentVariant v
+      where v.contentItem.id = :contentItemId
+      """)
+  List<VariantLanguage> findLanguagesByContentItemId(@Param("contentItemId") Long contentItemId);
+
+  @Query("""
+      select new com.roja.contentplatform.repository.VariantHeader(v.id, v.languageCode, v.title, v.updatedAt,
+          v.excerpt, v.wordCount, v.readingTimeMinutes, v.firstImageSrc)
+      from ContentVariant v
+      where v.id = :id
+      """)
+  Optional<VariantHeader> findHeaderById(@Param("id") Long id);
+
+  @Query("""
+      select new com.roja.contentplatform.repository.VariantHeader(v.id, v.languageCode, v.title, v.updatedAt,
+          v.excerpt, v.wordCount, v.readingTimeMinutes, v.firstImageSrc)
+      from ContentVariant v
+      where v.id in :ids
+      """)
+  List<VariantHeader> findHeadersByIdIn(@Param("ids") Collection<Long> ids);
+
+  @Query("select v.bodyHtml from ContentVariant v where v.id = :id")
+  Optional<String> findBodyHtmlById(@Param("id") Long id);
 }
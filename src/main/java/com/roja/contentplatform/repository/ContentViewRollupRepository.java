@@ -0,0 +1,30 @@
+package com.roja.contentplatform.repository;
+
+import com.roja.contentplatform.api.dto.TopContentResponse;
+import com.roja.contentplatform.model.ContentViewRollup;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface ContentViewRollupRepository extends JpaRepository<ContentViewRollup, Long> {
+
+  /** Rollups of items visible to an audience; see {@link com.roja.contentplatform.services.Audience#visibleInternalFlags}. */
+  @Query("""
+      select new com.roja.contentplatform.api.dto.TopContentResponse(r.contentItemId, sum(r.views), sum(r.impressions))
+      from ContentViewRollup r join ContentItem i on i.id = r.contentItemId
+      where r.region = :region and r.granularity = :granularity and r.bucketStart >= :since
+        and i.internal in :internal
+      group by r.contentItemId
+      order by sum(r.views) desc, r.contentItemId
+      """)
+  List<TopContentResponse> findTopByRegion(@Param("region") String region,
+                                           @Param("granularity") ContentViewRollup.Granularity granularity,
+                                           @Param("since") Instant since,
+                                           @Param("internal") Collection<Boolean> internal,
+                                           Pageable page);
+}
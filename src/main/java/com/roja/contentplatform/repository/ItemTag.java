@@ -0,0 +1,4 @@
+package com.roja.contentplatform.repository;
+
+/** One row of {@code content_tags}. */
+public record ItemTag(Long itemId, String tag) {}
@@ -0,0 +1,13 @@
+package com.roja.contentplatform.repository;
+
+import com.roja.contentplatform.model.MediaAsset;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface MediaAssetRepository extends JpaRepository<MediaAsset, Long> {
+  Optional<MediaAsset> findFirstBySha256(String sha256);
+  Optional<MediaAsset> findByContentItemIdAndSha256(Long contentItemId, String sha256);
+  List<MediaAsset> findByContentItemIdAndOriginalSha256(Long contentItemId, String originalSha256);
+}
@@ -0,0 +1,23 @@
+package com.roja.contentplatform.repository;
+
+import com.roja.contentplatform.model.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+  /** One event per item in {@code ids}, in id order, as a single insert-select. */
+  @Modifying
+  @Query(nativeQuery = true, value = """
+      INSERT INTO content_outbox (type, content_item_id, region, actor, occurred_at)
+      SELECT :type, i.id, i.region, :actor, :occurredAt FROM content_item i
+      WHERE i.id IN (:ids)
+      ORDER BY i.id
+      """)
+  int insertForItems(@Param("type") String type, @Param("ids") Collection<Long> ids,
+                     @Param("actor") String actor, @Param("occurredAt") Instant occurredAt);
+}
@@ -0,0 +1,5 @@
+package com.roja.contentplatform.repository;
+
+import com.roja.contentplatform.model.ContentItem;
+
+public record RegionStatusCount(String region, ContentItem.Status status, Long count) {}
@@ -0,0 +1,15 @@
+package com.roja.contentplatform.repository;
+
+import java.time.Instant;
+
+/** A variant without its body; the card fields are null until derived. */
+public record VariantHeader(
+    Long id,
+    String languageCode,
+    String title,
+    Instant updatedAt,
+    String excerpt,
+    Integer wordCount,
+    Integer readingTimeMinutes,
+    String firstImageSrc
+) {}
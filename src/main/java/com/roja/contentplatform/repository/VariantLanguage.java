@@ -0,0 +1,4 @@
+package com.roja.contentplatform.repository;
+
+/** Id and language of a variant, without loading its body. */
+public record VariantLanguage(Long id, String languageCode, Boolean defaultLang) {}
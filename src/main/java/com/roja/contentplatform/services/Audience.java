@@ -0,0 +1,42 @@
+package com.roja.contentplatform.services;
+
+import java.util.List;
+
+/**
+ * Who a caller is reading for. Internal readers see every item in their regions; external readers
+ * never see items flagged {@code internal}. Issued as the {@value #CLAIM} JWT claim by the
+ * authorization server, see TokenCustomizerConfig.
+ */
+public enum Audience {
+  INTERNAL(List.of(false, true)),
+  EXTERNAL(List.of(false));
+
+  public static final String CLAIM = "visibility";
+
+  /** Scope a client must be granted to read internal content. */
+  public static final String INTERNAL_SCOPE = "content.internal";
+
+  private final List<Boolean> visibleInternalFlags;
+
+  Audience(List<Boolean> visibleInternalFlags) {
+    this.visibleInternalFlags = visibleInternalFlags;
+  }
+
+  /** Values of {@code content_item.internal} this audience may read. */
+  public List<Boolean> visibleInternalFlags() {
+    return visibleInternalFlags;
+  }
+
+  public boolean canSee(boolean internalItem) {
+    return !internalItem || this == INTERNAL;
+  }
+
+  public String claimValue() {
+    return name().toLowerCase();
+  }
+
+  /** Missing or unknown claim values are treated as external. */
+  public static Audience fromClaim(String value) {
+    return INTERNAL.claimValue().equals(value) ? INTERNAL : EXTERNAL;
+  }
+}
@@ -3,118 +3,240 @@ package com.roja.contentplatform.services;
 
 import com.roja.contentplatform.api.dto.ContentViewResponse;
 import com.roja.contentplatform.api.dto.FeedItemResponse;
+import com.roja.contentplatform.api.dto.RelatedItemResponse;
 import com.roja.contentplatform.model.ContentItem;
-import com.roja.contentplatform.model.ContentVariant;
 import com.roja.contentplatform.repository.ContentItemRepository;
 import com.roja.contentplatform.repository.ContentVariantRepository;
+import com.roja.contentplatform.repository.ItemTag;
+import com.roja.contentplatform.repository.VariantHeader;
+import com.roja.contentplatform.services.bodystore.PublishedBodyStore;
+import com.roja.contentplatform.services.media.MediaService;
+import com.roja.contentplatform.services.related.RelatedContentIndex;
+import com.roja.contentplatform.services.related.SimilarItem;
+import com.roja.contentplatform.services.sharding.ShardTransactions;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.util.Comparator;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 public class ContentQueryService {
 
   private final ContentItemRepository itemRepo;
   private final ContentVariantRepository varRepo;
-
-  public ContentQueryService(ContentItemRepository itemRepo, ContentVariantRepository varRepo) {
+  private final VariantResolutionCache resolution;
+  private final RequestCoalescer coalescer;
+  private final PublishedBodyStore bodyStore;
+  private final RelatedContentIndex relatedIndex;
+  private final ShardTransactions shardTx;
+
+  public ContentQueryService(ContentItemRepository itemRepo, ContentVariantRepository varRepo,
+                             VariantResolutionCache resolution, RequestCoalescer coalescer,
+                             PublishedBodyStore bodyStore, RelatedContentIndex relatedIndex, ShardTransactions shardTx) {
     this.itemRepo = itemRepo;
     this.varRepo = varRepo;
+    this.resolution = resolution;
+    this.coalescer = coalescer;
+    this.bodyStore = bodyStore;
+    this.relatedIndex = relatedIndex;
+    this.shardTx = shardTx;
   }
 
-  public ContentViewResponse getContentView(Long id, String requestedLang, List<String> userRegions) {
-    ContentItem item = itemRepo.findById(id).orElseThrow(() ->
-        new ResponseStatusException(HttpStatus.NOT_FOUND, "content not found"));
+  /**
+   * @param languages candidate language tags in preference order, see {@link LanguageFallbacks#preferences}
+   */
+  public ContentView getContentView(Long id, List<String> languages, List<String> userRegions, Audience audience) {
+    // Identical concurrent views share one load; region is checked per caller on the shared result
+    ContentView view = coalescer.execute(new RequestCoalescer.Key("view", id, languages, audience),
+        () -> loadContentView(id, languages, audience));
+    enforceRegion(view.response().region(), userRegions);
+    return view;
+  }
 
-    enforceRegion(item.getRegion(), userRegions);
+  public List<FeedItemResponse> getFeed(String region, List<String> languages, List<String> userRegions, Audience audience) {
+    enforceRegion(region, userRegions);
+    return coalescer.execute(new RequestCoalescer.Key("feed", region, languages, audience),
+        () -> loadFeed(region, languages, audience));
+  }
 
-    List<ContentVariant> variants = varRepo.findByContentItemId(id);
-    if (variants.isEmpty()) {
-      throw new ResponseStatusException(HttpStatus.CONFLICT, "no language variants exist for this content");
+  /**
+   * Feed cards for the published items most similar to {@code id} in the caller's regions and
+   * languages. Candidates come from the in-memory index; only the final few are loaded.
+   */
+  public List<RelatedItemResponse> getRelated(Long id, List<String> languages, List<String> userRegions,
+                                              Audience audience, int limit) {
+    ContentItem source = itemRepo.findById(id)
+        .filter(i -> audience.canSee(i.isInternal()))
+        .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "content not found"));
+    enforceRegion(source.getRegion(), userRegions);
+
+    List<RelatedItemResponse> related = new ArrayList<>(limit);
+    for (SimilarItem match : relatedIndex.similar(id, userRegions, languages, audience, limit)) {
+      // Related items may live on other shards; the index can also be a change behind
+      FeedItemResponse card = shardTx.readItem(match.itemId(), () -> itemRepo.findById(match.itemId())
+          .filter(i -> i.getStatus() == ContentItem.Status.PUBLISHED)
+          .map(i -> toFeedItem(i, languages))
+          .orElse(null));
+      if (card != null) {
+        related.add(new RelatedItemResponse(match.similarity(), card));
+      }
     }
+    return related;
+  }
 
-    List<String> available = variants.stream()
-        .map(ContentVariant::getLanguageCode)
-        .distinct().sorted()
-        .toList();
+  private ContentView loadContentView(Long id, List<String> languages, Audience audience) {
+    ContentItem item = itemRepo.findById(id)
+        .filter(i -> audience.canSee(i.isInternal())) // not 403: external callers must not learn it exists
+        .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "content not found"));
 
-    ContentVariant chosen = null;
-    if (requestedLang != null && !requestedLang.isBlank()) {
-      chosen = varRepo.findByContentItemIdAndLanguageCode(id, requestedLang).orElse(null);
-    }
-    if (chosen == null) {
-      chosen = varRepo.findFirstByContentItemIdAndIsDefaultLangTrue(id)
-          .orElseGet(() -> variants.stream().min(Comparator.comparing(ContentVariant::getLanguageCode)).orElseThrow());
+    VariantResolutionTable table = resolution.tableFor(id);
+    if (table.isEmpty()) {
+      throw new ResponseStatusException(HttpStatus.CONFLICT, "no language variants exist for this content");
     }
+    VariantHeader chosen = loadHeader(id, table, languages);
+
+    // Published bodies come from the mapped store; anything else (or a stale copy) from Postgres
+    ByteBuffer bodyJson = bodyStore.contains(chosen.id()) ? bodyStore.findJson(chosen.id(), chosen.updatedAt()) : null;
+    String bodyHtml = bodyJson != null ? null : varRepo.findBodyHtmlById(chosen.id()).orElseThrow(() ->
+        new ResponseStatusException(HttpStatus.CONFLICT, "language variant changed concurrently"));
 
-    return new ContentViewResponse(
+    ContentViewResponse response = new ContentViewResponse(
         item.getId(),
         item.getContentType().name(),
         item.getRegion(),
         item.getCategory(),
-        item.getTags(),
+        Set.copyOf(item.getTags()), // detached copy: the response may be shared across threads
         item.getPriority().name(),
         item.getStatus().name(),
         item.getPublishedAt(),
-        chosen.getLanguageCode(),
-        available,
-        chosen.getTitle(),
-        chosen.getBodyHtml(),
+        chosen.languageCode(),
+        table.availableLanguages(),
+        chosen.title(),
+        bodyHtml,
         item.getCreatedBy(),
         item.getCreatedAt(),
         item.getApprovedBy(),
         item.getApprovedAt(),
         item.getVersion(),
-        item.isInternal()
+        item.isInternal(),
+        coverImageUrl(item)
     );
+    return new ContentView(response, bodyJson);
   }
 
-  public List<FeedItemResponse> getFeed(String region, String lang, List<String> userRegions) {
-    enforceRegion(region, userRegions);
+  private List<FeedItemResponse> loadFeed(String region, List<String> languages, Audience audience) {
+    List<ContentItem> published = itemRepo.findByRegionAndInternalInAndStatusOrderByPublishedAtDesc(
+        region, audience.visibleInternalFlags(), ContentItem.Status.PUBLISHED);
 
-    List<ContentItem> published = itemRepo.findByRegionAndStatusOrderByPublishedAtDesc(region, ContentItem.Status.PUBLISHED);
+    return toFeedItems(published, languages);
+  }
 
-    return published.stream().map(item -> {
-      List<ContentVariant> vars = varRepo.findByContentItemId(item.getId());
-      List<String> available = vars.stream().map(ContentVariant::getLanguageCode).distinct().sorted().toList();
+  /** Feed card for one item, or {@code null} if it has no variants. */
+  FeedItemResponse toFeedItem(ContentItem item, List<String> languages) {
+    VariantResolutionTable table = resolution.tableFor(item.getId());
+    if (table.isEmpty()) {
+      return null; // published without variants; nothing to show
+    }
+    return feedItem(item, Set.copyOf(item.getTags()), table, loadHeader(item.getId(), table, languages));
+  }
 
-      ContentVariant chosen = null;
-      if (lang != null && !lang.isBlank()) {
-        chosen = varRepo.findByContentItemIdAndLanguageCode(item.getId(), lang).orElse(null);
+  /**
+   * Feed cards for {@code items} in order, skipping items without variants. Tags and the chosen
+   * variant headers are loaded for all of them at once rather than item by item.
+   */
+  List<FeedItemResponse> toFeedItems(List<ContentItem> items, List<String> languages) {
+    Map<Long, VariantResolutionTable> tables = new HashMap<>();
+    for (ContentItem item : items) {
+      VariantResolutionTable table = resolution.tableFor(item.getId());
+      if (!table.isEmpty()) {
+        tables.put(item.getId(), table);
       }
+    }
+    if (tables.isEmpty()) {
+      return List.of();
+    }
+    Map<Long, Set<String>> tags = new HashMap<>();
+    for (ItemTag t : itemRepo.findTagsByIdIn(tables.keySet())) {
+      tags.computeIfAbsent(t.itemId(), k -> new HashSet<>()).add(t.tag());
+    }
+    Map<Long, VariantHeader> headers = new HashMap<>();
+    for (VariantHeader h : varRepo.findHeadersByIdIn(tables.values().stream().map(t -> t.resolve(languages)).toList())) {
+      headers.put(h.id(), h);
+    }
+
+    List<FeedItemResponse> cards = new ArrayList<>(tables.size());
+    for (ContentItem item : items) {
+      VariantResolutionTable table = tables.get(item.getId());
+      if (table == null) {
+        continue; // published without variants; nothing to show
+      }
+      VariantHeader chosen = headers.get(table.resolve(languages));
       if (chosen == null) {
-        chosen = varRepo.findFirstByContentItemIdAndIsDefaultLangTrue(item.getId())
-            .orElse(vars.get(0));
+        chosen = loadHeader(item.getId(), table, languages);
       }
+      cards.add(feedItem(item, Set.copyOf(tags.getOrDefault(item.getId(), Set.of())), table, chosen));
+    }
+    return cards;
+  }
+
+  private static FeedItemResponse feedItem(ContentItem item, Set<String> tags, VariantResolutionTable table,
+                                           VariantHeader chosen) {
+    return new FeedItemResponse(
+        item.getId(),
+        item.getContentType().name(),
+        item.getRegion(),
+        item.getCategory(),
+        tags,
+        item.getPriority().name(),
+        item.isPinned(),
+        item.getStatus().name(),
+        item.getPublishedAt(),
+        item.getScheduledUnpublishAt(),
+        chosen.languageCode(),
+        table.availableLanguages(),
+        chosen.title(),
+        item.getCreatedBy(),
+        item.getCreatedAt(),
+        item.getApprovedBy(),
+        item.getApprovedAt(),
+        item.getVersion(),
+        item.isInternal(),
+        coverImageUrl(item),
+        chosen.excerpt(),
+        chosen.wordCount(),
+        chosen.readingTimeMinutes(),
+        chosen.firstImageSrc()
+    );
+  }
+
+  /** Chosen variant without its body, which can be large and is only needed by views. */
+  private VariantHeader loadHeader(Long itemId, VariantResolutionTable table, List<String> languages) {
+    VariantHeader chosen = varRepo.findHeaderById(table.resolve(languages)).orElse(null);
+    if (chosen == null) {
+      // Table raced with a concurrent change; rebuild once
+      resolution.refresh(itemId);
+      VariantResolutionTable fresh = resolution.tableFor(itemId);
+      if (fresh.isEmpty()) {
+        throw new ResponseStatusException(HttpStatus.CONFLICT, "no language variants exist for this content");
+      }
+      chosen = varRepo.findHeaderById(fresh.resolve(languages)).orElseThrow(() ->
+          new ResponseStatusException(HttpStatus.CONFLICT, "language variant changed concurrently"));
+    }
+    return chosen;
+  }
 
-      return new FeedItemResponse(
-          item.getId(),
-          item.getContentType().name(),
-          item.getRegion(),
-          item.getCategory(),
-          item.getTags(),
-          item.getPriority().name(),
-          item.isPinned(),
-          item.getStatus().name(),
-          item.getPublishedAt(),
-          item.getScheduledUnpublishAt(),
-          chosen.getLanguageCode(),
-          available,
-          chosen.getTitle(),
-          item.getCreatedBy(),
-          item.getCreatedAt(),
-          item.getApprovedBy(),
-          item.getApprovedAt(),
-          item.getVersion(),
-          item.isInternal()
-      );
-    }).toList();
+  private static String coverImageUrl(ContentItem item) {
+    return item.getCoverImageSha256() == null ? null : MediaService.url(item.getCoverImageSha256());
   }
 
-  private void enforceRegion(String contentRegion, List<String> userRegions) {
+  void enforceRegion(String contentRegion, List<String> userRegions) {
     if (userRegions == null || userRegions.isEmpty() || !userRegions.contains(contentRegion)) {
       throw new ResponseStatusException(HttpStatus.FORBIDDEN, "not allowed to access this region");
     }
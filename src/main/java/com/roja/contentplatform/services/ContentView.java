@@ -0,0 +1,46 @@
+package com.roja.contentplatform.services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.roja.contentplatform.api.dto.ContentViewResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A content view as served. When the body came from the published body store,
+ * {@code response.bodyHtml()} is {@code null} and {@code bodyJson} holds it as a UTF-8 JSON string
+ * literal backed by the store's mapping. One instance can be shared by coalesced requests, so the
+ * buffer is only ever read through a duplicate.
+ */
+public record ContentView(ContentViewResponse response, ByteBuffer bodyJson) {
+
+  private static final byte[] BODY_FIELD = ",\"bodyHtml\":".getBytes(StandardCharsets.UTF_8);
+
+  /**
+   * Writes the same JSON document Jackson would write for {@link #response()}. A stored body is
+   * copied from the mapping to {@code out} after the other fields, never decoded to a String.
+   */
+  public void writeJson(OutputStream out, ObjectMapper mapper) throws IOException {
+    if (bodyJson == null) {
+      mapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET).writeValue(out, response);
+      return;
+    }
+    ObjectNode fields = mapper.valueToTree(response);
+    fields.remove("bodyHtml");
+    byte[] head = mapper.writeValueAsBytes(fields); // {...} with at least the id
+    out.write(head, 0, head.length - 1);
+    out.write(BODY_FIELD);
+    WritableByteChannel channel = Channels.newChannel(out);
+    ByteBuffer body = bodyJson.duplicate();
+    while (body.hasRemaining()) {
+      channel.write(body);
+    }
+    out.write('}');
+  }
+}
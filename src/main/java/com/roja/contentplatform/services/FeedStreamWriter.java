@@ -0,0 +1,108 @@
+package com.roja.contentplatform.services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.roja.contentplatform.api.dto.FeedItemResponse;
+import com.roja.contentplatform.model.ContentItem;
+import com.roja.contentplatform.repository.ContentItemRepository;
+import com.roja.contentplatform.services.analytics.ContentViewCounters;
+import com.roja.contentplatform.services.sharding.ShardRouter;
+import com.roja.contentplatform.services.sharding.ShardTransactions;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Streams a region's feed as a JSON array without materialising it.
+ *
+ * The rows are keyset-paged on {@code (published_at, id)}, as the exporter pages its scan: each
+ * page is read and mapped to cards in its own short read-only transaction, with tags and variant
+ * headers loaded for the whole page at once, and the connection is back in the pool before the
+ * page is written. A slow client therefore holds a request thread but never a connection, and
+ * heap use is bounded by the page size whatever the feed size.
+ */
+@Component
+public class FeedStreamWriter {
+
+  private static final int PAGE_SIZE = 100;
+  /** Keyset start: after every real {@code published_at}. */
+  private static final Instant NEWEST = Instant.parse("9999-12-31T00:00:00Z");
+
+  private final ContentItemRepository itemRepo;
+  private final ContentQueryService queryService;
+  private final ContentViewCounters viewCounters;
+  private final ShardTransactions shardTx;
+  private final ObjectMapper mapper;
+  private final ObjectWriter itemWriter;
+  private final ShardRouter shards;
+
+  public FeedStreamWriter(ContentItemRepository itemRepo, ContentQueryService queryService,
+                          ContentViewCounters viewCounters, ShardTransactions shardTx, ObjectMapper mapper,
+                          ShardRouter shards) {
+    this.itemRepo = itemRepo;
+    this.queryService = queryService;
+    this.viewCounters = viewCounters;
+    this.shardTx = shardTx;
+    this.mapper = mapper;
+    this.shards = shards;
+    // We flush per page ourselves rather than after every element
+    this.itemWriter = mapper.writerFor(FeedItemResponse.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+  }
+
+  /** Checks access up front (so errors are still proper statuses), then defers the write. */
+  public StreamingResponseBody stream(String region, List<String> languages, List<String> userRegions, Audience audience) {
+    queryService.enforceRegion(region, userRegions);
+    return out -> write(region, languages, audience, out);
+  }
+
+  private void write(String region, List<String> languages, Audience audience, OutputStream out) {
+    // Runs on an async thread, so every page names the region's shard itself
+    int shard = shards.shardForRegion(region);
+    try (JsonGenerator gen = mapper.getFactory().createGenerator(out)) {
+      gen.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+      gen.writeStartArray();
+      Instant afterPublishedAt = NEWEST;
+      long afterId = Long.MAX_VALUE;
+      while (true) {
+        Instant pa = afterPublishedAt;
+        long id = afterId;
+        Page page = shardTx.read(shard, () -> loadPage(region, languages, audience, pa, id));
+        for (FeedItemResponse card : page.cards()) {
+          itemWriter.writeValue(gen, card);
+          viewCounters.recordImpression(card.id(), card.region(), card.displayLanguage());
+        }
+        gen.flush(); // blocks until the client has taken the page
+        if (page.lastId() == null) {
+          break;
+        }
+        afterPublishedAt = page.lastPublishedAt();
+        afterId = page.lastId();
+      }
+      gen.writeEndArray();
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  private Page loadPage(String region, List<String> languages, Audience audience, Instant afterPublishedAt, long afterId) {
+    List<ContentItem> items = itemRepo.findFeedPage(region, audience.visibleInternalFlags(),
+        ContentItem.Status.PUBLISHED, afterPublishedAt, afterId, PageRequest.of(0, PAGE_SIZE));
+    List<FeedItemResponse> cards = queryService.toFeedItems(items, languages);
+    if (items.size() < PAGE_SIZE) {
+      return new Page(cards, null, null);
+    }
+    ContentItem last = items.get(items.size() - 1);
+    return new Page(cards, last.getPublishedAt(), last.getId());
+  }
+
+  /** A page's cards and the key to continue after; no key on the last page. */
+  private record Page(List<FeedItemResponse> cards, Instant lastPublishedAt, Long lastId) {}
+}
@@ -0,0 +1,77 @@
+package com.roja.contentplatform.services;
+
+import com.roja.contentplatform.config.I18nProperties;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Expands a requested language (or an {@code Accept-Language} header) into the ordered list of
+ * language tags to try, e.g. {@code en-GB -> en-gb, en}. Tags are lower-cased so they can be
+ * matched directly against {@link VariantResolutionTable} keys.
+ */
+@Component
+public class LanguageFallbacks {
+
+  private final Map<String, List<String>> chains = new HashMap<>();
+
+  public LanguageFallbacks(I18nProperties props) {
+    props.fallbacks().forEach((tag, chain) ->
+        chains.put(normalize(tag), chain.stream().map(LanguageFallbacks::normalize).toList()));
+  }
+
+  /**
+   * Candidate tags in preference order. An explicit {@code lang} wins over the header;
+   * an empty result means "use the item default".
+   */
+  public List<String> preferences(String lang, String acceptLanguage) {
+    Set<String> out = new LinkedHashSet<>();
+    if (lang != null && !lang.isBlank()) {
+      expand(lang, out);
+    } else if (acceptLanguage != null && !acceptLanguage.isBlank()) {
+      List<Locale.LanguageRange> ranges;
+      try {
+        ranges = Locale.LanguageRange.parse(acceptLanguage);
+      } catch (IllegalArgumentException ex) {
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "invalid Accept-Language header");
+      }
+      // parse() already orders by descending q-value
+      for (Locale.LanguageRange range : ranges) {
+        if (range.getWeight() > 0 && !"*".equals(range.getRange())) {
+          expand(range.getRange(), out);
+        }
+      }
+    }
+    return new ArrayList<>(out);
+  }
+
+  /** Configured chain for a tag, used to precompute resolution tables. */
+  Map<String, List<String>> configuredChains() {
+    return chains;
+  }
+
+  private void expand(String tag, Set<String> out) {
+    String t = normalize(tag);
+    out.add(t);
+    List<String> configured = chains.get(t);
+    if (configured != null) {
+      out.addAll(configured);
+    }
+    // BCP-47 truncation: zh-hant-tw -> zh-hant -> zh
+    for (int dash = t.lastIndexOf('-'); dash > 0; dash = t.lastIndexOf('-', dash - 1)) {
+      out.add(t.substring(0, dash));
+    }
+  }
+
+  static String normalize(String tag) {
+    return tag.trim().replace('_', '-').toLowerCase(Locale.ROOT);
+  }
+}
@@ -0,0 +1,82 @@
+package com.roja.contentplatform.services;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight execution: concurrent calls with an equal {@link Key} share one computation.
+ *
+ * The first caller (leader) runs the work on its own thread and publishes the outcome through a
+ * future; callers arriving meanwhile (followers) wait up to {@code content.coalescing.timeout-ms}.
+ * Nothing is cached: the key is released as soon as the leader finishes, and a follower that
+ * times out or is interrupted never cancels the shared computation. Results must be immutable.
+ *
+ * Metrics: {@code content.coalescer.calls{operation,role=leader|follower}} gives the coalescing
+ * ratio, {@code content.coalescer.timeouts{operation}} counts followers that gave up.
+ */
+@Component
+public class RequestCoalescer {
+
+  /** Everything the shared result depends on; the audience keeps internal and external results apart. */
+  public record Key(String operation, Object target, List<String> languages, Audience audience) {}
+
+  private final ConcurrentHashMap<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+  private final MeterRegistry meters;
+  private final long timeoutMs;
+
+  public RequestCoalescer(MeterRegistry meters,
+                          @Value("${content.coalescing.timeout-ms:5000}") long timeoutMs) {
+    this.meters = meters;
+    this.timeoutMs = timeoutMs;
+    meters.gaugeMapSize("content.coalescer.in_flight", Tags.empty(), inFlight);
+  }
+
+  @SuppressWarnings("unchecked")
+  public <T> T execute(Key key, Supplier<T> work) {
+    CompletableFuture<Object> mine = new CompletableFuture<>();
+    CompletableFuture<Object> leader = inFlight.putIfAbsent(key, mine);
+
+    if (leader == null) {
+      meters.counter("content.coalescer.calls", "operation", key.operation(), "role", "leader").increment();
+      try {
+        T result = work.get();
+        mine.complete(result);
+        return result;
+      } catch (Throwable t) {
+        mine.completeExceptionally(t);
+        throw t;
+      } finally {
+        inFlight.remove(key, mine);
+      }
+    }
+
+    meters.counter("content.coalescer.calls", "operation", key.operation(), "role", "follower").increment();
+    try {
+      return (T) leader.get(timeoutMs, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException ex) {
+      meters.counter("content.coalescer.timeouts", "operation", key.operation()).increment();
+      throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "timed out waiting for a concurrent identical request");
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "interrupted");
+    } catch (ExecutionException ex) {
+      // Followers see the leader's failure as-is (404, 409, ...)
+      Throwable cause = ex.getCause();
+      if (cause instanceof RuntimeException re) throw re;
+      if (cause instanceof Error err) throw err;
+      throw new IllegalStateException(cause);
+    }
+  }
+}
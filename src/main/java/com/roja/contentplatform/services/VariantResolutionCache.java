@@ -0,0 +1,153 @@
+package com.roja.contentplatform.services;
+
+import com.roja.contentplatform.model.OutboxEvent;
+import com.roja.contentplatform.repository.ContentVariantRepository;
+import com.roja.contentplatform.services.changelog.ContentChange;
+import com.roja.contentplatform.services.changelog.ContentChangeListener;
+import com.roja.contentplatform.services.sharding.ShardRouter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Lazily built {@link VariantResolutionTable} per content item, rebuilt when a variant is upserted:
+ * right after the writing transaction commits on the replica that wrote it, and from the change
+ * log everywhere else.
+ *
+ * Holds at most {@code max-entries} items. Past that, the least recently used tenth is evicted in
+ * one pass. Use is stamped with a clock that only advances on inserts, so a hit costs at most one
+ * volatile write and no shared counter. Unpublished and archived items are dropped as soon as the change arrives.
+ */
+@Component
+public class VariantResolutionCache implements ContentChangeListener {
+
+  private final ConcurrentHashMap<Long, Entry> tables = new ConcurrentHashMap<>();
+  private final AtomicLong clock = new AtomicLong();
+  private final ReentrantLock evicting = new ReentrantLock();
+  private final int maxEntries;
+  private final ContentVariantRepository varRepo;
+  private final LanguageFallbacks fallbacks;
+  private final ShardRouter shards;
+
+  public VariantResolutionCache(ContentVariantRepository varRepo, LanguageFallbacks fallbacks, ShardRouter shards,
+                                @Value("${content.i18n.resolution-cache.max-entries:100000}") int maxEntries,
+                                MeterRegistry meters) {
+    this.varRepo = varRepo;
+    this.fallbacks = fallbacks;
+    this.shards = shards;
+    this.maxEntries = maxEntries;
+    meters.gauge("content.variant-resolution.entries", Tags.empty(), tables, Map::size);
+  }
+
+  VariantResolutionTable tableFor(Long itemId) {
+    Entry entry = tables.get(itemId);
+    if (entry != null) {
+      long now = clock.get();
+      if (entry.lastUsed != now) {
+        entry.lastUsed = now;
+      }
+      return entry.table;
+    }
+    VariantResolutionTable table = build(itemId);
+    // Items without variants are not cached; putIfAbsent keeps a concurrent refresh() result
+    if (!table.isEmpty()) {
+      Entry raced = tables.putIfAbsent(itemId, new Entry(table, clock.incrementAndGet()));
+      if (raced != null) {
+        return raced.table;
+      }
+      evictIfFull();
+    }
+    return table;
+  }
+
+  /**
+   * Rebuilds the item's table once the current transaction commits. Rebuilding inside it would
+   * race with readers that cache the committed (older) state after us and keep it indefinitely.
+   */
+  public void refreshAfterCommit(Long itemId) {
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        refresh(itemId);
+      }
+    });
+  }
+
+  public void refresh(Long itemId) {
+    VariantResolutionTable table = build(itemId);
+    if (table.isEmpty()) {
+      tables.remove(itemId);
+    } else {
+      tables.put(itemId, new Entry(table, clock.incrementAndGet()));
+      evictIfFull();
+    }
+  }
+
+  @Override
+  public String name() {
+    return "variant-resolution";
+  }
+
+  @Override
+  public void onChanges(List<ContentChange> changes) {
+    changes.stream()
+        .filter(c -> c.type() == OutboxEvent.Type.UNPUBLISHED || c.type() == OutboxEvent.Type.ARCHIVED)
+        .forEach(c -> tables.remove(c.contentItemId()));
+    changes.stream()
+        .filter(c -> c.type() == OutboxEvent.Type.VARIANT_UPSERTED)
+        .map(ContentChange::contentItemId)
+        .distinct()
+        .forEach(itemId -> shards.onItem(itemId, () -> {
+          refresh(itemId);
+          return null;
+        }));
+  }
+
+  @Override
+  public void resync() {
+    tables.clear(); // rebuilt lazily on next use
+  }
+
+  private VariantResolutionTable build(Long itemId) {
+    return VariantResolutionTable.build(varRepo.findLanguagesByContentItemId(itemId), fallbacks.configuredChains());
+  }
+
+  /** Drops the least recently used entries down to 90% of the limit; one thread at a time, others carry on. */
+  private void evictIfFull() {
+    if (tables.size() <= maxEntries || !evicting.tryLock()) {
+      return;
+    }
+    try {
+      long[] stamps = tables.values().stream().mapToLong(e -> e.lastUsed).toArray();
+      int excess = stamps.length - maxEntries * 9 / 10;
+      if (excess <= 0) {
+        return;
+      }
+      Arrays.sort(stamps);
+      long cutoff = stamps[excess - 1];
+      tables.entrySet().removeIf(e -> e.getValue().lastUsed <= cutoff);
+    } finally {
+      evicting.unlock();
+    }
+  }
+
+  private static final class Entry {
+    final VariantResolutionTable table;
+    volatile long lastUsed;
+
+    Entry(VariantResolutionTable table, long lastUsed) {
+      this.table = table;
+      this.lastUsed = lastUsed;
+    }
+  }
+}
@@ -0,0 +1,81 @@
+package com.roja.contentplatform.services;
+
+import com.roja.contentplatform.repository.VariantLanguage;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable per-item map from requestable language tag to variant id. Built from the item's
+ * variants plus the configured fallback chains, so resolving a request is a few hash lookups.
+ */
+final class VariantResolutionTable {
+
+  static final VariantResolutionTable EMPTY = new VariantResolutionTable(Map.of(), null, List.of());
+
+  private final Map<String, Long> byTag;
+  private final Long defaultVariantId;
+  private final List<String> availableLanguages;
+
+  private VariantResolutionTable(Map<String, Long> byTag, Long defaultVariantId, List<String> availableLanguages) {
+    this.byTag = byTag;
+    this.defaultVariantId = defaultVariantId;
+    this.availableLanguages = availableLanguages;
+  }
+
+  static VariantResolutionTable build(List<VariantLanguage> variants, Map<String, List<String>> chains) {
+    if (variants.isEmpty()) {
+      return EMPTY;
+    }
+
+    Map<String, Long> byTag = new HashMap<>();
+    for (VariantLanguage v : variants) {
+      byTag.put(LanguageFallbacks.normalize(v.languageCode()), v.id());
+    }
+    // Precompute configured chains that land on an existing variant
+    chains.forEach((tag, chain) -> {
+      if (byTag.containsKey(tag)) return;
+      for (String fallback : chain) {
+        Long id = byTag.get(fallback);
+        if (id != null) {
+          byTag.put(tag, id);
+          return;
+        }
+      }
+    });
+
+    // Default variant, else the lowest language code (previous behaviour)
+    VariantLanguage def = variants.stream()
+        .filter(v -> Boolean.TRUE.equals(v.defaultLang()))
+        .findFirst()
+        .orElseGet(() -> variants.stream().min(Comparator.comparing(VariantLanguage::languageCode)).orElseThrow());
+
+    List<String> available = variants.stream()
+        .map(VariantLanguage::languageCode)
+        .distinct().sorted()
+        .toList();
+
+    return new VariantResolutionTable(Map.copyOf(byTag), def.id(), available);
+  }
+
+  boolean isEmpty() {
+    return defaultVariantId == null;
+  }
+
+  /** First preference with a variant, else the default; {@code null} if the item has no variants. */
+  Long resolve(List<String> preferences) {
+    for (String tag : preferences) {
+      Long id = byTag.get(tag);
+      if (id != null) {
+        return id;
+      }
+    }
+    return defaultVariantId;
+  }
+
+  List<String> availableLanguages() {
+    return availableLanguages;
+  }
+}
@@ -0,0 +1,204 @@
+package com.roja.contentplatform.services.analytics;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory view/impression counters keyed by (itemId, lang).
+ *
+ * Items live in a striped open-addressing table keyed by the primitive id, so the hot path is a
+ * lock-free probe, a lookup in the item's small per-language map and a striped {@link LongAdder}
+ * increment; once an (item, lang) pair has been seen nothing is allocated. Only inserting a new
+ * item takes its stripe's lock. {@link ContentViewFlusher} drains the counters periodically, and
+ * items that stay idle for {@value #IDLE_DRAINS_BEFORE_PRUNE} drains are pruned so the table only
+ * holds items that are actually being read.
+ */
+@Component
+public class ContentViewCounters {
+
+  private static final int STRIPE_BITS = 5;
+  private static final int IDLE_DRAINS_BEFORE_PRUNE = 12; // one minute at the default flush interval
+
+  private final Stripe[] stripes = new Stripe[1 << STRIPE_BITS];
+
+  public ContentViewCounters() {
+    for (int i = 0; i < stripes.length; i++) {
+      stripes[i] = new Stripe();
+    }
+  }
+
+  public void recordView(long itemId, String region, String lang) {
+    add(itemId, region, lang, 1, 0);
+  }
+
+  public void recordImpression(long itemId, String region, String lang) {
+    add(itemId, region, lang, 0, 1);
+  }
+
+  private void add(long itemId, String region, String lang, long views, long impressions) {
+    int hash = hash(itemId);
+    Stripe stripe = stripes[hash >>> (32 - STRIPE_BITS)];
+    ItemCounters item = stripe.find(itemId, hash);
+    if (item == null) {
+      item = stripe.insert(itemId, hash, region);
+    }
+    LangCounters c = item.byLang.get(lang);
+    if (c == null) {
+      c = item.byLang.computeIfAbsent(lang, l -> new LangCounters());
+    }
+    if (views != 0) c.views.add(views);
+    if (impressions != 0) c.impressions.add(impressions);
+    if (item.retired) {
+      // Pruned while we counted: whatever the pruner did not take moves to a live entry
+      item.byLang.forEach((l, left) -> {
+        long v = left.views.sumThenReset();
+        long i = left.impressions.sumThenReset();
+        if (v != 0 || i != 0) {
+          add(itemId, region, l, v, i);
+        }
+      });
+    }
+  }
+
+  /** Resets every counter and hands the non-zero deltas to {@code sink}. Single caller at a time. */
+  void drain(DeltaSink sink) {
+    for (Stripe stripe : stripes) {
+      List<ItemCounters> idle = new ArrayList<>();
+      for (ItemCounters item : stripe.table) {
+        if (item != null && !drain(item, sink) && ++item.idleDrains >= IDLE_DRAINS_BEFORE_PRUNE) {
+          idle.add(item);
+        }
+      }
+      if (!idle.isEmpty()) {
+        stripe.remove(idle);
+        // Anything counted between the drain above and retiring
+        idle.forEach(item -> drain(item, sink));
+      }
+    }
+  }
+
+  /** Returns whether the item had anything to drain. */
+  private static boolean drain(ItemCounters item, DeltaSink sink) {
+    boolean active = false;
+    for (var e : item.byLang.entrySet()) {
+      LangCounters c = e.getValue();
+      long views = c.views.sumThenReset();
+      long impressions = c.impressions.sumThenReset();
+      if (views != 0 || impressions != 0) {
+        sink.accept(item.itemId, item.region, e.getKey(), views, impressions);
+        active = true;
+      }
+    }
+    if (active) {
+      item.idleDrains = 0;
+    }
+    return active;
+  }
+
+  /** Puts deltas back after a failed flush so they are retried on the next cycle. */
+  void restore(long itemId, String region, String lang, long views, long impressions) {
+    add(itemId, region, lang, views, impressions);
+  }
+
+  private static int hash(long itemId) {
+    long h = itemId * 0x9E3779B97F4A7C15L;
+    return (int) (h ^ (h >>> 32));
+  }
+
+  @FunctionalInterface
+  interface DeltaSink {
+    void accept(long itemId, String region, String lang, long views, long impressions);
+  }
+
+  /**
+   * Linear-probing table kept at most half full, so every probe ends at an empty slot. Readers
+   * probe without locking; a reader that races an insert or a prune and misses retries under the
+   * lock. Prunes publish a rebuilt array rather than shifting entries in place.
+   */
+  private static final class Stripe {
+    volatile ItemCounters[] table = new ItemCounters[16];
+    int size; // guarded by this
+
+    ItemCounters find(long itemId, int hash) {
+      ItemCounters[] t = table;
+      int mask = t.length - 1;
+      for (int i = hash & mask; ; i = (i + 1) & mask) {
+        ItemCounters e = t[i];
+        if (e == null || e.itemId == itemId) {
+          return e;
+        }
+      }
+    }
+
+    synchronized ItemCounters insert(long itemId, int hash, String region) {
+      ItemCounters existing = find(itemId, hash);
+      if (existing != null) {
+        return existing;
+      }
+      if ((size + 1) * 2 > table.length) {
+        table = rebuild(table, table.length * 2, Set.of());
+      }
+      ItemCounters item = new ItemCounters(itemId, region);
+      place(table, item);
+      size++;
+      return item;
+    }
+
+    synchronized void remove(List<ItemCounters> items) {
+      Set<ItemCounters> gone = Collections.newSetFromMap(new IdentityHashMap<>());
+      gone.addAll(items);
+      size -= items.size();
+      int capacity = table.length;
+      while (capacity > 16 && size * 8 < capacity) {
+        capacity /= 2;
+      }
+      table = rebuild(table, capacity, gone);
+      // Only after the new table is visible, so a writer that sees the flag finds a live entry
+      items.forEach(item -> item.retired = true);
+    }
+
+    private static ItemCounters[] rebuild(ItemCounters[] old, int capacity, Set<ItemCounters> gone) {
+      ItemCounters[] t = new ItemCounters[capacity];
+      for (ItemCounters e : old) {
+        if (e != null && !gone.contains(e)) {
+          place(t, e);
+        }
+      }
+      return t;
+    }
+
+    private static void place(ItemCounters[] t, ItemCounters item) {
+      int mask = t.length - 1;
+      int i = hash(item.itemId) & mask;
+      while (t[i] != null) {
+        i = (i + 1) & mask;
+      }
+      t[i] = item;
+    }
+  }
+
+  private static final class ItemCounters {
+    final long itemId;
+    final String region;
+    final ConcurrentHashMap<String, LangCounters> byLang = new ConcurrentHashMap<>(4);
+    volatile boolean retired;
+    int idleDrains; // drain thread only
+
+    ItemCounters(long itemId, String region) {
+      this.itemId = itemId;
+      this.region = region;
+    }
+  }
+
+  private static final class LangCounters {
+    final LongAdder views = new LongAdder();
+    final LongAdder impressions = new LongAdder();
+  }
+}
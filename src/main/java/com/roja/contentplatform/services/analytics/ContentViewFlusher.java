@@ -0,0 +1,99 @@
+package com.roja.contentplatform.services.analytics;
+
+import com.roja.contentplatform.model.ContentViewRollup;
+import com.roja.contentplatform.services.sharding.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Periodically drains {@link ContentViewCounters} into {@code content_view_rollup} as one
+ * batched upsert, writing each delta into both its hourly and its daily bucket. Rollups are kept
+ * on the item's shard, one batch per shard. Each batch is one transaction, so a failed batch
+ * leaves nothing behind and its deltas can be restored without counting any of them twice.
+ */
+@Component
+public class ContentViewFlusher {
+
+  private static final Logger log = LoggerFactory.getLogger(ContentViewFlusher.class);
+
+  private static final String UPSERT_SQL = """
+      INSERT INTO content_view_rollup
+        (content_item_id, language_code, region, granularity, bucket_start, views, impressions)
+      VALUES (?, ?, ?, ?, ?, ?, ?)
+      ON CONFLICT (content_item_id, language_code, granularity, bucket_start) DO UPDATE
+        SET views = content_view_rollup.views + EXCLUDED.views,
+            impressions = content_view_rollup.impressions + EXCLUDED.impressions
+      """;
+
+  private final ContentViewCounters counters;
+  private final JdbcTemplate jdbc;
+  private final ShardRouter shards;
+  private final TransactionTemplate tx;
+
+  public ContentViewFlusher(ContentViewCounters counters, JdbcTemplate jdbc, ShardRouter shards,
+                            PlatformTransactionManager txManager) {
+    this.counters = counters;
+    this.jdbc = jdbc;
+    this.shards = shards;
+    this.tx = new TransactionTemplate(txManager);
+  }
+
+  @Scheduled(fixedDelayString = "${content.analytics.flush-interval-ms:5000}")
+  public void flush() {
+    Map<Integer, List<Delta>> byShard = new TreeMap<>();
+    counters.drain((itemId, region, lang, views, impressions) ->
+        byShard.computeIfAbsent(shards.shardForItem(itemId), s -> new ArrayList<>())
+            .add(new Delta(itemId, region, lang, views, impressions)));
+
+    Instant now = Instant.now();
+    byShard.forEach((shard, deltas) -> shards.onShard(shard, () -> {
+      write(deltas, now);
+      return null;
+    }));
+  }
+
+  private void write(List<Delta> deltas, Instant now) {
+    Timestamp hour = Timestamp.from(now.truncatedTo(ChronoUnit.HOURS));
+    Timestamp day = Timestamp.from(now.truncatedTo(ChronoUnit.DAYS));
+
+    List<Object[]> rows = new ArrayList<>(deltas.size() * 2);
+    for (Delta d : deltas) {
+      rows.add(d.row(ContentViewRollup.Granularity.HOUR, hour));
+      rows.add(d.row(ContentViewRollup.Granularity.DAY, day));
+    }
+
+    try {
+      tx.executeWithoutResult(status -> jdbc.batchUpdate(UPSERT_SQL, rows));
+    } catch (RuntimeException ex) {
+      log.warn("view rollup flush failed, retrying {} deltas next cycle", deltas.size(), ex);
+      for (Delta d : deltas) {
+        counters.restore(d.itemId(), d.region(), d.lang(), d.views(), d.impressions());
+      }
+    }
+  }
+
+  @PreDestroy
+  public void flushOnShutdown() {
+    flush();
+  }
+
+  private record Delta(long itemId, String region, String lang, long views, long impressions) {
+    Object[] row(ContentViewRollup.Granularity granularity, Timestamp bucketStart) {
+      return new Object[] { itemId, lang, region, granularity.name(), bucketStart, views, impressions };
+    }
+  }
+}
@@ -0,0 +1,285 @@
+package com.roja.contentplatform.services.bodystore;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only, memory-mapped record files plus an in-memory index from variant id to the newest
+ * record. Readers get read-only slices of the mapping, so serving a body allocates nothing on
+ * the heap beyond the slice object. Pure Java; {@link PublishedBodyStore} wires it into Spring.
+ *
+ * Record layout (big-endian): {@code magic:int, length:int, itemId:long, variantId:long,
+ * updatedAtMicros:long, crc32c:int, payload[length]}. The magic is written last, so a record is
+ * either complete or starts with zeros; the CRC covers everything after the magic except itself.
+ * A zero-length record is a tombstone. Segments are preallocated (sparse) and mapped whole.
+ *
+ * Segments are never rewritten in place. Superseded and removed records only lower their segment's
+ * live byte count; {@link #compact} copies the live records of mostly-dead segments forward and
+ * deletes the files. Slices handed out earlier stay valid, because a mapping outlives its file.
+ * Dropping a segment can drop a tombstone and let an older record reappear after a restart; that
+ * costs space only, since lookups must match {@code updatedAt} and a version's bytes never change.
+ */
+final class BodySegments implements Closeable {
+
+  static final int HEADER = 36;
+  private static final int MAGIC = 0x426f4459; // "BoDY"
+
+  record Entry(Segment segment, int position, int length, long itemId, long updatedAtMicros) {
+    int recordBytes() { return HEADER + length; }
+  }
+
+  /** Outcome of {@link #recover()}. */
+  record Recovery(int records, boolean corrupt) {}
+
+  static final class Segment {
+    final long id;
+    final Path file;
+    final MappedByteBuffer buffer;
+    final int capacity;
+    final AtomicLong liveBytes = new AtomicLong();
+    int writePosition;
+
+    Segment(long id, Path file, MappedByteBuffer buffer) {
+      this.id = id;
+      this.file = file;
+      this.buffer = buffer;
+      this.capacity = buffer.capacity();
+    }
+  }
+
+  private final Path dir;
+  private final int segmentBytes;
+  private final TreeMap<Long, Segment> segments = new TreeMap<>();
+  private final ConcurrentHashMap<Long, Entry> index = new ConcurrentHashMap<>();
+  private final Map<Long, Set<Long>> variantsByItem = new HashMap<>(); // guarded by this
+  private Segment active;
+
+  BodySegments(Path dir, int segmentBytes) throws IOException {
+    this.dir = Files.createDirectories(dir);
+    this.segmentBytes = segmentBytes;
+  }
+
+  /** Maps existing segments and rebuilds the index; stops a segment at its first bad record. */
+  synchronized Recovery recover() throws IOException {
+    List<Path> files;
+    try (Stream<Path> s = Files.list(dir)) {
+      files = s.filter(p -> p.getFileName().toString().endsWith(".seg")).sorted().toList();
+    }
+    int records = 0;
+    boolean corrupt = false;
+    for (Path file : files) {
+      long id = Long.parseLong(file.getFileName().toString().replace(".seg", ""));
+      Segment seg = map(id, file);
+      segments.put(id, seg);
+      int pos = 0;
+      while (pos + HEADER <= seg.capacity) {
+        int magic = seg.buffer.getInt(pos);
+        if (magic == 0) break; // clean end
+        int length = seg.buffer.getInt(pos + 4);
+        if (magic != MAGIC || length < 0 || pos + HEADER + length > seg.capacity
+            || seg.buffer.getInt(pos + 32) != crc(seg.buffer, pos, length)) {
+          corrupt = true;
+          break;
+        }
+        long itemId = seg.buffer.getLong(pos + 8);
+        long variantId = seg.buffer.getLong(pos + 16);
+        long updatedAt = seg.buffer.getLong(pos + 24);
+        if (length == 0) {
+          removeFromIndex(variantId);
+        } else {
+          install(variantId, new Entry(seg, pos, length, itemId, updatedAt));
+        }
+        pos += HEADER + length;
+        records++;
+      }
+      seg.writePosition = pos;
+    }
+    active = segments.isEmpty() ? null : segments.lastEntry().getValue();
+    if (corrupt && active != null) {
+      active = null; // never append behind a damaged record
+    }
+    return new Recovery(records, corrupt);
+  }
+
+  /**
+   * Newest body of {@code variantId} if it is the version stamped {@code updatedAtMicros}, else
+   * {@code null}. A record failing its checksum is dropped and reported through {@code onCorrupt}.
+   */
+  ByteBuffer find(long variantId, long updatedAtMicros, Runnable onCorrupt) {
+    Entry e = index.get(variantId);
+    if (e == null || e.updatedAtMicros() != updatedAtMicros) {
+      return null;
+    }
+    ByteBuffer buf = e.segment().buffer;
+    if (buf.getInt(e.position() + 32) != crc(buf, e.position(), e.length())) {
+      synchronized (this) {
+        if (index.get(variantId) == e) removeFromIndex(variantId);
+      }
+      onCorrupt.run();
+      return null;
+    }
+    return buf.slice(e.position() + HEADER, e.length()).asReadOnlyBuffer();
+  }
+
+  boolean contains(long variantId) {
+    return index.containsKey(variantId);
+  }
+
+  boolean isCurrent(long variantId, long updatedAtMicros) {
+    Entry e = index.get(variantId);
+    return e != null && e.updatedAtMicros() == updatedAtMicros;
+  }
+
+  /** Appends a body; returns false if it can never fit in a segment. */
+  synchronized boolean put(long itemId, long variantId, long updatedAtMicros, byte[] payload) throws IOException {
+    if (payload.length == 0 || HEADER + payload.length > segmentBytes) {
+      return false;
+    }
+    install(variantId, append(itemId, variantId, updatedAtMicros, ByteBuffer.wrap(payload)));
+    return true;
+  }
+
+  /** Drops every body of {@code itemId}, durably (tombstones survive a restart). */
+  synchronized void removeItem(long itemId) throws IOException {
+    Set<Long> variants = variantsByItem.get(itemId);
+    if (variants == null) {
+      return;
+    }
+    for (Long variantId : List.copyOf(variants)) {
+      append(itemId, variantId, 0, ByteBuffer.allocate(0));
+      removeFromIndex(variantId);
+    }
+  }
+
+  /** Removes every indexed variant not in {@code keep} (after a rebuild). */
+  synchronized void retainOnly(Set<Long> keep) throws IOException {
+    for (Map.Entry<Long, Entry> e : List.copyOf(index.entrySet())) {
+      if (!keep.contains(e.getKey())) {
+        append(e.getValue().itemId(), e.getKey(), 0, ByteBuffer.allocate(0));
+        removeFromIndex(e.getKey());
+      }
+    }
+  }
+
+  /**
+   * Copies the live records of sealed segments whose live share is below {@code minLiveRatio}
+   * to the head and deletes those segments. Returns the number of segments deleted.
+   */
+  synchronized int compact(double minLiveRatio) throws IOException {
+    List<Segment> victims = new ArrayList<>();
+    for (Segment seg : segments.values()) {
+      if (seg != active && seg.liveBytes.get() < (long) (minLiveRatio * Math.max(1, seg.writePosition))) {
+        victims.add(seg);
+      }
+    }
+    for (Segment seg : victims) {
+      for (Map.Entry<Long, Entry> e : List.copyOf(index.entrySet())) {
+        Entry old = e.getValue();
+        if (old.segment() != seg) continue;
+        ByteBuffer payload = seg.buffer.slice(old.position() + HEADER, old.length());
+        install(e.getKey(), append(old.itemId(), e.getKey(), old.updatedAtMicros(), payload));
+      }
+      segments.remove(seg.id);
+      Files.deleteIfExists(seg.file);
+    }
+    return victims.size();
+  }
+
+  int size() {
+    return index.size();
+  }
+
+  synchronized long mappedBytes() {
+    return segments.values().stream().mapToLong(s -> s.capacity).sum();
+  }
+
+  synchronized long liveBytes() {
+    return segments.values().stream().mapToLong(s -> s.liveBytes.get()).sum();
+  }
+
+  @Override
+  public synchronized void close() {
+    for (Segment seg : segments.values()) {
+      seg.buffer.force();
+    }
+  }
+
+  private Entry append(long itemId, long variantId, long updatedAtMicros, ByteBuffer payload) throws IOException {
+    int length = payload.remaining();
+    if (active == null || active.writePosition + HEADER + length > active.capacity) {
+      long id = segments.isEmpty() ? 1 : segments.lastKey() + 1;
+      active = map(id, dir.resolve(String.format("%016d.seg", id)));
+      segments.put(id, active);
+    }
+    MappedByteBuffer buf = active.buffer;
+    int pos = active.writePosition;
+    buf.put(pos + HEADER, payload, payload.position(), length);
+    buf.putInt(pos + 4, length);
+    buf.putLong(pos + 8, itemId);
+    buf.putLong(pos + 16, variantId);
+    buf.putLong(pos + 24, updatedAtMicros);
+    buf.putInt(pos + 32, crc(buf, pos, length));
+    buf.putInt(pos, MAGIC); // last: publishes the record to recovery
+    active.writePosition = pos + HEADER + length;
+    return new Entry(active, pos, length, itemId, updatedAtMicros);
+  }
+
+  private void install(long variantId, Entry entry) {
+    entry.segment().liveBytes.addAndGet(entry.recordBytes());
+    Entry previous = index.put(variantId, entry);
+    if (previous != null) {
+      previous.segment().liveBytes.addAndGet(-previous.recordBytes());
+      if (previous.itemId() != entry.itemId()) forgetVariant(previous.itemId(), variantId);
+    }
+    variantsByItem.computeIfAbsent(entry.itemId(), k -> new HashSet<>()).add(variantId);
+  }
+
+  private void removeFromIndex(long variantId) {
+    Entry previous = index.remove(variantId);
+    if (previous != null) {
+      previous.segment().liveBytes.addAndGet(-previous.recordBytes());
+      forgetVariant(previous.itemId(), variantId);
+    }
+  }
+
+  private void forgetVariant(long itemId, long variantId) {
+    Set<Long> variants = variantsByItem.get(itemId);
+    if (variants != null && variants.remove(variantId) && variants.isEmpty()) {
+      variantsByItem.remove(itemId);
+    }
+  }
+
+  private Segment map(long id, Path file) throws IOException {
+    try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+      if (raf.length() == 0) {
+        raf.setLength(segmentBytes); // sparse: untouched pages cost no disk
+      }
+      // Existing files keep their size even if segment-bytes changed since
+      return new Segment(id, file, raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, raf.length()));
+    }
+  }
+
+  private static int crc(ByteBuffer buf, int pos, int length) {
+    CRC32C crc = new CRC32C();
+    crc.update(buf.slice(pos + 4, 28));
+    crc.update(buf.slice(pos + HEADER, length));
+    return (int) crc.getValue();
+  }
+}
@@ -0,0 +1,229 @@
+package com.roja.contentplatform.services.bodystore;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.roja.contentplatform.model.ContentItem;
+import com.roja.contentplatform.services.changelog.ContentChange;
+import com.roja.contentplatform.services.changelog.ContentChangeListener;
+import com.roja.contentplatform.services.sharding.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Read-side copy of published variant bodies in memory-mapped segment files (see
+ * {@link BodySegments}), so content views can be written without materialising the body as a
+ * heap {@code String}.
+ *
+ * Bodies are stored once per (variant, updatedAt) as the UTF-8 bytes of a JSON string literal,
+ * ready to be spliced into a response. As a change log consumer it re-reads an item after every
+ * change: published items get new versions appended, anything else is removed. The store is only
+ * a cache of Postgres: it is rebuilt from the database at startup when empty or damaged and
+ * whenever a checksum fails on read; until then lookups miss and callers read the database.
+ */
+@Component
+public class PublishedBodyStore implements ContentChangeListener {
+
+  private static final Logger log = LoggerFactory.getLogger(PublishedBodyStore.class);
+
+  private static final String PUBLISHED_VARIANTS_SQL = """
+      SELECT v.content_item_id, v.id, v.updated_at, v.body_html
+      FROM content_variant v JOIN content_item i ON i.id = v.content_item_id
+      WHERE i.status = 'PUBLISHED'
+      """;
+
+  private final BodySegments segments;
+  private final JdbcTemplate jdbc;
+  private final JdbcTemplate scan;
+  private final TransactionTemplate readOnlyTx;
+  private final ShardRouter shards;
+  private final double compactBelowLiveRatio;
+  private final Counter hits;
+  private final Counter misses;
+  private final AtomicBoolean rebuilding = new AtomicBoolean();
+  private volatile boolean rebuildNeeded;
+  private volatile Set<Long> rebuildSeen;
+
+  public PublishedBodyStore(@Value("${content.bodystore.dir:./data/bodies}") String dir,
+                            @Value("${content.bodystore.segment-bytes:67108864}") int segmentBytes,
+                            @Value("${content.bodystore.compact-below-live-ratio:0.5}") double compactBelowLiveRatio,
+                            JdbcTemplate jdbc, PlatformTransactionManager txManager, ShardRouter shards,
+                            MeterRegistry meters) throws IOException {
+    this.segments = new BodySegments(Path.of(dir).toAbsolutePath().normalize(), segmentBytes);
+    this.jdbc = jdbc;
+    this.scan = new JdbcTemplate(jdbc.getDataSource());
+    this.scan.setFetchSize(64); // cursor: bodies can be large
+    this.readOnlyTx = new TransactionTemplate(txManager);
+    this.readOnlyTx.setReadOnly(true);
+    this.shards = shards;
+    this.compactBelowLiveRatio = compactBelowLiveRatio;
+    this.hits = meters.counter("content.bodystore.lookups", "result", "hit");
+    this.misses = meters.counter("content.bodystore.lookups", "result", "miss");
+    meters.gauge("content.bodystore.entries", Tags.empty(), segments, BodySegments::size);
+    meters.gauge("content.bodystore.mapped.bytes", Tags.empty(), segments, BodySegments::mappedBytes);
+    meters.gauge("content.bodystore.live.bytes", Tags.empty(), segments, BodySegments::liveBytes);
+
+    BodySegments.Recovery recovery = segments.recover();
+    this.rebuildNeeded = recovery.corrupt() || recovery.records() == 0;
+    if (recovery.corrupt()) {
+      log.warn("body store damaged after {} records; rebuilding from the database", recovery.records());
+    }
+  }
+
+  /** Storage key for a variant version; Postgres keeps microseconds. */
+  public static long version(Instant updatedAt) {
+    return ChronoUnit.MICROS.between(Instant.EPOCH, updatedAt);
+  }
+
+  public boolean contains(long variantId) {
+    return segments.contains(variantId);
+  }
+
+  /**
+   * The body of {@code variantId} as a JSON string literal (quotes included, UTF-8), read-only and
+   * backed by the mapping; {@code null} unless the stored version is exactly {@code updatedAt}.
+   */
+  public ByteBuffer findJson(long variantId, Instant updatedAt) {
+    ByteBuffer body = segments.find(variantId, version(updatedAt), this::requestRebuild);
+    (body == null ? misses : hits).increment();
+    return body;
+  }
+
+  @Override
+  public String name() {
+    return "published-body-store";
+  }
+
+  @Override
+  public void onChanges(List<ContentChange> changes) {
+    changes.stream().map(ContentChange::contentItemId).distinct().forEach(this::refreshItem);
+  }
+
+  @Override
+  public void resync() {
+    requestRebuild();
+  }
+
+  private void refreshItem(long itemId) {
+    shards.onItem(itemId, () -> {
+      String status = jdbc.query("SELECT status FROM content_item WHERE id = ?",
+          rs -> rs.next() ? rs.getString(1) : null, itemId);
+      try {
+        if (!ContentItem.Status.PUBLISHED.name().equals(status)) {
+          segments.removeItem(itemId);
+          return null;
+        }
+      } catch (IOException ex) {
+        throw new UncheckedIOException(ex);
+      }
+      jdbc.query("SELECT content_item_id, id, updated_at, body_html FROM content_variant WHERE content_item_id = ?",
+          (RowCallbackHandler) this::store, itemId);
+      return null;
+    });
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuildIfNeeded() {
+    if (rebuildNeeded) {
+      requestRebuild();
+    }
+  }
+
+  private void requestRebuild() {
+    rebuildNeeded = true;
+    if (!rebuilding.compareAndSet(false, true)) {
+      return;
+    }
+    Thread t = new Thread(() -> {
+      try {
+        rebuild();
+      } catch (RuntimeException | IOException ex) {
+        log.warn("body store rebuild failed; lookups fall back to the database", ex);
+      } finally {
+        rebuildSeen = null;
+        rebuilding.set(false);
+      }
+    }, "body-store-rebuild");
+    t.setDaemon(true);
+    t.start();
+  }
+
+  /** Appends every published body not already current, then drops whatever was not seen. */
+  private void rebuild() throws IOException {
+    long started = System.nanoTime();
+    rebuildNeeded = false;
+    Set<Long> seen = ConcurrentHashMap.newKeySet();
+    rebuildSeen = seen;
+    shards.forEachShard(shard -> readOnlyTx.execute(status -> {
+      scan.query(PUBLISHED_VARIANTS_SQL, (RowCallbackHandler) this::store);
+      return null;
+    }));
+    segments.retainOnly(seen);
+    log.info("body store rebuilt: {} bodies in {} ms", segments.size(),
+        (System.nanoTime() - started) / 1_000_000);
+  }
+
+  private void store(ResultSet rs) throws SQLException {
+    long itemId = rs.getLong(1);
+    long variantId = rs.getLong(2);
+    long version = version(rs.getTimestamp(3).toInstant());
+    Set<Long> seen = rebuildSeen;
+    if (seen != null) seen.add(variantId);
+    if (segments.isCurrent(variantId, version)) {
+      return;
+    }
+    byte[] escaped = JsonStringEncoder.getInstance().quoteAsUTF8(rs.getString(4));
+    byte[] literal = new byte[escaped.length + 2];
+    literal[0] = '"';
+    System.arraycopy(escaped, 0, literal, 1, escaped.length);
+    literal[literal.length - 1] = '"';
+    try {
+      if (!segments.put(itemId, variantId, version, literal)) {
+        log.debug("body of variant {} exceeds a segment; served from the database", variantId);
+      }
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${content.bodystore.compact-interval-ms:60000}")
+  public void compact() {
+    try {
+      int removed = segments.compact(compactBelowLiveRatio);
+      if (removed > 0) {
+        log.info("body store compaction removed {} segments", removed);
+      }
+    } catch (IOException ex) {
+      log.warn("body store compaction failed", ex);
+    }
+  }
+
+  @PreDestroy
+  public void close() {
+    segments.close();
+  }
+}
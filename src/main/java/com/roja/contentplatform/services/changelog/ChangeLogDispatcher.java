@@ -0,0 +1,71 @@
+package com.roja.contentplatform.services.changelog;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Feeds every {@link ContentChangeListener} bean from its own checkpoint. Consumers only read the
+ * local log, so adding one costs no extra database polling; a new consumer starts from the
+ * oldest retained change and catches up. Retention keeps what the slowest consumer still needs;
+ * a consumer whose position was deleted anyway is resynced rather than silently skipped ahead.
+ */
+@Component
+public class ChangeLogDispatcher {
+
+  private static final Logger log = LoggerFactory.getLogger(ChangeLogDispatcher.class);
+
+  private final ContentChangeLog changeLog;
+  private final ObjectProvider<ContentChangeListener> listeners;
+  private final int batchSize;
+
+  public ChangeLogDispatcher(ContentChangeLog changeLog, ObjectProvider<ContentChangeListener> listeners,
+                             @Value("${content.changelog.consumer-batch-size:500}") int batchSize) {
+    this.changeLog = changeLog;
+    this.listeners = listeners;
+    this.batchSize = batchSize;
+  }
+
+  @Scheduled(fixedDelayString = "${content.changelog.dispatch-interval-ms:200}")
+  public void dispatch() {
+    long slowest = changeLog.nextOffset();
+    for (ContentChangeListener listener : listeners.orderedStream().toList()) {
+      try {
+        long from = changeLog.checkpoint(listener.name());
+        long oldest = changeLog.oldestOffset();
+        if (from < oldest) {
+          log.warn("change consumer {} is at offset {} but the log starts at {}; resyncing it from the database",
+              listener.name(), from, oldest);
+          listener.resync();
+          from = oldest;
+          changeLog.commit(listener.name(), from);
+        }
+        while (from < changeLog.nextOffset()) {
+          List<ContentChange> batch = changeLog.read(from, batchSize);
+          if (batch.isEmpty()) break;
+          listener.onChanges(batch);
+          from = batch.get(batch.size() - 1).offset() + 1;
+          changeLog.commit(listener.name(), from);
+        }
+      } catch (Exception ex) {
+        log.warn("change consumer {} failed; batch will be redelivered", listener.name(), ex);
+      }
+      try {
+        slowest = Math.min(slowest, changeLog.checkpoint(listener.name()));
+      } catch (IOException ex) {
+        slowest = Long.MIN_VALUE; // unknown position: keep everything this round
+      }
+    }
+    try {
+      changeLog.trim(slowest);
+    } catch (IOException ex) {
+      log.warn("change log retention failed", ex);
+    }
+  }
+}
@@ -0,0 +1,23 @@
+package com.roja.contentplatform.services.changelog;
+
+import com.roja.contentplatform.model.OutboxEvent;
+
+import java.time.Instant;
+
+/**
+ * One entry of the content change log as seen by consumers.
+ *
+ * @param offset  position in the local log, strictly increasing
+ * @param eventId id of the originating outbox row; a redelivered event keeps its id, so
+ *                consumers that must be idempotent can dedupe on it
+ */
+public record ContentChange(
+    long offset,
+    long eventId,
+    OutboxEvent.Type type,
+    long contentItemId,
+    String region,
+    String languageCode,
+    String actor,
+    Instant occurredAt
+) {}
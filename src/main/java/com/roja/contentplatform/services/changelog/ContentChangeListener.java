@@ -0,0 +1,21 @@
+package com.roja.contentplatform.services.changelog;
+
+import java.util.List;
+
+/**
+ * A change log consumer. Batches arrive in offset order; the consumer's checkpoint advances only
+ * after {@link #onChanges} returns, so a failure means the same batch is delivered again.
+ */
+public interface ContentChangeListener {
+
+  /** Stable name used for the checkpoint file. */
+  String name();
+
+  void onChanges(List<ContentChange> changes);
+
+  /**
+   * Called instead of {@link #onChanges} when changes this consumer has not seen are no longer in
+   * the log; it must bring its state in line with the database on its own.
+   */
+  void resync();
+}
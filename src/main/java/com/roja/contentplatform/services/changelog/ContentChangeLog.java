@@ -0,0 +1,106 @@
+package com.roja.contentplatform.services.changelog;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Local, replayable log of {@link ContentChange}s fed by {@link OutboxRelay}, plus per-consumer
+ * checkpoints stored next to it ({@code checkpoints/<name>.offset}). Each replica has its own log;
+ * {@code replica.id} names it to the outbox readers table.
+ */
+@Component
+public class ContentChangeLog {
+
+  private final SegmentedLog log;
+  private final Path checkpoints;
+  private final ObjectMapper mapper;
+  private final String replicaId;
+
+  public ContentChangeLog(@Value("${content.changelog.dir:./data/changelog}") String dir,
+                          @Value("${content.changelog.segment-bytes:67108864}") long segmentBytes,
+                          @Value("${content.changelog.max-segments:32}") int maxSegments,
+                          ObjectMapper mapper) throws IOException {
+    Path root = Path.of(dir).toAbsolutePath().normalize();
+    this.log = new SegmentedLog(root.resolve("segments"), segmentBytes, maxSegments);
+    this.checkpoints = Files.createDirectories(root.resolve("checkpoints"));
+    this.mapper = mapper;
+    Path idFile = root.resolve("replica.id");
+    if (!Files.exists(idFile)) {
+      Files.writeString(idFile, UUID.randomUUID().toString());
+    }
+    this.replicaId = Files.readString(idFile).trim();
+  }
+
+  /** Stable for as long as this log directory exists. */
+  public String replicaId() {
+    return replicaId;
+  }
+
+  /** Appends (offsets in the given changes are ignored and assigned here). */
+  void append(List<ContentChange> changes) throws IOException {
+    List<byte[]> payloads = new ArrayList<>(changes.size());
+    for (ContentChange c : changes) {
+      payloads.add(mapper.writeValueAsBytes(c));
+    }
+    log.append(payloads);
+  }
+
+  public List<ContentChange> read(long fromOffset, int max) throws IOException {
+    List<ContentChange> out = new ArrayList<>();
+    for (SegmentedLog.Entry e : log.read(fromOffset, max)) {
+      ContentChange c = mapper.readValue(e.payload(), ContentChange.class);
+      out.add(new ContentChange(e.offset(), c.eventId(), c.type(), c.contentItemId(), c.region(),
+          c.languageCode(), c.actor(), c.occurredAt()));
+    }
+    return out;
+  }
+
+  public long nextOffset() {
+    return log.nextOffset();
+  }
+
+  /** Oldest offset still readable; changes below it are gone. */
+  public long oldestOffset() {
+    return log.oldestOffset();
+  }
+
+  /**
+   * Records that changes were lost before reaching this log: every consumer, caught up or not,
+   * is resynced by the dispatcher.
+   */
+  void markGap() throws IOException {
+    log.skipGap();
+  }
+
+  /** Lets retention delete segments that every consumer has read past. */
+  void trim(long consumedBefore) throws IOException {
+    log.trim(consumedBefore);
+  }
+
+  public long checkpoint(String consumer) throws IOException {
+    Path file = checkpoints.resolve(consumer + ".offset");
+    return Files.exists(file) ? Long.parseLong(Files.readString(file).trim()) : 0L;
+  }
+
+  public void commit(String consumer, long nextOffset) throws IOException {
+    Path file = checkpoints.resolve(consumer + ".offset");
+    Path tmp = checkpoints.resolve(consumer + ".offset.tmp");
+    Files.writeString(tmp, Long.toString(nextOffset));
+    Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  @PreDestroy
+  public void close() throws IOException {
+    log.close();
+  }
+}
@@ -0,0 +1,39 @@
+package com.roja.contentplatform.services.changelog;
+
+import com.roja.contentplatform.model.ContentItem;
+import com.roja.contentplatform.model.OutboxEvent;
+import com.roja.contentplatform.repository.OutboxEventRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+
+/** Records content changes into the outbox; callers must already be in the mutating transaction. */
+@Component
+public class ContentChangeOutbox {
+
+  private final OutboxEventRepository outboxRepo;
+
+  public ContentChangeOutbox(OutboxEventRepository outboxRepo) {
+    this.outboxRepo = outboxRepo;
+  }
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void record(OutboxEvent.Type type, ContentItem item, String languageCode, String actor) {
+    OutboxEvent e = new OutboxEvent();
+    e.setType(type);
+    e.setContentItemId(item.getId());
+    e.setRegion(item.getRegion());
+    e.setLanguageCode(languageCode);
+    e.setActor(actor);
+    outboxRepo.save(e);
+  }
+
+  /** Same as {@link #record} for many items at once, with no language. */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public int recordAll(OutboxEvent.Type type, Collection<Long> itemIds, String actor, Instant occurredAt) {
+    return outboxRepo.insertForItems(type.name(), itemIds, actor, occurredAt);
+  }
+}
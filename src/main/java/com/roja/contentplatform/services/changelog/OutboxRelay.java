@@ -0,0 +1,181 @@
+package com.roja.contentplatform.services.changelog;
+
+import com.roja.contentplatform.model.OutboxEvent;
+import com.roja.contentplatform.services.sharding.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Copies outbox rows into this replica's {@link ContentChangeLog}. Every replica tails the outbox
+ * on its own, so every replica's consumers see every change.
+ *
+ * Rows are read in ({@code tx_id}, {@code id}) order and only from transactions older than the
+ * oldest one still running, so a row can never appear behind a position already passed. After
+ * each appended and fsynced batch the position is saved in {@code content_outbox_reader}; a crash
+ * in between re-delivers the batch (at-least-once). Rows every live reader has passed are deleted.
+ * A reader that stops reporting for {@code reader-expiry-ms} stops holding rows back; if it comes
+ * back, it has missed changes and marks a gap in its log, which resyncs its consumers. With
+ * sharding each shard has its own outbox and readers table, relayed in turn; outbox ids encode the
+ * shard, so event ids stay unique in the log.
+ */
+@Component
+public class OutboxRelay {
+
+  private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+  private static final String READ_SQL = """
+      SELECT id, tx_id, type, content_item_id, region, language_code, actor, occurred_at
+      FROM content_outbox
+      WHERE (tx_id, id) > (?, ?) AND tx_id < txid_snapshot_xmin(txid_current_snapshot())
+      ORDER BY tx_id, id
+      LIMIT ?
+      """;
+  private static final String POSITION_SQL =
+      "SELECT last_tx_id, last_event_id FROM content_outbox_reader WHERE replica_id = ?";
+  private static final String REGISTER_SQL = """
+      INSERT INTO content_outbox_reader (replica_id, last_tx_id, last_event_id, updated_at)
+      VALUES (?, 0, 0, ?)
+      ON CONFLICT (replica_id) DO NOTHING
+      """;
+  private static final String ADVANCE_SQL =
+      "UPDATE content_outbox_reader SET last_tx_id = ?, last_event_id = ?, updated_at = ? WHERE replica_id = ?";
+  private static final String EXPIRE_SQL = "DELETE FROM content_outbox_reader WHERE updated_at < ?";
+  private static final String SLOWEST_SQL = """
+      SELECT last_tx_id, last_event_id FROM content_outbox_reader
+      ORDER BY last_tx_id, last_event_id
+      LIMIT 1
+      """;
+  private static final String PURGE_SQL = "DELETE FROM content_outbox WHERE (tx_id, id) <= (?, ?)";
+
+  private final ContentChangeLog changeLog;
+  private final JdbcTemplate jdbc;
+  private final int batchSize;
+  private final long readerExpiryMs;
+  private final ShardRouter shards;
+  private final Map<Integer, Position> positions = new HashMap<>(); // relay runs on one thread at a time
+  private final boolean freshLog;
+
+  public OutboxRelay(ContentChangeLog changeLog, JdbcTemplate jdbc,
+                     @Value("${content.changelog.relay-batch-size:500}") int batchSize,
+                     @Value("${content.changelog.reader-expiry-ms:3600000}") long readerExpiryMs,
+                     ShardRouter shards) {
+    this.changeLog = changeLog;
+    this.jdbc = jdbc;
+    this.batchSize = batchSize;
+    this.readerExpiryMs = readerExpiryMs;
+    this.shards = shards;
+    this.freshLog = changeLog.nextOffset() == 0;
+  }
+
+  @Scheduled(fixedDelayString = "${content.changelog.relay-interval-ms:250}")
+  public void relay() {
+    shards.forEachShard(shard -> {
+      try {
+        Position pos = positions.get(shard);
+        if (pos == null) {
+          pos = register();
+          positions.put(shard, pos);
+        }
+        // Keep copying while full batches come back
+        int n;
+        int total = 0;
+        do {
+          n = relayBatch(shard, pos);
+          total += n;
+          pos = positions.get(shard);
+        } while (n == batchSize);
+        boolean heartbeat = Instant.now().isAfter(pos.reportedAt().plusMillis(readerExpiryMs / 4));
+        if (heartbeat) {
+          advance(shard, pos); // while idle too, so this reader does not expire
+        }
+        if (total > 0 || heartbeat) {
+          purge();
+        }
+      } catch (RuntimeException ex) {
+        positions.remove(shard); // re-read the saved position next time
+        log.warn("outbox relay failed on shard {}; will retry", shards.shardName(shard), ex);
+      }
+      return null;
+    });
+  }
+
+  private int relayBatch(int shard, Position pos) {
+    long[] lastTxId = {pos.txId()};
+    List<ContentChange> batch = jdbc.query(READ_SQL, (rs, i) -> {
+      lastTxId[0] = rs.getLong("tx_id");
+      return new ContentChange(-1, rs.getLong("id"), OutboxEvent.Type.valueOf(rs.getString("type")),
+          rs.getLong("content_item_id"), rs.getString("region"), rs.getString("language_code"),
+          rs.getString("actor"), rs.getTimestamp("occurred_at").toInstant());
+    }, pos.txId(), pos.eventId(), batchSize);
+    if (batch.isEmpty()) {
+      return 0;
+    }
+    try {
+      changeLog.append(batch);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    advance(shard, new Position(lastTxId[0], batch.get(batch.size() - 1).eventId(), pos.reportedAt()));
+    return batch.size();
+  }
+
+  /** This replica's saved position, creating it (from the start of the outbox) if there is none. */
+  private Position register() {
+    Instant now = Instant.now();
+    List<Position> saved = jdbc.query(POSITION_SQL,
+        (rs, i) -> new Position(rs.getLong(1), rs.getLong(2), now), changeLog.replicaId());
+    if (!saved.isEmpty()) {
+      return saved.get(0);
+    }
+    jdbc.update(REGISTER_SQL, changeLog.replicaId(), Timestamp.from(now));
+    if (!freshLog) {
+      // This log has relayed before, so the reader expired and its rows may be gone
+      gap("no saved outbox position");
+    }
+    return new Position(0, 0, now);
+  }
+
+  private void advance(int shard, Position pos) {
+    Instant now = Instant.now();
+    int updated = jdbc.update(ADVANCE_SQL, pos.txId(), pos.eventId(), Timestamp.from(now), changeLog.replicaId());
+    if (updated == 0) {
+      // Expired while we were away; rows past our position may have been purged
+      jdbc.update(REGISTER_SQL, changeLog.replicaId(), Timestamp.from(now));
+      jdbc.update(ADVANCE_SQL, pos.txId(), pos.eventId(), Timestamp.from(now), changeLog.replicaId());
+      gap("outbox reader expired");
+    }
+    positions.put(shard, new Position(pos.txId(), pos.eventId(), now));
+  }
+
+  private void purge() {
+    jdbc.update(EXPIRE_SQL, Timestamp.from(Instant.now().minusMillis(readerExpiryMs)));
+    List<Position> slowest = jdbc.query(SLOWEST_SQL, (rs, i) -> new Position(rs.getLong(1), rs.getLong(2), null));
+    if (!slowest.isEmpty()) {
+      jdbc.update(PURGE_SQL, slowest.get(0).txId(), slowest.get(0).eventId());
+    }
+  }
+
+  private void gap(String reason) {
+    log.warn("{} for replica {}; changes may have been missed, resyncing all change consumers",
+        reason, changeLog.replicaId());
+    try {
+      changeLog.markGap();
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  private record Position(long txId, long eventId, Instant reportedAt) {}
+}
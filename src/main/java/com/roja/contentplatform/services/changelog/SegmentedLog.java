@@ -0,0 +1,252 @@
+package com.roja.contentplatform.services.changelog;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log of opaque records split into segment files named by their first offset
+ * ({@code 00000000000000000042.log}). Each frame is {@code [length:int][crc32c:int][offset:long][payload]};
+ * on open, segments are scanned and anything after the first torn or corrupt frame is truncated.
+ *
+ * A single writer appends (calls are serialized); readers may run concurrently and only ever
+ * see fully written, fsynced frames. Beyond {@code maxSegments}, the oldest segments are deleted
+ * once every consumer has read past them ({@link #trim}); a consumer stalled for more than twice
+ * that no longer holds them back and has to detect the gap through {@link #oldestOffset}.
+ */
+final class SegmentedLog implements Closeable {
+
+  record Entry(long offset, byte[] payload) {}
+
+  private static final int HEADER = 16;
+  private static final int INDEX_INTERVAL = 128; // sparse index: one position per N records
+  private static final int MAX_PAYLOAD = 16 * 1024 * 1024;
+
+  private final Path dir;
+  private final long segmentBytes;
+  private final int maxSegments;
+  private final ConcurrentSkipListMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+  private Segment active;
+  private volatile long nextOffset;
+
+  SegmentedLog(Path dir, long segmentBytes, int maxSegments) throws IOException {
+    this.dir = dir;
+    this.segmentBytes = segmentBytes;
+    this.maxSegments = maxSegments;
+    Files.createDirectories(dir);
+
+    List<Path> files;
+    try (Stream<Path> s = Files.list(dir)) {
+      files = s.filter(p -> p.getFileName().toString().endsWith(".log")).sorted().toList();
+    }
+    long next = 0;
+    for (Path file : files) {
+      String name = file.getFileName().toString();
+      Segment seg = new Segment(Long.parseLong(name.substring(0, name.length() - 4)), file);
+      next = Math.max(seg.baseOffset, seg.recover());
+      segments.put(seg.baseOffset, seg);
+    }
+    nextOffset = next;
+    active = segments.isEmpty() ? roll() : segments.lastEntry().getValue();
+  }
+
+  long nextOffset() {
+    return nextOffset;
+  }
+
+  /** Offset of the oldest retained record; a reader starting below it has missed records. */
+  long oldestOffset() {
+    return segments.firstKey();
+  }
+
+  /** Appends and fsyncs the payloads as one batch; returns the offset of the first one. */
+  synchronized long append(List<byte[]> payloads) throws IOException {
+    if (active.size >= segmentBytes) {
+      active = roll();
+    }
+    long first = nextOffset;
+    int total = 0;
+    for (byte[] p : payloads) {
+      if (p.length > MAX_PAYLOAD) throw new IllegalArgumentException("record too large: " + p.length);
+      total += HEADER + p.length;
+    }
+
+    ByteBuffer buf = ByteBuffer.allocate(total);
+    long offset = first;
+    long pos = active.size;
+    for (byte[] p : payloads) {
+      if ((offset - active.lastIndexed) >= INDEX_INTERVAL) {
+        active.index.put(offset, pos + buf.position());
+        active.lastIndexed = offset;
+      }
+      buf.putInt(p.length).putInt(crc(offset, p)).putLong(offset).put(p);
+      offset++;
+    }
+    buf.flip();
+    while (buf.hasRemaining()) {
+      pos += active.channel.write(buf, pos);
+    }
+    active.channel.force(false);
+    active.size = pos;    // publish to readers only after fsync
+    nextOffset = offset;
+    return first;
+  }
+
+  /**
+   * Deletes the oldest segments beyond {@code maxSegments} that lie wholly below
+   * {@code consumedBefore}, the slowest consumer's position; past {@code 2 * maxSegments} they go
+   * regardless. Returns the number of segments deleted.
+   */
+  synchronized int trim(long consumedBefore) throws IOException {
+    int deleted = 0;
+    while (segments.size() > maxSegments) {
+      Map.Entry<Long, Segment> oldest = segments.firstEntry();
+      long end = segments.higherKey(oldest.getKey()); // the active segment is never the oldest here
+      if (end > consumedBefore && segments.size() <= 2 * maxSegments) {
+        break;
+      }
+      segments.remove(oldest.getKey());
+      oldest.getValue().channel.close();
+      Files.deleteIfExists(oldest.getValue().path);
+      deleted++;
+    }
+    return deleted;
+  }
+
+  /**
+   * Drops every record and continues one offset further on, so that every reader, however far it
+   * had got, finds its position below {@link #oldestOffset} and knows it missed records.
+   */
+  synchronized void skipGap() throws IOException {
+    for (Segment seg : segments.values()) {
+      seg.channel.close();
+      Files.deleteIfExists(seg.path);
+    }
+    segments.clear();
+    nextOffset++;
+    active = roll();
+  }
+
+  /**
+   * Up to {@code max} records starting at {@code from}. If {@code from} has already been deleted by
+   * retention, reading resumes at the oldest retained record; callers that must not skip records
+   * compare {@code from} with {@link #oldestOffset} first.
+   */
+  List<Entry> read(long from, int max) throws IOException {
+    List<Entry> out = new ArrayList<>();
+    Map.Entry<Long, Segment> e = segments.floorEntry(from);
+    if (e == null) {
+      e = segments.firstEntry();
+      if (e == null) return out;
+      from = e.getKey();
+    }
+    ByteBuffer header = ByteBuffer.allocate(HEADER);
+    while (e != null && out.size() < max) {
+      Segment seg = e.getValue();
+      Map.Entry<Long, Long> hint = seg.index.floorEntry(from);
+      long pos = hint == null ? 0 : hint.getValue();
+      long end = seg.size;
+      while (pos + HEADER <= end && out.size() < max) {
+        header.clear();
+        readFully(seg.channel, header, pos);
+        header.flip();
+        int len = header.getInt();
+        header.getInt(); // crc was verified on recovery/append
+        long offset = header.getLong();
+        if (offset >= from) {
+          ByteBuffer payload = ByteBuffer.allocate(len);
+          readFully(seg.channel, payload, pos + HEADER);
+          out.add(new Entry(offset, payload.array()));
+        }
+        pos += HEADER + len;
+      }
+      e = segments.higherEntry(e.getKey());
+    }
+    return out;
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    for (Segment seg : segments.values()) {
+      seg.channel.close();
+    }
+  }
+
+  private Segment roll() throws IOException {
+    Path file = dir.resolve(String.format("%020d.log", nextOffset));
+    Segment seg = new Segment(nextOffset, file);
+    segments.put(seg.baseOffset, seg);
+    return seg;
+  }
+
+  private static void readFully(FileChannel ch, ByteBuffer buf, long pos) throws IOException {
+    while (buf.hasRemaining()) {
+      int n = ch.read(buf, pos + buf.position());
+      if (n < 0) throw new IOException("unexpected end of segment");
+    }
+  }
+
+  private static int crc(long offset, byte[] payload) {
+    CRC32C crc = new CRC32C();
+    crc.update(ByteBuffer.allocate(8).putLong(0, offset));
+    crc.update(payload);
+    return (int) crc.getValue();
+  }
+
+  private static final class Segment {
+    final long baseOffset;
+    final Path path;
+    final FileChannel channel;
+    final ConcurrentSkipListMap<Long, Long> index = new ConcurrentSkipListMap<>();
+    long lastIndexed = Long.MIN_VALUE / 2;
+    volatile long size;
+
+    Segment(long baseOffset, Path path) throws IOException {
+      this.baseOffset = baseOffset;
+      this.path = path;
+      this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    /** Validates frames, truncates a torn tail and rebuilds the sparse index; returns the next offset. */
+    long recover() throws IOException {
+      long fileSize = channel.size();
+      long pos = 0;
+      long next = baseOffset;
+      ByteBuffer header = ByteBuffer.allocate(HEADER);
+      while (pos + HEADER <= fileSize) {
+        header.clear();
+        readFully(channel, header, pos);
+        header.flip();
+        int len = header.getInt();
+        int crc = header.getInt();
+        long offset = header.getLong();
+        if (len < 0 || len > MAX_PAYLOAD || pos + HEADER + len > fileSize || offset != next) break;
+        ByteBuffer payload = ByteBuffer.allocate(len);
+        readFully(channel, payload, pos + HEADER);
+        if (crc(offset, payload.array()) != crc) break;
+        if (offset - lastIndexed >= INDEX_INTERVAL) {
+          index.put(offset, pos);
+          lastIndexed = offset;
+        }
+        pos += HEADER + len;
+        next++;
+      }
+      if (pos < fileSize) {
+        channel.truncate(pos);
+        channel.force(true);
+      }
+      size = pos;
+      return next;
+    }
+  }
+}
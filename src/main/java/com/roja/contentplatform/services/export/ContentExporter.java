@@ -0,0 +1,282 @@
+package com.roja.contentplatform.services.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.roja.contentplatform.api.dto.ExportItem;
+import com.roja.contentplatform.services.Audience;
+import com.roja.contentplatform.services.sharding.ShardRouter;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes a region's items, tags and variants as NDJSON, optionally gzipped, for backups and
+ * migrations.
+ *
+ * The scan is keyset-paged on {@code (region, id)}. Each batch is read in its own short read-only
+ * transaction and the connection is back in the pool before the batch is written, so a slow client
+ * holds a request thread but never a connection. Writes block on the socket, which is the
+ * backpressure: the next batch is only read once the previous one has been flushed. A batch holds
+ * at most {@code batch-size} items and stops early, at an item boundary, once its variants pass
+ * {@code batch-bytes}, so heap use is bounded whatever the export size.
+ *
+ * After every batch a {@code "type":"cursor"} line carries the token to resume from; the last
+ * line is {@code "type":"end"}. An export without that line was cut short.
+ */
+@Component
+public class ContentExporter {
+
+  public enum Format { NDJSON, GZIP }
+
+  private static final String ITEMS_SQL = """
+      SELECT id, content_type, region, category, status, priority, pinned, internal,
+             scheduled_publish_at, scheduled_unpublish_at, created_by, created_at, approved_by, approved_at,
+             published_by, published_at, archived_by, archived_at, last_modified_by, last_modified_at,
+             version, cover_image_sha256
+      FROM content_item
+      WHERE region = :region AND id > :after
+      """;
+
+  private static final String TAGS_SQL =
+      "SELECT content_id, tag FROM content_tags WHERE content_id IN (:ids) ORDER BY content_id, tag";
+
+  private static final String VARIANTS_SQL = """
+      SELECT content_item_id, id, language_code, title, body_html, is_default_lang, updated_by, updated_at
+      FROM content_variant WHERE content_item_id IN (:ids)
+      ORDER BY content_item_id, id
+      """;
+
+  private final NamedParameterJdbcTemplate jdbc;
+  private final TransactionTemplate readOnlyTx;
+  private final ShardRouter shards;
+  private final ObjectMapper mapper;
+  private final ObjectWriter itemWriter;
+  private final Semaphore slots;
+  private final int batchSize;
+  private final long batchBytes;
+
+  public ContentExporter(JdbcTemplate jdbc, PlatformTransactionManager txManager, ShardRouter shards,
+                         ObjectMapper mapper,
+                         @Value("${content.export.batch-size:200}") int batchSize,
+                         @Value("${content.export.batch-bytes:8388608}") long batchBytes,
+                         @Value("${content.export.max-concurrent:2}") int maxConcurrent) {
+    JdbcTemplate cursor = new JdbcTemplate(jdbc.getDataSource());
+    cursor.setFetchSize(32); // variant rows stream; bodies can be large
+    this.jdbc = new NamedParameterJdbcTemplate(cursor);
+    this.readOnlyTx = new TransactionTemplate(txManager);
+    this.readOnlyTx.setReadOnly(true);
+    this.shards = shards;
+    this.mapper = mapper;
+    // We flush per batch ourselves rather than after every item
+    this.itemWriter = mapper.writerFor(ExportItem.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    this.slots = new Semaphore(maxConcurrent);
+    this.batchSize = batchSize;
+    this.batchBytes = batchBytes;
+  }
+
+  /**
+   * Streams from {@code cursor} to the end of the region. Access must already have been checked;
+   * {@code audience} only narrows which items are included.
+   */
+  public void export(ExportCursor cursor, Audience audience, Format format, HttpServletResponse response)
+      throws IOException {
+    // Each export pins a request thread for its whole duration
+    if (!slots.tryAcquire()) {
+      throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "too many exports in progress");
+    }
+    try {
+      if (format == Format.GZIP) {
+        response.setContentType("application/gzip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+            "attachment; filename=\"content-" + cursor.region() + ".ndjson.gz\"");
+        // syncFlush so every batch (and its cursor line) reaches the client as it is written
+        GZIPOutputStream gzip = new GZIPOutputStream(response.getOutputStream(), 65536, true);
+        write(cursor, audience, gzip);
+        gzip.finish();
+      } else {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        write(cursor, audience, response.getOutputStream());
+      }
+    } finally {
+      slots.release();
+    }
+  }
+
+  private void write(ExportCursor start, Audience audience, OutputStream out) throws IOException {
+    try (JsonGenerator gen = mapper.getFactory().createGenerator(out)) {
+      gen.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+      gen.setRootValueSeparator(null); // lines are separated by '\n' below
+      ExportCursor cursor = start;
+      long written = 0;
+      while (true) {
+        ExportCursor at = cursor;
+        List<ExportItem> batch = shards.onRegion(at.region(), () ->
+            readOnlyTx.execute(status -> loadBatch(at, audience)));
+        if (batch.isEmpty()) {
+          break;
+        }
+        for (ExportItem item : batch) {
+          itemWriter.writeValue(gen, item);
+          gen.writeRaw('\n');
+        }
+        written += batch.size();
+        cursor = at.resumeAfter(batch.get(batch.size() - 1).id());
+        gen.writeStartObject();
+        gen.writeStringField("type", "cursor");
+        gen.writeStringField("cursor", cursor.encode(mapper));
+        gen.writeEndObject();
+        gen.writeRaw('\n');
+        gen.flush(); // blocks until the client has taken the batch
+      }
+      gen.writeStartObject();
+      gen.writeStringField("type", "end");
+      gen.writeNumberField("items", written);
+      gen.writeEndObject();
+      gen.writeRaw('\n');
+    }
+  }
+
+  private List<ExportItem> loadBatch(ExportCursor c, Audience audience) {
+    StringBuilder sql = new StringBuilder(ITEMS_SQL);
+    MapSqlParameterSource params = new MapSqlParameterSource()
+        .addValue("region", c.region())
+        .addValue("after", c.after())
+        .addValue("limit", batchSize);
+    if (!audience.canSee(true)) {
+      sql.append(" AND internal = false");
+    }
+    if (c.status() != null) {
+      sql.append(" AND status = :status");
+      params.addValue("status", c.status().name());
+    }
+    if (c.from() != null) {
+      sql.append(" AND last_modified_at >= :from");
+      params.addValue("from", Timestamp.from(c.from()));
+    }
+    if (c.to() != null) {
+      sql.append(" AND last_modified_at < :to");
+      params.addValue("to", Timestamp.from(c.to()));
+    }
+    sql.append(" ORDER BY id LIMIT :limit");
+
+    List<ItemRow> rows = jdbc.query(sql.toString(), params, (rs, n) -> itemRow(rs));
+    if (rows.isEmpty()) {
+      return List.of();
+    }
+    Map<String, Object> ids = Map.of("ids", rows.stream().map(ItemRow::id).toList());
+
+    Map<Long, List<String>> tags = new HashMap<>();
+    jdbc.query(TAGS_SQL, ids, (RowCallbackHandler) rs ->
+        tags.computeIfAbsent(rs.getLong(1), k -> new ArrayList<>()).add(rs.getString(2)));
+
+    Map<Long, List<ExportItem.Variant>> variants = new HashMap<>();
+    long cut = jdbc.query(VARIANTS_SQL, ids, (ResultSetExtractor<Long>) rs -> readVariants(rs, variants));
+
+    List<ExportItem> batch = new ArrayList<>(rows.size());
+    for (ItemRow r : rows) {
+      if (r.id() >= cut) {
+        break; // over the byte budget; the next batch resumes here
+      }
+      batch.add(r.toItem(tags.getOrDefault(r.id(), List.of()), variants.getOrDefault(r.id(), List.of())));
+    }
+    return batch;
+  }
+
+  /** Reads variants grouped by item until the byte budget is spent; returns the first item left out. */
+  private long readVariants(ResultSet rs, Map<Long, List<ExportItem.Variant>> into) throws SQLException {
+    long bytes = 0;
+    long current = -1;
+    while (rs.next()) {
+      long itemId = rs.getLong("content_item_id");
+      if (itemId != current) {
+        if (current != -1 && bytes >= batchBytes) {
+          return itemId; // always at least one item per batch, however large
+        }
+        current = itemId;
+      }
+      ExportItem.Variant v = new ExportItem.Variant(
+          rs.getLong("id"),
+          rs.getString("language_code"),
+          rs.getString("title"),
+          rs.getString("body_html"),
+          rs.getBoolean("is_default_lang"),
+          rs.getString("updated_by"),
+          instant(rs, "updated_at"));
+      bytes += v.title().length() + v.bodyHtml().length();
+      into.computeIfAbsent(itemId, k -> new ArrayList<>()).add(v);
+    }
+    return Long.MAX_VALUE;
+  }
+
+  private static ItemRow itemRow(ResultSet rs) throws SQLException {
+    return new ItemRow(
+        rs.getLong("id"),
+        rs.getString("content_type"),
+        rs.getString("region"),
+        rs.getString("category"),
+        rs.getString("status"),
+        rs.getString("priority"),
+        rs.getBoolean("pinned"),
+        rs.getBoolean("internal"),
+        instant(rs, "scheduled_publish_at"),
+        instant(rs, "scheduled_unpublish_at"),
+        rs.getString("created_by"),
+        instant(rs, "created_at"),
+        rs.getString("approved_by"),
+        instant(rs, "approved_at"),
+        rs.getString("published_by"),
+        instant(rs, "published_at"),
+        rs.getString("archived_by"),
+        instant(rs, "archived_at"),
+        rs.getString("last_modified_by"),
+        instant(rs, "last_modified_at"),
+        rs.getInt("version"),
+        rs.getString("cover_image_sha256"));
+  }
+
+  private static Instant instant(ResultSet rs, String column) throws SQLException {
+    Timestamp ts = rs.getTimestamp(column);
+    return ts == null ? null : ts.toInstant();
+  }
+
+  private record ItemRow(long id, String contentType, String region, String category, String status,
+                         String priority, boolean pinned, boolean internal, Instant scheduledPublishAt,
+                         Instant scheduledUnpublishAt, String createdBy, Instant createdAt, String approvedBy,
+                         Instant approvedAt, String publishedBy, Instant publishedAt, String archivedBy,
+                         Instant archivedAt, String lastModifiedBy, Instant lastModifiedAt, int version,
+                         String coverImageSha256) {
+
+    ExportItem toItem(List<String> tags, List<ExportItem.Variant> variants) {
+      return new ExportItem("item", id, contentType, region, category, tags, status, priority, pinned, internal,
+          scheduledPublishAt, scheduledUnpublishAt, createdBy, createdAt, approvedBy, approvedAt,
+          publishedBy, publishedAt, archivedBy, archivedAt, lastModifiedBy, lastModifiedAt, version,
+          coverImageSha256, variants);
+    }
+  }
+}
@@ -0,0 +1,52 @@
+package com.roja.contentplatform.services.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.roja.contentplatform.model.ContentItem;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Position in an export: the filters it was started with and the last item id fully written.
+ * Handed to clients as an opaque token so a broken download resumes with the same filters.
+ * It carries no access rights; region and audience are checked again on every request.
+ *
+ * @param from inclusive lower bound on {@code lastModifiedAt}, or {@code null}
+ * @param to exclusive upper bound on {@code lastModifiedAt}, or {@code null}
+ */
+public record ExportCursor(String region, ContentItem.Status status, Instant from, Instant to, long after) {
+
+  public static ExportCursor start(String region, ContentItem.Status status, Instant from, Instant to) {
+    if (from != null && to != null && !from.isBefore(to)) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must be before to");
+    }
+    return new ExportCursor(region, status, from, to, 0);
+  }
+
+  public ExportCursor resumeAfter(long id) {
+    return new ExportCursor(region, status, from, to, id);
+  }
+
+  public String encode(ObjectMapper mapper) {
+    try {
+      return Base64.getUrlEncoder().withoutPadding().encodeToString(mapper.writeValueAsBytes(this));
+    } catch (IOException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  public static ExportCursor decode(String token, ObjectMapper mapper) {
+    try {
+      ExportCursor c = mapper.readValue(Base64.getUrlDecoder().decode(token), ExportCursor.class);
+      if (c.region() == null || c.after() < 0) {
+        throw new IllegalArgumentException("incomplete cursor");
+      }
+      return c;
+    } catch (IOException | IllegalArgumentException ex) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "invalid cursor");
+    }
+  }
+}
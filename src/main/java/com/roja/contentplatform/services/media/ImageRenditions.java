@@ -0,0 +1,91 @@
+package com.roja.contentplatform.services.media;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/** Down-scaled copies of uploaded raster images, produced once at upload time. */
+final class ImageRenditions {
+
+  static final int[] WIDTHS = {320, 1280};
+  static final int SNIFF_BYTES = 12;
+  private static final long MAX_PIXELS = 40_000_000L; // don't decode absurdly large images
+
+  private ImageRenditions() {}
+
+  record Dimensions(int width, int height) {}
+
+  record Rendition(String name, String mediaType, byte[] bytes, int width, int height) {}
+
+  /** Media type from a file's leading bytes; {@code null} unless it is JPEG, PNG, GIF or WebP. */
+  static String sniff(byte[] head) {
+    if (startsWith(head, 0, 0xFF, 0xD8, 0xFF)) return "image/jpeg";
+    if (startsWith(head, 0, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) return "image/png";
+    if (startsWith(head, 0, 'G', 'I', 'F', '8', '7', 'a') || startsWith(head, 0, 'G', 'I', 'F', '8', '9', 'a')) return "image/gif";
+    if (startsWith(head, 0, 'R', 'I', 'F', 'F') && startsWith(head, 8, 'W', 'E', 'B', 'P')) return "image/webp";
+    return null;
+  }
+
+  private static boolean startsWith(byte[] head, int offset, int... magic) {
+    if (head.length < offset + magic.length) return false;
+    for (int i = 0; i < magic.length; i++) {
+      if ((head[offset + i] & 0xFF) != magic[i]) return false;
+    }
+    return true;
+  }
+
+  /** Reads only the header; {@code null} if the format is not decodable by ImageIO. */
+  static Dimensions probe(Path file) throws IOException {
+    try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+      if (in == null) return null;
+      Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+      if (!readers.hasNext()) return null;
+      ImageReader reader = readers.next();
+      try {
+        reader.setInput(in, true, true);
+        return new Dimensions(reader.getWidth(0), reader.getHeight(0));
+      } finally {
+        reader.dispose();
+      }
+    }
+  }
+
+  static List<Rendition> render(Path original, Dimensions dims) throws IOException {
+    List<Rendition> out = new ArrayList<>();
+    if (dims == null || (long) dims.width() * dims.height() > MAX_PIXELS) {
+      return out;
+    }
+    BufferedImage source = ImageIO.read(original.toFile());
+    if (source == null) {
+      return out;
+    }
+    boolean alpha = source.getColorModel().hasAlpha();
+    for (int width : WIDTHS) {
+      if (width >= dims.width()) continue;
+      int height = Math.max(1, Math.round((float) dims.height() * width / dims.width()));
+      BufferedImage scaled = new BufferedImage(width, height, alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+      Graphics2D g = scaled.createGraphics();
+      try {
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g.drawImage(source, 0, 0, width, height, null);
+      } finally {
+        g.dispose();
+      }
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      String format = alpha ? "png" : "jpg";
+      ImageIO.write(scaled, format, bytes);
+      out.add(new Rendition("w" + width, alpha ? "image/png" : "image/jpeg", bytes.toByteArray(), width, height));
+    }
+    return out;
+  }
+}
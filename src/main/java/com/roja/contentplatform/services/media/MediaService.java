@@ -0,0 +1,159 @@
+package com.roja.contentplatform.services.media;
+
+import com.roja.contentplatform.api.dto.MediaAssetResponse;
+import com.roja.contentplatform.model.ContentItem;
+import com.roja.contentplatform.model.MediaAsset;
+import com.roja.contentplatform.repository.ContentItemRepository;
+import com.roja.contentplatform.repository.MediaAssetRepository;
+import com.roja.contentplatform.services.sharding.ShardTransactions;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+public class MediaService {
+
+  private static final Set<String> ALLOWED_TYPES = Set.of("image/jpeg", "image/png", "image/gif", "image/webp");
+
+  private final ContentItemRepository itemRepo;
+  private final MediaAssetRepository mediaRepo;
+  private final MediaStore store;
+  private final ShardTransactions shardTx;
+
+  public MediaService(ContentItemRepository itemRepo, MediaAssetRepository mediaRepo, MediaStore store,
+                      ShardTransactions shardTx) {
+    this.itemRepo = itemRepo;
+    this.mediaRepo = mediaRepo;
+    this.store = store;
+    this.shardTx = shardTx;
+  }
+
+  public static String url(String sha256) {
+    return "/api/v1/media/" + sha256;
+  }
+
+  /**
+   * Stores an upload (deduplicated by content hash), generates renditions for raster images and
+   * links everything to the item. With {@code cover} the original becomes the item's cover image.
+   *
+   * The media type comes from the file's leading bytes, never from the client's Content-Type.
+   * Files are stored and rendered before the short linking transaction; if a concurrent upload of
+   * the same bytes links them first, linking is retried once and finds that asset.
+   */
+  public MediaAssetResponse upload(Long itemId, MultipartFile file, boolean cover, String user, List<String> userRegions) {
+    String region = shardTx.readItem(itemId, () -> itemRepo.findById(itemId).map(ContentItem::getRegion))
+        .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "content not found"));
+    if (!userRegions.contains(region)) {
+      throw new ResponseStatusException(HttpStatus.FORBIDDEN, "not allowed in this region");
+    }
+
+    try {
+      String mediaType;
+      try (InputStream in = file.getInputStream()) {
+        mediaType = ImageRenditions.sniff(in.readNBytes(ImageRenditions.SNIFF_BYTES));
+      }
+      if (mediaType == null) {
+        throw new ResponseStatusException(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "allowed types: " + ALLOWED_TYPES);
+      }
+
+      MediaStore.StoredFile original;
+      try (InputStream in = file.getInputStream()) {
+        original = store.store(in);
+      }
+      ImageRenditions.Dimensions dims = ImageRenditions.probe(original.path());
+      List<StoredRendition> renditions = new ArrayList<>();
+      for (ImageRenditions.Rendition r : ImageRenditions.render(original.path(), dims)) {
+        renditions.add(new StoredRendition(r, store.store(r.bytes())));
+      }
+
+      try {
+        return shardTx.writeItem(itemId, () -> link(itemId, original, mediaType, dims, renditions, cover, user));
+      } catch (DataIntegrityViolationException raced) {
+        return shardTx.writeItem(itemId, () -> link(itemId, original, mediaType, dims, renditions, cover, user));
+      }
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  private MediaAssetResponse link(Long itemId, MediaStore.StoredFile original, String mediaType,
+                                  ImageRenditions.Dimensions dims, List<StoredRendition> renditions,
+                                  boolean cover, String user) {
+    ContentItem item = itemRepo.findById(itemId).orElseThrow(() ->
+        new ResponseStatusException(HttpStatus.NOT_FOUND, "content not found"));
+    MediaAsset asset = mediaRepo.findByContentItemIdAndSha256(itemId, original.sha256()).orElse(null);
+    if (asset == null) {
+      asset = save(item, original, original.sha256(), "original", mediaType, dims, user);
+      for (StoredRendition sr : renditions) {
+        ImageRenditions.Rendition r = sr.rendition();
+        if (mediaRepo.findByContentItemIdAndSha256(itemId, sr.stored().sha256()).isEmpty()) {
+          save(item, sr.stored(), original.sha256(), r.name(), r.mediaType(),
+              new ImageRenditions.Dimensions(r.width(), r.height()), user);
+        }
+      }
+    }
+
+    if (cover) {
+      item.setCoverImageSha256(original.sha256());
+      item.setLastModifiedBy(user);
+      item.setLastModifiedAt(Instant.now());
+    }
+    return toResponse(asset);
+  }
+
+  private record StoredRendition(ImageRenditions.Rendition rendition, MediaStore.StoredFile stored) {}
+
+  /** The stored file for a hash, if some item references it. */
+  public ResolvedMedia resolve(String sha256) {
+    // Media URLs carry no item id, so look on each shard (home first)
+    MediaAsset asset = shardTx.firstPresent(() -> mediaRepo.findFirstBySha256(sha256)).orElseThrow(() ->
+        new ResponseStatusException(HttpStatus.NOT_FOUND, "media not found"));
+    Path path = store.path(sha256);
+    if (!Files.isRegularFile(path)) {
+      throw new ResponseStatusException(HttpStatus.NOT_FOUND, "media not found");
+    }
+    return new ResolvedMedia(path, asset.getMediaType(), asset.getSizeBytes());
+  }
+
+  public record ResolvedMedia(Path path, String mediaType, long sizeBytes) {}
+
+  private MediaAsset save(ContentItem item, MediaStore.StoredFile file, String originalSha, String rendition,
+                          String mediaType, ImageRenditions.Dimensions dims, String user) {
+    MediaAsset a = new MediaAsset();
+    a.setContentItem(item);
+    a.setSha256(file.sha256());
+    a.setOriginalSha256(originalSha);
+    a.setRendition(rendition);
+    a.setMediaType(mediaType);
+    a.setSizeBytes(file.sizeBytes());
+    if (dims != null) {
+      a.setWidth(dims.width());
+      a.setHeight(dims.height());
+    }
+    a.setCreatedBy(user);
+    return mediaRepo.save(a);
+  }
+
+  private MediaAssetResponse toResponse(MediaAsset original) {
+    Map<String, String> renditions = new LinkedHashMap<>();
+    for (MediaAsset r : mediaRepo.findByContentItemIdAndOriginalSha256(original.getContentItem().getId(), original.getSha256())) {
+      renditions.put(r.getRendition(), url(r.getSha256()));
+    }
+    return new MediaAssetResponse(original.getSha256(), url(original.getSha256()), original.getMediaType(),
+        original.getSizeBytes(), original.getWidth(), original.getHeight(), renditions);
+  }
+}
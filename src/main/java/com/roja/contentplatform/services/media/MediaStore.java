@@ -0,0 +1,88 @@
+package com.roja.contentplatform.services.media;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed file store: {@code <root>/ab/cd/<sha256>}. Uploads are hashed while being
+ * spooled to a temp file and then moved into place atomically; if the hash already exists the
+ * temp file is dropped, so identical files are stored once. Stored files are never modified.
+ */
+@Component
+public class MediaStore {
+
+  private static final Pattern SHA256 = Pattern.compile("[0-9a-f]{64}");
+
+  private final Path root;
+  private final Path tmp;
+
+  public MediaStore(@Value("${content.media.root:./data/media}") String root) throws IOException {
+    this.root = Path.of(root).toAbsolutePath().normalize();
+    this.tmp = this.root.resolve("tmp");
+    Files.createDirectories(tmp);
+  }
+
+  public record StoredFile(String sha256, long sizeBytes, Path path) {}
+
+  public StoredFile store(InputStream in) throws IOException {
+    MessageDigest digest = sha256();
+    Path spool = Files.createTempFile(tmp, "upload-", ".part");
+    long size = 0;
+    try {
+      try (OutputStream out = Files.newOutputStream(spool)) {
+        byte[] buf = new byte[64 * 1024];
+        for (int n; (n = in.read(buf)) > 0; ) {
+          digest.update(buf, 0, n);
+          out.write(buf, 0, n);
+          size += n;
+        }
+      }
+      String sha = HexFormat.of().formatHex(digest.digest());
+      Path target = path(sha);
+      if (!Files.exists(target)) {
+        Files.createDirectories(target.getParent());
+        try {
+          Files.move(spool, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException raced) {
+          // stored concurrently by another upload of the same bytes
+        }
+      }
+      return new StoredFile(sha, size, target);
+    } finally {
+      Files.deleteIfExists(spool);
+    }
+  }
+
+  public StoredFile store(byte[] bytes) throws IOException {
+    return store(new ByteArrayInputStream(bytes));
+  }
+
+  /** On-disk location for a hash; rejects anything that is not a lower-case hex SHA-256. */
+  public Path path(String sha256) {
+    if (sha256 == null || !SHA256.matcher(sha256).matches()) {
+      throw new IllegalArgumentException("not a sha256: " + sha256);
+    }
+    return root.resolve(sha256.substring(0, 2)).resolve(sha256.substring(2, 4)).resolve(sha256);
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+}
@@ -0,0 +1,98 @@
+package com.roja.contentplatform.services.ratelimit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-client token buckets, one per {@link RouteClass}.
+ *
+ * Every request is first checked against an in-process bucket. With
+ * {@code content.ratelimit.redis.enabled} the bucket is also shared across replicas through an
+ * atomic Lua script; a locally exhausted bucket is rejected without the Redis round trip (this
+ * replica alone already used the whole budget), and Redis errors fall back to the local answer.
+ */
+@Component
+public class ClientRateLimiter {
+
+  private static final Logger log = LoggerFactory.getLogger(ClientRateLimiter.class);
+
+  private static final long IDLE_EVICT_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+  private static final RedisScript<Long> TOKEN_BUCKET_SCRIPT = RedisScript.of("""
+      local capacity = tonumber(ARGV[1])
+      local per_ms = tonumber(ARGV[2])
+      local t = redis.call('TIME')
+      local now = tonumber(t[1]) * 1000 + math.floor(tonumber(t[2]) / 1000)
+      local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+      local tokens = tonumber(state[1]) or capacity
+      local ts = tonumber(state[2]) or now
+      tokens = math.min(capacity, tokens + math.max(0, now - ts) * per_ms)
+      local wait = 0
+      if tokens >= 1 then
+        tokens = tokens - 1
+      else
+        wait = math.ceil((1 - tokens) / per_ms)
+      end
+      redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', tostring(now))
+      redis.call('PEXPIRE', KEYS[1], math.ceil(capacity / per_ms) + 1000)
+      return wait
+      """, Long.class);
+
+  private final Map<RouteClass, Budget> budgets = new EnumMap<>(RouteClass.class);
+  private final ConcurrentHashMap<String, TokenBucket> local = new ConcurrentHashMap<>();
+  private final StringRedisTemplate redis;
+
+  public ClientRateLimiter(@Value("${content.ratelimit.read.capacity:200}") double readCapacity,
+                           @Value("${content.ratelimit.read.refill-per-second:50}") double readRefill,
+                           @Value("${content.ratelimit.write.capacity:40}") double writeCapacity,
+                           @Value("${content.ratelimit.write.refill-per-second:10}") double writeRefill,
+                           @Value("${content.ratelimit.redis.enabled:false}") boolean redisEnabled,
+                           ObjectProvider<StringRedisTemplate> redis) {
+    budgets.put(RouteClass.READ, new Budget(readCapacity, readRefill));
+    budgets.put(RouteClass.WRITE, new Budget(writeCapacity, writeRefill));
+    this.redis = redisEnabled ? redis.getIfAvailable() : null;
+  }
+
+  /** Returns 0 when admitted, otherwise milliseconds until the client may retry. */
+  public long tryAcquire(String clientId, RouteClass routeClass) {
+    Budget budget = budgets.get(routeClass);
+    String key = routeClass.name() + ':' + clientId;
+    long now = System.nanoTime();
+
+    long localWaitNanos = local
+        .computeIfAbsent(key, k -> new TokenBucket(budget.capacity(), budget.refillPerSecond(), now))
+        .tryAcquire(now);
+    if (localWaitNanos > 0 || redis == null) {
+      return TimeUnit.NANOSECONDS.toMillis(localWaitNanos + 999_999);
+    }
+
+    try {
+      Long waitMs = redis.execute(TOKEN_BUCKET_SCRIPT, List.of("ratelimit:" + key),
+          Double.toString(budget.capacity()), Double.toString(budget.refillPerSecond() / 1000d));
+      return waitMs == null ? 0 : waitMs;
+    } catch (RuntimeException ex) {
+      log.debug("shared rate limit unavailable, using local bucket", ex);
+      return 0;
+    }
+  }
+
+  @Scheduled(fixedDelay = 60_000)
+  public void evictIdle() {
+    long cutoff = System.nanoTime() - IDLE_EVICT_NANOS;
+    local.values().removeIf(b -> b.lastUsedNanos() - cutoff < 0);
+  }
+
+  private record Budget(double capacity, double refillPerSecond) {}
+}
@@ -0,0 +1,142 @@
+package com.roja.contentplatform.services.ratelimit;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Adaptive load shedding per {@link RouteClass}.
+ *
+ * Once a second each class is checked against its thresholds: the mean Hikari connection-acquire
+ * time ({@code hikaricp.connections.acquire}) and the p99 of requests completed, both over the
+ * second since the last check. (The timer's own max decays over minutes, so one slow acquire
+ * would keep shedding long after the pool recovered.) While overloaded the shed probability grows
+ * additively; once healthy it decays, so admission ramps back up instead of flapping. Writes
+ * default to lower thresholds than reads.
+ */
+@Component
+public class LoadShedder {
+
+  /** Request attribute for long transfers whose duration says nothing about server load. */
+  public static final String UNTIMED = LoadShedder.class.getName() + ".UNTIMED";
+
+  private static final long EVALUATE_INTERVAL_MS = 1000;
+  private static final int WINDOW = 4096;
+  private static final double STEP_UP = 0.1;
+  private static final double STEP_DOWN = 0.05;
+  private static final double MAX_SHED = 0.95; // always let a trickle through to keep measuring
+
+  private final MeterRegistry meters;
+  private final Map<RouteClass, ClassState> states = new EnumMap<>(RouteClass.class);
+  private final Map<Meter.Id, AcquireTotals> lastAcquire = new HashMap<>(); // evaluate() is the only user
+  private final long retryAfterSeconds;
+
+  public LoadShedder(MeterRegistry meters,
+                     @Value("${content.shedding.read.max-pool-wait-ms:500}") long readPoolWaitMs,
+                     @Value("${content.shedding.read.max-p99-ms:2000}") long readP99Ms,
+                     @Value("${content.shedding.write.max-pool-wait-ms:200}") long writePoolWaitMs,
+                     @Value("${content.shedding.write.max-p99-ms:1000}") long writeP99Ms,
+                     @Value("${content.shedding.retry-after-seconds:5}") long retryAfterSeconds) {
+    this.meters = meters;
+    this.retryAfterSeconds = retryAfterSeconds;
+    states.put(RouteClass.READ, new ClassState(readPoolWaitMs, readP99Ms));
+    states.put(RouteClass.WRITE, new ClassState(writePoolWaitMs, writeP99Ms));
+    states.forEach((rc, st) ->
+        meters.gauge("content.shedding.probability", Tags.of("route", rc.name()), st,
+            s -> s.shedProbability));
+  }
+
+  public boolean shouldShed(RouteClass routeClass) {
+    double p = states.get(routeClass).shedProbability;
+    return p > 0 && ThreadLocalRandom.current().nextDouble() < p;
+  }
+
+  public void recordLatency(RouteClass routeClass, long nanos) {
+    states.get(routeClass).record(nanos);
+  }
+
+  public long retryAfterSeconds() {
+    return retryAfterSeconds;
+  }
+
+  @Scheduled(fixedRate = EVALUATE_INTERVAL_MS)
+  public void evaluate() {
+    // Worst pool wins when there are several (one per shard)
+    double poolWaitMs = 0;
+    for (Timer t : meters.find("hikaricp.connections.acquire").timers()) {
+      AcquireTotals now = new AcquireTotals(t.count(), t.totalTime(TimeUnit.MILLISECONDS));
+      AcquireTotals before = lastAcquire.put(t.getId(), now);
+      if (before == null) {
+        continue;
+      }
+      if (now.count() > before.count()) {
+        poolWaitMs = Math.max(poolWaitMs, (now.totalMs() - before.totalMs()) / (now.count() - before.count()));
+      } else if (pending(t.getId().getTag("pool")) > 0) {
+        poolWaitMs = Math.max(poolWaitMs, EVALUATE_INTERVAL_MS); // threads waited the whole second
+      }
+    }
+
+    for (ClassState st : states.values()) {
+      long p99Ms = st.drainP99Millis(); // drained every time so the next window starts fresh
+      boolean overloaded = poolWaitMs > st.maxPoolWaitMs || p99Ms > st.maxP99Ms;
+      double p = st.shedProbability;
+      st.shedProbability = overloaded ? Math.min(MAX_SHED, p + STEP_UP) : Math.max(0, p - STEP_DOWN);
+    }
+  }
+
+  private double pending(String pool) {
+    Gauge g = pool == null ? null : meters.find("hikaricp.connections.pending").tag("pool", pool).gauge();
+    return g == null ? 0 : g.value();
+  }
+
+  private record AcquireTotals(long count, double totalMs) {}
+
+  private static final class ClassState {
+    final long maxPoolWaitMs;
+    final long maxP99Ms;
+    final AtomicLongArray samples = new AtomicLongArray(WINDOW);
+    final AtomicLong written = new AtomicLong();
+    long drained;
+    volatile double shedProbability;
+
+    ClassState(long maxPoolWaitMs, long maxP99Ms) {
+      this.maxPoolWaitMs = maxPoolWaitMs;
+      this.maxP99Ms = maxP99Ms;
+    }
+
+    void record(long nanos) {
+      long slot = written.getAndIncrement();
+      samples.set((int) (slot % WINDOW), nanos);
+    }
+
+    /** p99 of samples recorded since the previous call (at most the last WINDOW), 0 if none. */
+    long drainP99Millis() {
+      long end = written.get();
+      int n = (int) Math.min(WINDOW, end - drained);
+      drained = end;
+      if (n == 0) {
+        return 0;
+      }
+      long[] copy = new long[n];
+      for (int i = 0; i < n; i++) {
+        copy[i] = samples.get((int) ((end - n + i) % WINDOW));
+      }
+      Arrays.sort(copy);
+      return TimeUnit.NANOSECONDS.toMillis(copy[(int) Math.ceil(n * 0.99) - 1]);
+    }
+  }
+}
@@ -0,0 +1,13 @@
+package com.roja.contentplatform.services.ratelimit;
+
+/** Admission budgets are kept separately for reads and writes so writes can be shed first. */
+public enum RouteClass {
+  READ, WRITE;
+
+  public static RouteClass of(String httpMethod) {
+    return switch (httpMethod) {
+      case "GET", "HEAD", "OPTIONS" -> READ;
+      default -> WRITE;
+    };
+  }
+}
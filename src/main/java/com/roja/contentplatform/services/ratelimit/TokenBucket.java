@@ -0,0 +1,35 @@
+package com.roja.contentplatform.services.ratelimit;
+
+/** Classic token bucket; refills continuously at {@code refillPerSecond} up to {@code capacity}. */
+final class TokenBucket {
+
+  private final double capacity;
+  private final double refillPerNano;
+  private double tokens;
+  private long lastRefillNanos;
+  private volatile long lastUsedNanos;
+
+  TokenBucket(double capacity, double refillPerSecond, long nowNanos) {
+    this.capacity = capacity;
+    this.refillPerNano = refillPerSecond / 1_000_000_000d;
+    this.tokens = capacity;
+    this.lastRefillNanos = nowNanos;
+    this.lastUsedNanos = nowNanos;
+  }
+
+  /** Takes one token; returns 0 when admitted, otherwise the nanos until a token is available. */
+  synchronized long tryAcquire(long nowNanos) {
+    lastUsedNanos = nowNanos;
+    tokens = Math.min(capacity, tokens + (nowNanos - lastRefillNanos) * refillPerNano);
+    lastRefillNanos = nowNanos;
+    if (tokens >= 1) {
+      tokens -= 1;
+      return 0;
+    }
+    return (long) Math.ceil((1 - tokens) / refillPerNano);
+  }
+
+  long lastUsedNanos() {
+    return lastUsedNanos;
+  }
+}
@@ -0,0 +1,318 @@
+package com.roja.contentplatform.services.related;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Locality-sensitive hashing over {@link MinHasher} signatures, in flat primitive arrays.
+ *
+ * A signature is cut into {@link #BANDS} bands of {@link #ROWS} slots; two items become
+ * candidates when any band is identical, which for 32 x 2 happens with probability
+ * {@code 1 - (1 - J^2)^32}: about 0.95 at Jaccard 0.3 and 0.27 at 0.1. Candidates are then ranked
+ * by the share of agreeing slots.
+ *
+ * Each item occupies a slot. Per band, a slot is linked into the chain of its band hash
+ * ({@code heads} / {@code next}), newest first; a query walks at most {@code maxBucketScan} entries
+ * per band, so large buckets (a tag everyone uses) cost the same as small ones and favour fresh
+ * items. Chains are doubly linked ({@code prev}), so replacing or removing an item is O(bands)
+ * under the write lock however long its buckets are. About 650 bytes per item; reads share a
+ * lock, writes are exclusive.
+ */
+final class LshIndex {
+
+  static final int BANDS = 32;
+  static final int ROWS = MinHasher.K / BANDS;
+
+  /** Per-item attributes a query can filter on. */
+  interface Filter {
+    boolean test(int region, boolean internal, long languages);
+  }
+
+  private static final int NONE = -1;
+
+  private final int maxBucketScan;
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+  private final Map<Long, Integer> slotOf = new HashMap<>();
+
+  private int capacity;
+  private int highWater; // slots ever used
+  private int size;
+  private int[] free = new int[16];
+  private int freeCount;
+
+  private long[] itemIds;
+  private char[] signatures; // capacity * K
+  private int[] regions;
+  private boolean[] internal;
+  private long[] languages;
+  private int[] next; // capacity * BANDS
+  private int[] prev; // capacity * BANDS; NONE at a chain head
+  private int[] heads; // BANDS partitions of a power of two each, indexed by band hash
+  private int headBits;
+
+  LshIndex(int initialCapacity, int maxBucketScan) {
+    this.maxBucketScan = maxBucketScan;
+    allocate(Math.max(16, initialCapacity));
+  }
+
+  /** Adds or replaces {@code itemId}. */
+  void put(long itemId, char[] signature, int region, boolean isInternal, long languageMask) {
+    if (signature.length != MinHasher.K) {
+      throw new IllegalArgumentException("signature must have " + MinHasher.K + " slots");
+    }
+    lock.writeLock().lock();
+    try {
+      Integer existing = slotOf.get(itemId);
+      int slot;
+      if (existing != null) {
+        slot = existing;
+        unlink(slot);
+      } else {
+        slot = freeCount > 0 ? free[--freeCount] : nextSlot();
+        slotOf.put(itemId, slot);
+        size++;
+      }
+      itemIds[slot] = itemId;
+      System.arraycopy(signature, 0, signatures, slot * MinHasher.K, MinHasher.K);
+      regions[slot] = region;
+      internal[slot] = isInternal;
+      languages[slot] = languageMask;
+      link(slot);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  boolean remove(long itemId) {
+    lock.writeLock().lock();
+    try {
+      Integer slot = slotOf.remove(itemId);
+      if (slot == null) {
+        return false;
+      }
+      unlink(slot);
+      if (freeCount == free.length) {
+        free = Arrays.copyOf(free, free.length * 2);
+      }
+      free[freeCount++] = slot;
+      size--;
+      return true;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /** Removes every item, keeping the allocated capacity. */
+  void clear() {
+    lock.writeLock().lock();
+    try {
+      slotOf.clear();
+      size = 0;
+      highWater = 0;
+      freeCount = 0;
+      Arrays.fill(heads, NONE);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  boolean contains(long itemId) {
+    lock.readLock().lock();
+    try {
+      return slotOf.containsKey(itemId);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  int size() {
+    lock.readLock().lock();
+    try {
+      return size;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Up to {@code limit} items most similar to {@code itemId} that pass {@code filter}, best first;
+   * empty if the item is not indexed.
+   */
+  List<SimilarItem> query(long itemId, int limit, double minSimilarity, Filter filter) {
+    lock.readLock().lock();
+    try {
+      Integer source = slotOf.get(itemId);
+      if (source == null || limit <= 0) {
+        return List.of();
+      }
+      int s = source;
+      int sigBase = s * MinHasher.K;
+
+      int[] candidates = new int[BANDS * maxBucketScan];
+      int n = 0;
+      for (int b = 0; b < BANDS; b++) {
+        int matched = 0;
+        int walked = 0;
+        for (int p = heads[bucket(b, sigBase)]; p != NONE && matched < maxBucketScan && walked < 2 * maxBucketScan;
+             p = next[p * BANDS + b]) {
+          walked++;
+          // heads is hashed, so a chain may mix band values; keep only true matches
+          if (p != s && sameBand(b, sigBase, p * MinHasher.K)) {
+            candidates[n++] = p;
+            matched++;
+          }
+        }
+      }
+      Arrays.sort(candidates, 0, n);
+
+      int minAgree = (int) Math.ceil(minSimilarity * MinHasher.K);
+      long[] topIds = new long[limit];
+      int[] topScores = new int[limit];
+      int found = 0;
+      for (int i = 0; i < n; i++) {
+        int p = candidates[i];
+        if (i > 0 && candidates[i - 1] == p) {
+          continue;
+        }
+        if (!filter.test(regions[p], internal[p], languages[p])) {
+          continue;
+        }
+        int agree = agreement(sigBase, p * MinHasher.K);
+        if (agree < minAgree || (found == limit && agree <= topScores[limit - 1])) {
+          continue;
+        }
+        // insertion into the small sorted top list
+        int at = found == limit ? limit - 1 : found++;
+        while (at > 0 && topScores[at - 1] < agree) {
+          topScores[at] = topScores[at - 1];
+          topIds[at] = topIds[at - 1];
+          at--;
+        }
+        topScores[at] = agree;
+        topIds[at] = itemIds[p];
+      }
+
+      List<SimilarItem> out = new ArrayList<>(found);
+      for (int i = 0; i < found; i++) {
+        out.add(new SimilarItem(topIds[i], topScores[i] / (double) MinHasher.K));
+      }
+      return out;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private int agreement(int a, int b) {
+    int agree = 0;
+    for (int i = 0; i < MinHasher.K; i++) {
+      if (signatures[a + i] == signatures[b + i]) {
+        agree++;
+      }
+    }
+    return agree;
+  }
+
+  private boolean sameBand(int band, int a, int b) {
+    int off = band * ROWS;
+    for (int r = 0; r < ROWS; r++) {
+      if (signatures[a + off + r] != signatures[b + off + r]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private int bucket(int band, int sigBase) {
+    long h = band;
+    int off = sigBase + band * ROWS;
+    for (int r = 0; r < ROWS; r++) {
+      h = (h << 16) | signatures[off + r];
+    }
+    return (band << headBits) | (int) (MinHasher.mix(h) >>> (64 - headBits));
+  }
+
+  private void link(int slot) {
+    int base = slot * MinHasher.K;
+    for (int b = 0; b < BANDS; b++) {
+      int h = bucket(b, base);
+      int link = slot * BANDS + b;
+      int head = heads[h];
+      next[link] = head;
+      prev[link] = NONE;
+      if (head != NONE) {
+        prev[head * BANDS + b] = slot;
+      }
+      heads[h] = slot;
+    }
+  }
+
+  private void unlink(int slot) {
+    int base = slot * MinHasher.K;
+    for (int b = 0; b < BANDS; b++) {
+      int link = slot * BANDS + b;
+      int p = prev[link];
+      int n = next[link];
+      if (p == NONE) {
+        heads[bucket(b, base)] = n;
+      } else {
+        next[p * BANDS + b] = n;
+      }
+      if (n != NONE) {
+        prev[n * BANDS + b] = p;
+      }
+    }
+  }
+
+  private int nextSlot() {
+    if (highWater == capacity) {
+      grow();
+    }
+    return highWater++;
+  }
+
+  private void allocate(int cap) {
+    capacity = cap;
+    itemIds = new long[cap];
+    signatures = new char[cap * MinHasher.K];
+    regions = new int[cap];
+    internal = new boolean[cap];
+    languages = new long[cap];
+    next = new int[cap * BANDS];
+    prev = new int[cap * BANDS];
+    // about one chain head per item and band keeps hashed chains short
+    headBits = 32 - Integer.numberOfLeadingZeros(cap - 1);
+    heads = new int[BANDS << headBits];
+    Arrays.fill(heads, NONE);
+  }
+
+  /** Doubles every array and relinks the live slots into the larger head table. */
+  private void grow() {
+    long[] oldIds = itemIds;
+    char[] oldSignatures = signatures;
+    int[] oldRegions = regions;
+    boolean[] oldInternal = internal;
+    long[] oldLanguages = languages;
+    int oldCapacity = capacity;
+
+    allocate(oldCapacity * 2);
+    System.arraycopy(oldIds, 0, itemIds, 0, oldCapacity);
+    System.arraycopy(oldSignatures, 0, signatures, 0, oldSignatures.length);
+    System.arraycopy(oldRegions, 0, regions, 0, oldCapacity);
+    System.arraycopy(oldInternal, 0, internal, 0, oldCapacity);
+    System.arraycopy(oldLanguages, 0, languages, 0, oldCapacity);
+
+    boolean[] isFree = new boolean[oldCapacity];
+    for (int i = 0; i < freeCount; i++) {
+      isFree[free[i]] = true;
+    }
+    for (int slot = 0; slot < highWater; slot++) {
+      if (!isFree[slot]) {
+        link(slot);
+      }
+    }
+  }
+}
@@ -0,0 +1,165 @@
+package com.roja.contentplatform.services.related;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * MinHash signatures over an item's tags, category and variant text.
+ *
+ * Features are hashed to 64 bits; slot {@code i} of the signature is the low 16 bits of the
+ * minimum of {@code mix(h ^ seed[i])} over all features (b-bit MinHash: the low bits of the
+ * minimum are uniform, the high bits are not). Two signatures agree in a slot with probability
+ * close to the Jaccard similarity of the feature sets.
+ *
+ * Text features are word bigrams of the HTML with tags and entities dropped; runs of CJK
+ * characters, which have no spaces, count each character as a word. Tags and category are few
+ * next to the text, so they are entered several times under distinct keys to weigh more.
+ */
+final class MinHasher {
+
+  static final int K = 64;
+
+  private static final int TAG_WEIGHT = 8;
+  private static final int CATEGORY_WEIGHT = 4;
+  private static final int MAX_WORDS = 2000; // per text; the opening of a body is enough
+
+  private final long[] seeds = new long[K];
+
+  MinHasher(long seed) {
+    SplittableRandom random = new SplittableRandom(seed);
+    for (int i = 0; i < K; i++) {
+      seeds[i] = random.nextLong();
+    }
+  }
+
+  /** Signature of K slots, or {@code null} when there is nothing to hash. */
+  char[] signature(Collection<String> tags, String category, Collection<String> texts) {
+    long[] min = new long[K];
+    Arrays.fill(min, -1L); // unsigned maximum
+    boolean any = false;
+    for (String tag : tags) {
+      long h = hash("t:" + tag.toLowerCase(Locale.ROOT));
+      for (int w = 0; w < TAG_WEIGHT; w++) {
+        add(min, mix(h + w));
+      }
+      any = true;
+    }
+    if (category != null) {
+      long h = hash("c:" + category.toLowerCase(Locale.ROOT));
+      for (int w = 0; w < CATEGORY_WEIGHT; w++) {
+        add(min, mix(h + w));
+      }
+      any = true;
+    }
+    for (String text : texts) {
+      any |= addText(min, text);
+    }
+    if (!any) {
+      return null;
+    }
+    char[] sig = new char[K];
+    for (int i = 0; i < K; i++) {
+      sig[i] = (char) min[i];
+    }
+    return sig;
+  }
+
+  private void add(long[] min, long h) {
+    for (int i = 0; i < K; i++) {
+      long v = mix(h ^ seeds[i]);
+      // unsigned compare so the whole 64-bit range is used
+      if (Long.compareUnsigned(v, min[i]) < 0) {
+        min[i] = v;
+      }
+    }
+  }
+
+  /** Adds word bigrams of {@code html}; returns whether any were added. */
+  private boolean addText(long[] min, String html) {
+    if (html == null) {
+      return false;
+    }
+    long previous = 0;
+    boolean havePrevious = false;
+    boolean added = false;
+    int words = 0;
+    int n = html.length();
+    int i = 0;
+    StringBuilder word = new StringBuilder();
+    while (i < n && words < MAX_WORDS) {
+      char c = html.charAt(i);
+      if (c == '<') {
+        int end = html.indexOf('>', i);
+        i = end < 0 ? n : end + 1;
+        continue;
+      }
+      if (c == '&') {
+        int end = html.indexOf(';', i);
+        if (end > 0 && end - i <= 10) {
+          i = end + 1;
+          continue;
+        }
+      }
+      int cp = html.codePointAt(i);
+      i += Character.charCount(cp);
+      boolean cjk = isCjk(cp);
+      if (Character.isLetterOrDigit(cp) && !cjk) {
+        word.appendCodePoint(Character.toLowerCase(cp));
+        continue;
+      }
+      if (word.length() > 0) {
+        long h = hash(word);
+        if (havePrevious) {
+          add(min, mix(previous * 31 + h));
+          added = true;
+        }
+        previous = h;
+        havePrevious = true;
+        words++;
+        word.setLength(0);
+      }
+      if (cjk) {
+        long h = cp;
+        if (havePrevious) {
+          add(min, mix(previous * 31 + h));
+          added = true;
+        }
+        previous = h;
+        havePrevious = true;
+        words++;
+      }
+    }
+    if (word.length() > 0 && havePrevious) {
+      add(min, mix(previous * 31 + hash(word)));
+      added = true;
+    }
+    return added;
+  }
+
+  private static boolean isCjk(int cp) {
+    Character.UnicodeScript script = Character.UnicodeScript.of(cp);
+    return script == Character.UnicodeScript.HAN
+        || script == Character.UnicodeScript.HIRAGANA
+        || script == Character.UnicodeScript.KATAKANA
+        || script == Character.UnicodeScript.HANGUL;
+  }
+
+  /** FNV-1a over UTF-16 units. */
+  private static long hash(CharSequence s) {
+    long h = 0xcbf29ce484222325L;
+    for (int i = 0; i < s.length(); i++) {
+      h ^= s.charAt(i);
+      h *= 0x100000001b3L;
+    }
+    return h;
+  }
+
+  /** SplitMix64 finaliser. */
+  static long mix(long z) {
+    z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+    z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+    return z ^ (z >>> 31);
+  }
+}
@@ -0,0 +1,243 @@
+package com.roja.contentplatform.services.related;
+
+import com.roja.contentplatform.services.Audience;
+import com.roja.contentplatform.services.changelog.ContentChange;
+import com.roja.contentplatform.services.changelog.ContentChangeListener;
+import com.roja.contentplatform.services.sharding.ShardRouter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-memory related-content index over published items (see {@link LshIndex}).
+ *
+ * Each item's MinHash signature covers its tags, category and the titles and bodies of all its
+ * variants. The index is built from the database once the application is ready and then kept
+ * current as a change log consumer: every create, variant upsert and publish re-reads the item,
+ * indexing it if published and dropping it otherwise. Like the other read-side copies it holds
+ * nothing that cannot be rebuilt, so it is not persisted.
+ */
+@Component
+public class RelatedContentIndex implements ContentChangeListener {
+
+  private static final Logger log = LoggerFactory.getLogger(RelatedContentIndex.class);
+
+  private static final String ITEM_SQL = """
+      SELECT i.id, i.status, i.region, i.internal, i.category,
+             (SELECT string_agg(t.tag, chr(31)) FROM content_tags t WHERE t.content_id = i.id) AS tags,
+             v.language_code, v.title, v.body_html
+      FROM content_item i LEFT JOIN content_variant v ON v.content_item_id = i.id
+      """;
+
+  private static final long SEED = 0x5eed_1dea_5eedL; // fixed so signatures agree across replicas
+
+  private final MinHasher hasher = new MinHasher(SEED);
+  private final LshIndex index;
+  private final JdbcTemplate jdbc;
+  private final JdbcTemplate scan;
+  private final TransactionTemplate readOnlyTx;
+  private final ShardRouter shards;
+  private final double minSimilarity;
+  private final Map<String, Integer> regionIds = new ConcurrentHashMap<>();
+  private final Map<String, Integer> languageBits = new ConcurrentHashMap<>();
+  private volatile Set<Long> touchedDuringBuild;
+  private final AtomicBoolean building = new AtomicBoolean();
+  private volatile boolean buildAgain;
+
+  public RelatedContentIndex(JdbcTemplate jdbc, PlatformTransactionManager txManager, ShardRouter shards,
+                             MeterRegistry meters,
+                             @Value("${content.related.max-bucket-scan:64}") int maxBucketScan,
+                             @Value("${content.related.min-similarity:0.1}") double minSimilarity) {
+    this.index = new LshIndex(1024, maxBucketScan);
+    this.jdbc = jdbc;
+    this.scan = new JdbcTemplate(jdbc.getDataSource());
+    this.scan.setFetchSize(64); // cursor: bodies can be large
+    this.readOnlyTx = new TransactionTemplate(txManager);
+    this.readOnlyTx.setReadOnly(true);
+    this.shards = shards;
+    this.minSimilarity = minSimilarity;
+    meters.gauge("content.related.items", Tags.empty(), index, LshIndex::size);
+  }
+
+  /**
+   * Published items most similar to {@code itemId}, best first, restricted to {@code regions},
+   * to what {@code audience} may see and, unless {@code languages} is empty, to items with a
+   * variant in one of those languages. Empty while the item is not (yet) indexed.
+   */
+  public List<SimilarItem> similar(long itemId, Collection<String> regions, List<String> languages,
+                                   Audience audience, int limit) {
+    boolean[] regionWanted = new boolean[regionIds.size()];
+    for (String region : regions) {
+      Integer id = regionIds.get(region);
+      if (id != null && id < regionWanted.length) regionWanted[id] = true;
+    }
+    long languageMask = 0;
+    for (String language : languages) {
+      Integer bit = languageBits.get(language.toLowerCase(Locale.ROOT));
+      if (bit != null) languageMask |= 1L << bit;
+    }
+    long languagesWanted = languageMask;
+    boolean anyLanguage = languages.isEmpty();
+    return index.query(itemId, limit, minSimilarity, (region, internal, itemLanguages) ->
+        region < regionWanted.length && regionWanted[region]
+            && audience.canSee(internal)
+            && (anyLanguage || (itemLanguages & languagesWanted) != 0));
+  }
+
+  @Override
+  public String name() {
+    return "related-content";
+  }
+
+  @Override
+  public void onChanges(List<ContentChange> changes) {
+    Set<Long> touched = touchedDuringBuild;
+    changes.stream().map(ContentChange::contentItemId).distinct().forEach(itemId -> {
+      if (touched != null) touched.add(itemId); // the build must not overwrite this with an older read
+      shards.onItem(itemId, () -> {
+        Accumulator acc = new Accumulator(false);
+        jdbc.query(ITEM_SQL + "WHERE i.id = ?", (RowCallbackHandler) acc, itemId);
+        acc.finish();
+        if (!acc.indexed) {
+          index.remove(itemId);
+        }
+        return null;
+      });
+    });
+  }
+
+  @Override
+  public void resync() {
+    build();
+  }
+
+  /** Rebuilds the index from the database; a request while a build runs makes it run once more. */
+  @EventListener(ApplicationReadyEvent.class)
+  public void build() {
+    buildAgain = true;
+    if (!building.compareAndSet(false, true)) {
+      return;
+    }
+    buildAgain = false;
+    // Cleared first, so items dropped while changes were missed go too; changes applied from here
+    // on are recorded and win over the scan
+    index.clear();
+    touchedDuringBuild = ConcurrentHashMap.newKeySet();
+    Thread t = new Thread(() -> {
+      long started = System.nanoTime();
+      try {
+        shards.forEachShard(shard -> readOnlyTx.execute(status -> {
+          Accumulator acc = new Accumulator(true);
+          scan.query(ITEM_SQL + "WHERE i.status = 'PUBLISHED' ORDER BY i.id", acc);
+          acc.finish();
+          return null;
+        }));
+        log.info("related-content index built: {} items in {} ms", index.size(),
+            (System.nanoTime() - started) / 1_000_000);
+      } catch (RuntimeException ex) {
+        log.warn("related-content index build failed; it fills up from the change log only", ex);
+      } finally {
+        touchedDuringBuild = null;
+        building.set(false);
+      }
+      if (buildAgain) {
+        build();
+      }
+    }, "related-index-build");
+    t.setDaemon(true);
+    t.start();
+  }
+
+  // Interning is serialised; the maps stay concurrent for lock-free reads in similar()
+  private synchronized int regionId(String region) {
+    return regionIds.computeIfAbsent(region, r -> regionIds.size());
+  }
+
+  /** Both the full tag and its primary subtag, so {@code en} finds {@code en-US} items. */
+  private long languageMask(String languageCode) {
+    String tag = languageCode.toLowerCase(Locale.ROOT);
+    int dash = tag.indexOf('-');
+    long mask = 1L << languageBit(tag);
+    return dash > 0 ? mask | 1L << languageBit(tag.substring(0, dash)) : mask;
+  }
+
+  private synchronized int languageBit(String tag) {
+    // past 63 languages the rest share the last bit; filtering just becomes looser for them
+    return languageBits.computeIfAbsent(tag, t -> Math.min(languageBits.size(), 63));
+  }
+
+  /** Folds the one-row-per-variant result into one index entry per item. */
+  private final class Accumulator implements RowCallbackHandler {
+
+    private final boolean building;
+    private long itemId = -1;
+    private boolean published;
+    private String region;
+    private boolean internal;
+    private String category;
+    private List<String> tags = List.of();
+    private final List<String> texts = new ArrayList<>();
+    private long languages;
+    boolean indexed;
+
+    Accumulator(boolean building) {
+      this.building = building;
+    }
+
+    @Override
+    public void processRow(ResultSet rs) throws SQLException {
+      long id = rs.getLong("id");
+      if (id != itemId) {
+        finish();
+        itemId = id;
+        published = "PUBLISHED".equals(rs.getString("status"));
+        region = rs.getString("region");
+        internal = rs.getBoolean("internal");
+        category = rs.getString("category");
+        String joined = rs.getString("tags");
+        tags = joined == null ? List.of() : List.of(joined.split("\u001f"));
+      }
+      String language = rs.getString("language_code");
+      if (language != null) {
+        texts.add(rs.getString("title"));
+        texts.add(rs.getString("body_html"));
+        languages |= languageMask(language);
+      }
+    }
+
+    void finish() {
+      if (itemId >= 0 && published && !texts.isEmpty()) {
+        Set<Long> touched = touchedDuringBuild;
+        if (!building || touched == null || !touched.contains(itemId)) {
+          char[] signature = hasher.signature(tags, category, texts);
+          if (signature != null) {
+            index.put(itemId, signature, regionId(region), internal, languages);
+            indexed = true;
+          }
+        }
+      }
+      texts.clear();
+      languages = 0;
+    }
+  }
+}
@@ -0,0 +1,4 @@
+package com.roja.contentplatform.services.related;
+
+/** @param similarity estimated Jaccard similarity of the two items' features, 0..1 */
+public record SimilarItem(long itemId, double similarity) {}
@@ -0,0 +1,165 @@
+package com.roja.contentplatform.services.revisions;
+
+import com.roja.contentplatform.api.dto.RevisionDiffResponse;
+import com.roja.contentplatform.api.dto.RevisionResponse;
+import com.roja.contentplatform.api.dto.RevisionSummaryResponse;
+import com.roja.contentplatform.model.ContentRevision;
+import com.roja.contentplatform.model.ContentVariant;
+import com.roja.contentplatform.repository.ContentRevisionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Append-only revision history for language variants.
+ *
+ * Revisions are keyed per (item, language) and numbered from 1. Bodies are stored as deflated
+ * snapshots every {@code snapshot-interval} revisions and as deflated token deltas against the
+ * previous revision otherwise; a delta that would not be at most half the snapshot is stored as a
+ * snapshot instead. The chain is written in the same transaction as the variant, and the unique
+ * (item, language, revision) key makes a concurrent writer fail rather than fork the chain.
+ */
+@Service
+public class RevisionHistory {
+
+  private static final int CONTEXT_CHARS = 80;
+
+  private final ContentRevisionRepository repo;
+  private final int snapshotInterval;
+
+  public RevisionHistory(ContentRevisionRepository repo,
+                         @Value("${content.revisions.snapshot-interval:16}") int snapshotInterval) {
+    this.repo = repo;
+    this.snapshotInterval = Math.max(1, snapshotInterval);
+  }
+
+  /** Variant state before an update; {@code null} for a variant that is being created. */
+  public record Previous(String title, String bodyHtml, String updatedBy, Instant updatedAt) {
+    public static Previous of(ContentVariant v) {
+      return v.getId() == null ? null : new Previous(v.getTitle(), v.getBodyHtml(), v.getUpdatedBy(), v.getUpdatedAt());
+    }
+  }
+
+  /**
+   * Records the saved state of {@code variant}. {@code previous} must be the state the variant
+   * had before this transaction changed it, which is what the latest revision holds.
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void record(ContentVariant variant, Previous previous) {
+    Long itemId = variant.getContentItem().getId();
+    String lang = variant.getLanguageCode();
+
+    ContentRevision latest = repo.findFirstByContentItemIdAndLanguageCodeOrderByRevisionDesc(itemId, lang).orElse(null);
+    if (latest == null && previous != null) {
+      // Variant predates revision history: keep what it looked like as revision 1
+      latest = repo.save(snapshot(itemId, lang, 1, previous.title(), previous.bodyHtml(),
+          previous.updatedBy(), previous.updatedAt()));
+    }
+    if (latest == null) {
+      repo.save(snapshot(itemId, lang, 1, variant.getTitle(), variant.getBodyHtml(),
+          variant.getUpdatedBy(), variant.getUpdatedAt()));
+      return;
+    }
+    if (previous != null
+        && previous.title().equals(variant.getTitle())
+        && previous.bodyHtml().equals(variant.getBodyHtml())) {
+      return; // e.g. only the default-language flag changed
+    }
+
+    int next = latest.getRevision() + 1;
+    int lastSnapshot = latest.isSnapshot()
+        ? latest.getRevision()
+        : repo.findFirstByContentItemIdAndLanguageCodeAndSnapshotTrueAndRevisionLessThanEqualOrderByRevisionDesc(
+            itemId, lang, latest.getRevision()).map(ContentRevision::getRevision).orElse(0);
+
+    ContentRevision rev = snapshot(itemId, lang, next, variant.getTitle(), variant.getBodyHtml(),
+        variant.getUpdatedBy(), variant.getUpdatedAt());
+    if (next - lastSnapshot < snapshotInterval) {
+      String base = previous != null ? previous.bodyHtml() : rebuild(itemId, lang, latest.getRevision()).bodyHtml();
+      byte[] delta = TextDelta.encode(base, variant.getBodyHtml());
+      if (delta.length * 2 <= rev.getData().length) {
+        rev.setSnapshot(false);
+        rev.setData(delta);
+        rev.setStoredBytes(delta.length);
+      }
+    }
+    repo.save(rev);
+  }
+
+  @Transactional(readOnly = true)
+  public List<RevisionSummaryResponse> list(Long itemId, String lang) {
+    return repo.findByContentItemIdAndLanguageCodeOrderByRevisionDesc(itemId, lang).stream()
+        .map(r -> new RevisionSummaryResponse(r.getRevision(), r.isSnapshot(), r.getTitle(),
+            r.getBodyLength(), r.getStoredBytes(), r.getCreatedAt(), r.getCreatedBy()))
+        .toList();
+  }
+
+  @Transactional(readOnly = true)
+  public RevisionResponse get(Long itemId, String lang, int revision) {
+    return rebuild(itemId, lang, revision);
+  }
+
+  @Transactional(readOnly = true)
+  public RevisionDiffResponse diff(Long itemId, String lang, int from, int to) {
+    RevisionResponse a = rebuild(itemId, lang, from);
+    RevisionResponse b = rebuild(itemId, lang, to);
+
+    List<RevisionDiffResponse.Change> changes = new ArrayList<>();
+    for (TextDelta.Edit e : TextDelta.diff(a.bodyHtml(), b.bodyHtml())) {
+      String text = e.text();
+      if (e.op() == TextDelta.Op.EQUAL && text.length() > 2 * CONTEXT_CHARS + 3) {
+        text = text.substring(0, CONTEXT_CHARS) + "..." + text.substring(text.length() - CONTEXT_CHARS);
+      }
+      changes.add(new RevisionDiffResponse.Change(e.op().name(), text, e.text().length()));
+    }
+    return new RevisionDiffResponse(itemId, lang, from, to, a.title(), b.title(), changes);
+  }
+
+  /** Nearest snapshot at or below {@code revision}, then forward through the deltas. */
+  private RevisionResponse rebuild(Long itemId, String lang, int revision) {
+    ContentRevision base = repo
+        .findFirstByContentItemIdAndLanguageCodeAndSnapshotTrueAndRevisionLessThanEqualOrderByRevisionDesc(itemId, lang, revision)
+        .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "revision not found"));
+
+    ContentRevision last = base;
+    String body = TextDelta.utf8(TextDelta.inflate(base.getData()));
+    if (base.getRevision() < revision) {
+      for (ContentRevision r : repo.findByContentItemIdAndLanguageCodeAndRevisionBetweenOrderByRevisionAsc(
+          itemId, lang, base.getRevision() + 1, revision)) {
+        body = r.isSnapshot() ? TextDelta.utf8(TextDelta.inflate(r.getData())) : TextDelta.apply(body, r.getData());
+        last = r;
+      }
+    }
+    if (last.getRevision() != revision) {
+      throw new ResponseStatusException(HttpStatus.NOT_FOUND, "revision not found");
+    }
+    if (body.length() != last.getBodyLength()) {
+      throw new IllegalStateException("revision chain corrupt for item " + itemId + "/" + lang + " at " + revision);
+    }
+    return new RevisionResponse(itemId, lang, last.getRevision(), last.getTitle(), body, last.getCreatedAt(), last.getCreatedBy());
+  }
+
+  private static ContentRevision snapshot(Long itemId, String lang, int revision, String title, String body,
+                                          String actor, Instant at) {
+    ContentRevision r = new ContentRevision();
+    r.setContentItemId(itemId);
+    r.setLanguageCode(lang);
+    r.setRevision(revision);
+    r.setSnapshot(true);
+    r.setTitle(title);
+    r.setData(TextDelta.deflate(TextDelta.utf8(body)));
+    r.setBodyLength(body.length());
+    r.setStoredBytes(r.getData().length);
+    r.setCreatedAt(Objects.requireNonNullElseGet(at, Instant::now));
+    r.setCreatedBy(actor);
+    return r;
+  }
+}
@@ -0,0 +1,276 @@
+package com.roja.contentplatform.services.revisions;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Token-level text diff and a compact delta encoding for revision storage.
+ *
+ * Common prefix/suffix are trimmed at character level, the remaining middle is tokenised
+ * (words, whitespace and HTML tag boundaries) and diffed with Myers' O(ND) algorithm. If the
+ * edit distance exceeds {@link #MAX_EDIT_TOKENS} the middle is treated as one replacement, which
+ * keeps the worst case bounded. Deltas are COPY/SKIP/INSERT ops over the base, deflated.
+ */
+final class TextDelta {
+
+  enum Op { EQUAL, DELETE, INSERT }
+
+  record Edit(Op op, String text) {}
+
+  static final int MAX_EDIT_TOKENS = 512;
+
+  private static final byte FORMAT = 1;
+  private static final int COPY = 'C';
+  private static final int SKIP = 'S';
+  private static final int INSERT = 'I';
+
+  private TextDelta() {}
+
+  /** Edit script turning {@code base} into {@code target}; adjacent edits of one kind are merged. */
+  static List<Edit> diff(String base, String target) {
+    int prefix = 0;
+    int max = Math.min(base.length(), target.length());
+    while (prefix < max && base.charAt(prefix) == target.charAt(prefix)) prefix++;
+    int suffix = 0;
+    while (suffix < max - prefix
+        && base.charAt(base.length() - 1 - suffix) == target.charAt(target.length() - 1 - suffix)) suffix++;
+    // Never split a surrogate pair: INSERT text is encoded as UTF-8
+    if (prefix > 0 && Character.isHighSurrogate(base.charAt(prefix - 1))) prefix--;
+    if (suffix > 0 && Character.isLowSurrogate(base.charAt(base.length() - suffix))) suffix--;
+
+    List<Edit> edits = new ArrayList<>();
+    add(edits, Op.EQUAL, base.substring(0, prefix));
+    String a = base.substring(prefix, base.length() - suffix);
+    String b = target.substring(prefix, target.length() - suffix);
+    if (!a.isEmpty() || !b.isEmpty()) {
+      List<Edit> middle = myers(tokenize(a), tokenize(b));
+      if (middle == null) {
+        add(edits, Op.DELETE, a);
+        add(edits, Op.INSERT, b);
+      } else {
+        for (Edit e : middle) add(edits, e.op(), e.text());
+      }
+    }
+    add(edits, Op.EQUAL, base.substring(base.length() - suffix));
+    return edits;
+  }
+
+  static byte[] encode(String base, String target) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    out.write(FORMAT);
+    for (Edit e : diff(base, target)) {
+      switch (e.op()) {
+        case EQUAL -> { out.write(COPY); writeVarint(out, e.text().length()); }
+        case DELETE -> { out.write(SKIP); writeVarint(out, e.text().length()); }
+        case INSERT -> {
+          byte[] bytes = e.text().getBytes(StandardCharsets.UTF_8);
+          out.write(INSERT);
+          writeVarint(out, bytes.length);
+          out.write(bytes, 0, bytes.length);
+        }
+      }
+    }
+    return deflate(out.toByteArray());
+  }
+
+  static String apply(String base, byte[] delta) {
+    byte[] ops = inflate(delta);
+    if (ops.length == 0 || ops[0] != FORMAT) {
+      throw new IllegalArgumentException("unknown delta format");
+    }
+    StringBuilder sb = new StringBuilder(base.length() + 256);
+    int[] pos = {1};
+    int cursor = 0;
+    while (pos[0] < ops.length) {
+      int op = ops[pos[0]++];
+      int n = readVarint(ops, pos);
+      int limit = op == INSERT ? ops.length - pos[0] : base.length() - cursor;
+      if (n < 0 || n > limit) {
+        throw new IllegalArgumentException("corrupt delta: length " + n + " out of range");
+      }
+      switch (op) {
+        case COPY -> { sb.append(base, cursor, cursor + n); cursor += n; }
+        case SKIP -> cursor += n;
+        case INSERT -> { sb.append(new String(ops, pos[0], n, StandardCharsets.UTF_8)); pos[0] += n; }
+        default -> throw new IllegalArgumentException("corrupt delta op " + op);
+      }
+    }
+    return sb.toString();
+  }
+
+  static byte[] deflate(byte[] data) {
+    Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+    try {
+      deflater.setInput(data);
+      deflater.finish();
+      ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+      byte[] buf = new byte[8192];
+      while (!deflater.finished()) {
+        out.write(buf, 0, deflater.deflate(buf));
+      }
+      return out.toByteArray();
+    } finally {
+      deflater.end();
+    }
+  }
+
+  static byte[] inflate(byte[] data) {
+    Inflater inflater = new Inflater();
+    try {
+      inflater.setInput(data);
+      ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 4);
+      byte[] buf = new byte[8192];
+      while (!inflater.finished()) {
+        int n = inflater.inflate(buf);
+        if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+          throw new IllegalArgumentException("truncated compressed data");
+        }
+        out.write(buf, 0, n);
+      }
+      return out.toByteArray();
+    } catch (DataFormatException ex) {
+      throw new IllegalArgumentException("corrupt compressed data", ex);
+    } finally {
+      inflater.end();
+    }
+  }
+
+  /** Tokens end after whitespace or '>' and start before '<', so tags and words diff as units. */
+  static String[] tokenize(String s) {
+    List<String> tokens = new ArrayList<>();
+    int start = 0;
+    for (int i = 0; i < s.length(); i++) {
+      char c = s.charAt(i);
+      if (c == '<' && i > start) {
+        tokens.add(s.substring(start, i));
+        start = i;
+      }
+      if (c == '>' || Character.isWhitespace(c)) {
+        tokens.add(s.substring(start, i + 1));
+        start = i + 1;
+      }
+    }
+    if (start < s.length()) tokens.add(s.substring(start));
+    return tokens.toArray(String[]::new);
+  }
+
+  /** Myers shortest edit script over tokens, or {@code null} beyond {@link #MAX_EDIT_TOKENS}. */
+  private static List<Edit> myers(String[] a, String[] b) {
+    // Compare interned ids instead of strings in the inner loop
+    Map<String, Integer> ids = new HashMap<>();
+    int[] x1 = new int[a.length];
+    int[] y1 = new int[b.length];
+    for (int i = 0; i < a.length; i++) x1[i] = ids.computeIfAbsent(a[i], k -> ids.size());
+    for (int i = 0; i < b.length; i++) y1[i] = ids.computeIfAbsent(b[i], k -> ids.size());
+
+    int n = a.length;
+    int m = b.length;
+    int cap = Math.min(n + m, MAX_EDIT_TOKENS);
+    int off = cap + 1;
+    int[] v = new int[2 * cap + 3];
+    List<int[]> trace = new ArrayList<>();
+    for (int d = 0; d <= cap; d++) {
+      trace.add(Arrays.copyOfRange(v, off - d - 1, off + d + 2));
+      for (int k = -d; k <= d; k += 2) {
+        int x = (k == -d || (k != d && v[off + k - 1] < v[off + k + 1])) ? v[off + k + 1] : v[off + k - 1] + 1;
+        int y = x - k;
+        while (x < n && y < m && x1[x] == y1[y]) {
+          x++;
+          y++;
+        }
+        v[off + k] = x;
+        if (x >= n && y >= m) {
+          return backtrack(trace, a, b, d);
+        }
+      }
+    }
+    return null;
+  }
+
+  private static List<Edit> backtrack(List<int[]> trace, String[] a, String[] b, int dEnd) {
+    List<Edit> reversed = new ArrayList<>();
+    int x = a.length;
+    int y = b.length;
+    for (int d = dEnd; d > 0; d--) {
+      int[] v = trace.get(d); // state before round d, window [-d-1, d+1]
+      int base = d + 1;
+      int k = x - y;
+      int prevK = (k == -d || (k != d && v[base + k - 1] < v[base + k + 1])) ? k + 1 : k - 1;
+      int prevX = v[base + prevK];
+      int prevY = prevX - prevK;
+      while (x > prevX && y > prevY) {
+        reversed.add(new Edit(Op.EQUAL, a[--x]));
+        y--;
+      }
+      if (x == prevX) {
+        reversed.add(new Edit(Op.INSERT, b[--y]));
+      } else {
+        reversed.add(new Edit(Op.DELETE, a[--x]));
+      }
+    }
+    while (x > 0 && y > 0) {
+      reversed.add(new Edit(Op.EQUAL, a[--x]));
+      y--;
+    }
+    List<Edit> out = new ArrayList<>();
+    StringBuilder run = new StringBuilder();
+    Op runOp = null;
+    for (int i = reversed.size() - 1; i >= 0; i--) {
+      Edit e = reversed.get(i);
+      if (e.op() != runOp && runOp != null) {
+        out.add(new Edit(runOp, run.toString()));
+        run.setLength(0);
+      }
+      runOp = e.op();
+      run.append(e.text());
+    }
+    if (runOp != null) out.add(new Edit(runOp, run.toString()));
+    return out;
+  }
+
+  private static void add(List<Edit> edits, Op op, String text) {
+    if (text.isEmpty()) return;
+    int last = edits.size() - 1;
+    if (last >= 0 && edits.get(last).op() == op) {
+      edits.set(last, new Edit(op, edits.get(last).text() + text));
+    } else {
+      edits.add(new Edit(op, text));
+    }
+  }
+
+  private static void writeVarint(ByteArrayOutputStream out, int value) {
+    while ((value & ~0x7F) != 0) {
+      out.write((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    out.write(value);
+  }
+
+  private static int readVarint(byte[] buf, int[] pos) {
+    int value = 0;
+    for (int shift = 0; ; shift += 7) {
+      if (pos[0] >= buf.length || shift > 28) {
+        throw new IllegalArgumentException("corrupt delta: bad length");
+      }
+      byte b = buf[pos[0]++];
+      value |= (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) return value;
+    }
+  }
+
+  static String utf8(byte[] bytes) {
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  static byte[] utf8(String s) {
+    return s.getBytes(StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,24 @@
+package com.roja.contentplatform.services.sharding;
+
+/**
+ * Shard the current thread talks to. Read by the routing DataSource whenever a physical
+ * connection is opened; {@code null} means the home shard. Set through {@link ShardRouter}.
+ */
+public final class ShardContext {
+
+  private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+  private ShardContext() {}
+
+  public static Integer current() {
+    return CURRENT.get();
+  }
+
+  static void set(Integer shard) {
+    if (shard == null) {
+      CURRENT.remove();
+    } else {
+      CURRENT.set(shard);
+    }
+  }
+}
@@ -0,0 +1,185 @@
+package com.roja.contentplatform.services.sharding;
+
+import com.roja.contentplatform.config.ShardingProperties;
+import jakarta.annotation.PreDestroy;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Maps regions and item ids to shards and runs work against a shard.
+ *
+ * Items live on the shard of their region. Item ids encode that shard ({@code id % shardCount}),
+ * so anything keyed by item id can be routed without a lookup. With sharding disabled there is a
+ * single shard and every method degenerates to running the work in place.
+ *
+ * Binding is by thread: {@link #onShard} scopes it to a block, {@link #bindItem}/{@link #bindRegion}
+ * to the rest of the current web request (ShardRoutingInterceptor clears it). The DataSource
+ * resolves the shard when a connection is first used, so binding inside a transactional method is
+ * fine as long as it happens before the first query.
+ */
+@Component
+public class ShardRouter {
+
+  private final boolean enabled;
+  private final List<String> names = new ArrayList<>();
+  private final Map<String, Integer> regionToShard = new HashMap<>();
+  private final long scatterTimeoutMs;
+  private final ExecutorService scatterPool;
+
+  public ShardRouter(ShardingProperties props) {
+    this.enabled = props.enabled() && !props.shards().isEmpty();
+    this.scatterTimeoutMs = props.scatterTimeoutMs();
+    if (enabled) {
+      for (int i = 0; i < props.shards().size(); i++) {
+        ShardingProperties.Shard shard = props.shards().get(i);
+        names.add(shard.name());
+        for (String region : shard.regions()) {
+          if (regionToShard.putIfAbsent(region, i) != null) {
+            throw new IllegalStateException("region " + region + " is assigned to more than one shard");
+          }
+        }
+      }
+    } else {
+      names.add("default");
+    }
+    this.scatterPool = Executors.newFixedThreadPool(names.size(), r -> {
+      Thread t = new Thread(r, "shard-scatter");
+      t.setDaemon(true);
+      return t;
+    });
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public int shardCount() {
+    return names.size();
+  }
+
+  public String shardName(int shard) {
+    return names.get(shard);
+  }
+
+  /** Regions not assigned anywhere live on the home shard. */
+  public int shardForRegion(String region) {
+    return regionToShard.getOrDefault(region, 0);
+  }
+
+  public int shardForItem(long itemId) {
+    return (int) Math.floorMod(itemId, (long) names.size());
+  }
+
+  /** Shards holding any of {@code regions}, ascending. */
+  public SortedSet<Integer> shardsForRegions(Collection<String> regions) {
+    SortedSet<Integer> shards = new TreeSet<>();
+    for (String region : regions) shards.add(shardForRegion(region));
+    return shards;
+  }
+
+  public <T> T onShard(int shard, Supplier<T> work) {
+    if (!enabled) {
+      return work.get();
+    }
+    Integer previous = ShardContext.current();
+    ShardContext.set(shard);
+    try {
+      return work.get();
+    } finally {
+      ShardContext.set(previous);
+    }
+  }
+
+  public <T> T onRegion(String region, Supplier<T> work) {
+    return onShard(shardForRegion(region), work);
+  }
+
+  public <T> T onItem(long itemId, Supplier<T> work) {
+    return onShard(shardForItem(itemId), work);
+  }
+
+  public void bindRegion(String region) {
+    if (enabled) ShardContext.set(shardForRegion(region));
+  }
+
+  public void bindItem(long itemId) {
+    if (enabled) ShardContext.set(shardForItem(itemId));
+  }
+
+  public void unbind() {
+    ShardContext.set(null);
+  }
+
+  /** Runs {@code work} on each shard in turn, e.g. for background jobs. */
+  public void forEachShard(IntFunction<?> work) {
+    for (int shard = 0; shard < names.size(); shard++) {
+      int s = shard;
+      onShard(s, () -> work.apply(s));
+    }
+  }
+
+  /**
+   * Scatter-gather: runs {@code query} on each of {@code shards} in parallel and returns the
+   * per-shard results in shard order for the caller to merge. Fails as a whole (503) if any shard
+   * fails or the scatter takes longer than {@code content.sharding.scatter-timeout-ms}.
+   */
+  public <T> List<T> scatter(Collection<Integer> shards, IntFunction<T> query) {
+    if (shards.size() <= 1) {
+      return shards.stream().map(s -> onShard(s, () -> query.apply(s))).toList();
+    }
+    List<CompletableFuture<T>> futures = shards.stream()
+        .map(s -> CompletableFuture.supplyAsync(() -> onShard(s, () -> query.apply(s)), scatterPool))
+        .toList();
+    try {
+      CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(scatterTimeoutMs, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException ex) {
+      futures.forEach(f -> f.cancel(true));
+      throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "shard query timed out");
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "interrupted");
+    } catch (ExecutionException ex) {
+      if (ex.getCause() instanceof RuntimeException re) throw re;
+      throw new IllegalStateException(ex.getCause());
+    }
+    return futures.stream().map(CompletableFuture::join).toList();
+  }
+
+  public <T> List<T> scatterAll(IntFunction<T> query) {
+    List<Integer> all = new ArrayList<>();
+    for (int i = 0; i < names.size(); i++) all.add(i);
+    return scatter(all, query);
+  }
+
+  /** First shard (home first) on which {@code lookup} finds something; for lookups not keyed by item. */
+  public <T> Optional<T> firstPresent(Supplier<Optional<T>> lookup) {
+    for (int shard = 0; shard < names.size(); shard++) {
+      Optional<T> found = onShard(shard, lookup);
+      if (found.isPresent()) return found;
+    }
+    return Optional.empty();
+  }
+
+  @PreDestroy
+  void shutdown() {
+    scatterPool.shutdownNow();
+  }
+}
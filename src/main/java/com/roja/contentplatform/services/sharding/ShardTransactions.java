@@ -0,0 +1,71 @@
+package com.roja.contentplatform.services.sharding;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Runs work against other shards from a web request, each piece in a transaction of its own.
+ *
+ * The request's open-in-view EntityManager keeps the first connection it is given until the
+ * request ends, so anything later run through it goes to that first shard whatever
+ * {@link ShardRouter} says. While work runs here that EntityManager is set aside, and each
+ * transaction opens (and closes) its own on the right shard. Entities do not outlive the
+ * transaction: map them to responses inside {@code work}. Must not be called inside a transaction.
+ */
+@Component
+public class ShardTransactions {
+
+  private final ShardRouter shards;
+  private final EntityManagerFactory emf;
+  private final TransactionTemplate readOnlyTx;
+  private final TransactionTemplate tx;
+
+  public ShardTransactions(ShardRouter shards, EntityManagerFactory emf, PlatformTransactionManager txManager) {
+    this.shards = shards;
+    this.emf = emf;
+    this.readOnlyTx = new TransactionTemplate(txManager);
+    this.readOnlyTx.setReadOnly(true);
+    this.tx = new TransactionTemplate(txManager);
+  }
+
+  public <T> T read(int shard, Supplier<T> work) {
+    return apart(() -> shards.onShard(shard, () -> readOnlyTx.execute(status -> work.get())));
+  }
+
+  public <T> T readItem(long itemId, Supplier<T> work) {
+    return read(shards.shardForItem(itemId), work);
+  }
+
+  public <T> T write(int shard, Supplier<T> work) {
+    return apart(() -> shards.onShard(shard, () -> tx.execute(status -> work.get())));
+  }
+
+  public <T> T writeItem(long itemId, Supplier<T> work) {
+    return write(shards.shardForItem(itemId), work);
+  }
+
+  /** {@link ShardRouter#firstPresent}, one read-only transaction per shard tried. */
+  public <T> Optional<T> firstPresent(Supplier<Optional<T>> lookup) {
+    return apart(() -> shards.firstPresent(() -> readOnlyTx.execute(status -> lookup.get())));
+  }
+
+  private <T> T apart(Supplier<T> work) {
+    if (TransactionSynchronizationManager.isActualTransactionActive()) {
+      throw new IllegalStateException("cannot switch shards inside a transaction");
+    }
+    Object requestEntityManager = TransactionSynchronizationManager.unbindResourceIfPossible(emf);
+    try {
+      return work.get();
+    } finally {
+      if (requestEntityManager != null) {
+        TransactionSynchronizationManager.bindResource(emf, requestEntityManager);
+      }
+    }
+  }
+}
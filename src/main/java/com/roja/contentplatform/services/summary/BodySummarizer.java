@@ -0,0 +1,261 @@
+package com.roja.contentplatform.services.summary;
+
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Single forward pass over a body's HTML, without building a tree: markup is skipped as it is
+ * met, text is collapsed into the excerpt until that is full, and words are counted to the end.
+ * Content of {@code script}, {@code style} and similar elements is not text; block-level tags
+ * separate words. Malformed markup degrades to text rather than failing.
+ */
+final class BodySummarizer {
+
+  private static final int WORDS_PER_MINUTE = 230;
+  private static final int CJK_CHARS_PER_MINUTE = 500;
+
+  private static final Set<String> RAW_TEXT = Set.of("script", "style", "noscript", "template", "textarea");
+  private static final Set<String> BLOCKS = Set.of(
+      "p", "div", "br", "hr", "li", "ul", "ol", "dl", "dt", "dd", "h1", "h2", "h3", "h4", "h5", "h6",
+      "blockquote", "pre", "table", "tr", "td", "th", "section", "article", "header", "footer",
+      "figure", "figcaption", "aside", "nav", "main");
+
+  private final int excerptChars;
+  private final StringBuilder excerpt = new StringBuilder();
+  private boolean excerptFull;
+  private boolean pendingSpace;
+  private boolean inWord;
+  private int words;
+  private int cjkChars;
+  private String firstImageSrc;
+
+  BodySummarizer(int excerptChars) {
+    this.excerptChars = excerptChars;
+  }
+
+  BodySummary summarize(String html) {
+    if (html != null) {
+      scan(html);
+    }
+    int minutes = (int) Math.ceil(words / (double) WORDS_PER_MINUTE + cjkChars / (double) CJK_CHARS_PER_MINUTE);
+    return new BodySummary(finishExcerpt(), words + cjkChars, minutes, firstImageSrc);
+  }
+
+  private void scan(String html) {
+    int n = html.length();
+    int i = 0;
+    while (i < n) {
+      char c = html.charAt(i);
+      if (c == '<') {
+        int end = markup(html, i);
+        if (end > i) {
+          i = end;
+          continue;
+        }
+      } else if (c == '&') {
+        int end = entity(html, i);
+        if (end > i) {
+          i = end;
+          continue;
+        }
+      }
+      int cp = html.codePointAt(i);
+      text(cp);
+      i += Character.charCount(cp);
+    }
+  }
+
+  /** Consumes a tag, comment or declaration at {@code start}; returns where text resumes, or {@code start} if it is not markup. */
+  private int markup(String html, int start) {
+    int n = html.length();
+    if (html.startsWith("<!--", start)) {
+      int close = html.indexOf("-->", start + 4);
+      return close < 0 ? n : close + 3;
+    }
+    if (start + 1 >= n) {
+      return start;
+    }
+    char first = html.charAt(start + 1);
+    if (first == '!' || first == '?') {
+      int close = html.indexOf('>', start);
+      return close < 0 ? n : close + 1;
+    }
+    boolean closing = first == '/';
+    int nameStart = closing ? start + 2 : start + 1;
+    int p = nameStart;
+    while (p < n && isNameChar(html.charAt(p))) {
+      p++;
+    }
+    if (p == nameStart || !Character.isLetter(html.charAt(nameStart))) {
+      return start; // a lone '<' in text
+    }
+    String name = html.substring(nameStart, p).toLowerCase(Locale.ROOT);
+    int tagEnd = tagEnd(html, p);
+
+    if (BLOCKS.contains(name)) {
+      boundary();
+    }
+    if (!closing && "img".equals(name) && firstImageSrc == null) {
+      firstImageSrc = imageSrc(html, p, tagEnd);
+    }
+    if (!closing && RAW_TEXT.contains(name) && html.charAt(tagEnd - 1) == '>' && html.charAt(tagEnd - 2) != '/') {
+      // Skip to the matching end tag; its content is not text
+      for (int q = html.indexOf("</", tagEnd); q >= 0; q = html.indexOf("</", q + 2)) {
+        if (html.regionMatches(true, q + 2, name, 0, name.length())) {
+          return tagEnd(html, q + 2 + name.length());
+        }
+      }
+      return n;
+    }
+    return tagEnd;
+  }
+
+  /** Index after the {@code >} closing a tag whose attributes start at {@code from}, honouring quotes. */
+  private static int tagEnd(String html, int from) {
+    char quote = 0;
+    for (int i = from; i < html.length(); i++) {
+      char c = html.charAt(i);
+      if (quote != 0) {
+        if (c == quote) quote = 0;
+      } else if (c == '"' || c == '\'') {
+        quote = c;
+      } else if (c == '>') {
+        return i + 1;
+      }
+    }
+    return html.length();
+  }
+
+  /** The {@code src} attribute within {@code [from, to)}, or {@code null} if absent or unusable. */
+  private static String imageSrc(String html, int from, int to) {
+    int i = from;
+    while (i < to) {
+      while (i < to && !isNameChar(html.charAt(i))) i++;
+      int nameStart = i;
+      while (i < to && isNameChar(html.charAt(i))) i++;
+      boolean isSrc = i - nameStart == 3 && html.regionMatches(true, nameStart, "src", 0, 3);
+      while (i < to && Character.isWhitespace(html.charAt(i))) i++;
+      if (i >= to || html.charAt(i) != '=') {
+        continue; // attribute without a value
+      }
+      i++;
+      while (i < to && Character.isWhitespace(html.charAt(i))) i++;
+      int valueStart;
+      int valueEnd;
+      if (i < to && (html.charAt(i) == '"' || html.charAt(i) == '\'')) {
+        char quote = html.charAt(i);
+        valueStart = i + 1;
+        valueEnd = html.indexOf(quote, valueStart);
+        if (valueEnd < 0 || valueEnd > to) valueEnd = to;
+        i = valueEnd + 1;
+      } else {
+        valueStart = i;
+        while (i < to && !Character.isWhitespace(html.charAt(i)) && html.charAt(i) != '>') i++;
+        valueEnd = i;
+      }
+      if (isSrc) {
+        String src = html.substring(valueStart, valueEnd).trim();
+        // inline data: images can be megabytes and are no use as a card reference
+        boolean usable = !src.isEmpty() && src.length() <= BodySummary.MAX_IMAGE_SRC
+            && !src.regionMatches(true, 0, "data:", 0, 5);
+        return usable ? src : null;
+      }
+    }
+    return null;
+  }
+
+  /** Decodes a character reference at {@code start}; returns where text resumes, or {@code start} if there is none. */
+  private int entity(String html, int start) {
+    int semi = html.indexOf(';', start);
+    if (semi < 0 || semi - start > 10) {
+      return start;
+    }
+    String ref = html.substring(start + 1, semi);
+    int cp;
+    try {
+      if (ref.startsWith("#x") || ref.startsWith("#X")) {
+        cp = Integer.parseInt(ref.substring(2), 16);
+      } else if (ref.startsWith("#")) {
+        cp = Integer.parseInt(ref.substring(1));
+      } else {
+        cp = switch (ref) {
+          case "amp" -> '&';
+          case "lt" -> '<';
+          case "gt" -> '>';
+          case "quot" -> '"';
+          case "apos" -> '\'';
+          case "nbsp" -> ' ';
+          case "mdash" -> '—';
+          case "ndash" -> '–';
+          case "hellip" -> '…';
+          default -> -1;
+        };
+      }
+    } catch (NumberFormatException ex) {
+      return start;
+    }
+    if (cp < 0 || !Character.isValidCodePoint(cp)) {
+      return start;
+    }
+    if (cp == 0 || (cp >= Character.MIN_SURROGATE && cp <= Character.MAX_SURROGATE)) {
+      cp = 0xFFFD; // as browsers do; a lone surrogate would break the excerpt's encoding
+    }
+    text(cp);
+    return semi + 1;
+  }
+
+  private void text(int cp) {
+    if (Character.isWhitespace(cp) || Character.isSpaceChar(cp)) {
+      boundary();
+      return;
+    }
+    if (isCjk(cp)) {
+      inWord = false;
+      cjkChars++;
+    } else if (Character.isLetterOrDigit(cp)) {
+      if (!inWord) words++;
+      inWord = true;
+    } else {
+      inWord = false;
+    }
+    if (!excerptFull) {
+      if (pendingSpace && excerpt.length() > 0) {
+        excerpt.append(' ');
+      }
+      pendingSpace = false;
+      excerpt.appendCodePoint(cp);
+      excerptFull = excerpt.length() > excerptChars;
+    }
+  }
+
+  private void boundary() {
+    inWord = false;
+    pendingSpace = true;
+  }
+
+  private String finishExcerpt() {
+    if (!excerptFull) {
+      return excerpt.toString();
+    }
+    int cut = excerptChars;
+    if (Character.isLowSurrogate(excerpt.charAt(cut))) {
+      cut--; // never split a surrogate pair
+    }
+    int space = excerpt.lastIndexOf(" ", cut);
+    if (space > excerptChars / 2) {
+      cut = space; // end on a word boundary when there is one reasonably close
+    }
+    return excerpt.substring(0, cut).stripTrailing() + "…";
+  }
+
+  private static boolean isNameChar(char c) {
+    return Character.isLetterOrDigit(c) || c == '-' || c == ':' || c == '_';
+  }
+
+  private static boolean isCjk(int cp) {
+    Character.UnicodeScript script = Character.UnicodeScript.of(cp);
+    return script == Character.UnicodeScript.HAN
+        || script == Character.UnicodeScript.HIRAGANA
+        || script == Character.UnicodeScript.KATAKANA;
+  }
+}
@@ -0,0 +1,19 @@
+package com.roja.contentplatform.services.summary;
+
+/**
+ * Feed card preview of a variant body, derived once when the variant is written and stored with it.
+ *
+ * @param excerpt            leading plain text, at most {@link #EXCERPT_CHARS} characters plus an ellipsis
+ * @param wordCount          words, counting each CJK character as one
+ * @param readingTimeMinutes at least 1 for any text, 0 for an empty body
+ * @param firstImageSrc      {@code src} of the first {@code <img>}, as written; {@code null} if none
+ */
+public record BodySummary(String excerpt, int wordCount, int readingTimeMinutes, String firstImageSrc) {
+
+  public static final int EXCERPT_CHARS = 280;
+  public static final int MAX_IMAGE_SRC = 2048;
+
+  public static BodySummary of(String html) {
+    return new BodySummarizer(EXCERPT_CHARS).summarize(html);
+  }
+}
@@ -0,0 +1,96 @@
+package com.roja.contentplatform.services.summary;
+
+import com.roja.contentplatform.services.sharding.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Derives the card fields of variants written before they existed (or inserted by SQL, like the
+ * seed data), in small id-ordered batches after startup. Rows that gained their fields in the
+ * meantime through an upsert are left alone.
+ */
+@Component
+public class SummaryBackfill {
+
+  private static final Logger log = LoggerFactory.getLogger(SummaryBackfill.class);
+
+  private static final String PENDING_SQL =
+      "SELECT id, body_html FROM content_variant WHERE word_count IS NULL AND id > ? ORDER BY id LIMIT ?";
+  private static final String UPDATE_SQL = """
+      UPDATE content_variant SET excerpt = ?, word_count = ?, reading_time_minutes = ?, first_image_src = ?
+      WHERE id = ? AND word_count IS NULL
+      """;
+
+  private final JdbcTemplate jdbc;
+  private final TransactionTemplate tx;
+  private final ShardRouter shards;
+  private final int batchSize;
+
+  public SummaryBackfill(JdbcTemplate jdbc, PlatformTransactionManager txManager, ShardRouter shards,
+                         @Value("${content.summary.backfill-batch-size:200}") int batchSize) {
+    this.jdbc = jdbc;
+    this.tx = new TransactionTemplate(txManager);
+    this.shards = shards;
+    this.batchSize = batchSize;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    Thread t = new Thread(() -> {
+      try {
+        AtomicLong total = new AtomicLong();
+        shards.forEachShard(shard -> {
+          long after = 0;
+          int n;
+          do {
+            Batch batch = backfill(after);
+            n = batch.rows();
+            after = batch.lastId();
+            total.addAndGet(batch.updated());
+          } while (n == batchSize);
+          return null;
+        });
+        if (total.get() > 0) {
+          log.info("summarised {} existing variants", total.get());
+        }
+      } catch (RuntimeException ex) {
+        log.warn("variant summary backfill failed; cards without excerpts show titles only", ex);
+      }
+    }, "summary-backfill");
+    t.setDaemon(true);
+    t.start();
+  }
+
+  private Batch backfill(long after) {
+    return tx.execute(status -> {
+      List<Object[]> updates = new ArrayList<>();
+      long[] lastId = {after};
+      jdbc.query(PENDING_SQL, rs -> {
+        long id = rs.getLong(1);
+        BodySummary s = BodySummary.of(rs.getString(2));
+        updates.add(new Object[] {s.excerpt(), s.wordCount(), s.readingTimeMinutes(), s.firstImageSrc(), id});
+        lastId[0] = id;
+      }, after, batchSize);
+      int updated = 0;
+      if (!updates.isEmpty()) {
+        for (int count : jdbc.batchUpdate(UPDATE_SQL, updates)) {
+          updated += Math.max(count, 0);
+        }
+      }
+      return new Batch(updates.size(), lastId[0], updated);
+    });
+  }
+
+  private record Batch(int rows, long lastId, int updated) {}
+}
@@ -0,0 +1,150 @@
+package com.roja.contentplatform.services.workflow;
+
+import com.roja.contentplatform.api.dto.BatchTransitionResponse;
+import com.roja.contentplatform.model.ContentItem;
+import com.roja.contentplatform.repository.ContentItemRepository;
+import com.roja.contentplatform.services.changelog.ContentChangeOutbox;
+import com.roja.contentplatform.services.sharding.ShardRouter;
+import com.roja.contentplatform.services.sharding.ShardTransactions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Applies one {@link WorkflowTransition} to many items with a constant number of statements.
+ *
+ * Ids are grouped by shard. Per shard, one transaction locks and validates all of its items with
+ * a single query (status, region and whether a variant exists), then changes every eligible item
+ * with one set-based UPDATE and writes their change events with one insert-select. A batch within
+ * one shard, such as a campaign launch in a region, is therefore all-or-nothing; across shards
+ * each shard commits on its own. Items that are not eligible are reported and left untouched.
+ */
+@Component
+public class BatchTransitions {
+
+  public enum Outcome { TRANSITIONED, UNCHANGED, NOT_FOUND, FORBIDDEN, INVALID_STATE, NO_VARIANT }
+
+  // Locked in id order, so concurrent batches over overlapping ids queue instead of deadlocking
+  private static final String LOCK_SQL = """
+      SELECT i.id, i.region, i.status,
+             EXISTS (SELECT 1 FROM content_variant v WHERE v.content_item_id = i.id) AS has_variant
+      FROM content_item i
+      WHERE i.id IN (:ids)
+      ORDER BY i.id
+      FOR UPDATE OF i
+      """;
+
+  private final ContentItemRepository itemRepo;
+  private final ContentChangeOutbox outbox;
+  private final NamedParameterJdbcTemplate jdbc;
+  private final ShardTransactions shardTx;
+  private final ShardRouter shards;
+  private final int maxIds;
+
+  public BatchTransitions(ContentItemRepository itemRepo, ContentChangeOutbox outbox, NamedParameterJdbcTemplate jdbc,
+                          ShardTransactions shardTx, ShardRouter shards,
+                          @Value("${content.workflow.max-batch-ids:5000}") int maxIds) {
+    this.itemRepo = itemRepo;
+    this.outbox = outbox;
+    this.jdbc = jdbc;
+    this.shardTx = shardTx;
+    this.shards = shards;
+    this.maxIds = maxIds;
+  }
+
+  public BatchTransitionResponse apply(WorkflowTransition transition, List<Long> requested,
+                                       Collection<String> userRegions, String actor) {
+    if (requested == null || requested.isEmpty()) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "ids are required");
+    }
+    Set<Long> ids = new LinkedHashSet<>();
+    for (Long id : requested) {
+      if (id == null) {
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "ids must not contain null");
+      }
+      ids.add(id);
+    }
+    if (ids.size() > maxIds) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "at most " + maxIds + " ids per batch");
+    }
+
+    Map<Integer, List<Long>> byShard = new TreeMap<>();
+    for (long id : ids) {
+      byShard.computeIfAbsent(shards.shardForItem(id), s -> new ArrayList<>()).add(id);
+    }
+    Map<Long, BatchTransitionResponse.Result> results = new HashMap<>();
+    byShard.forEach((shard, shardIds) ->
+        shardTx.write(shard, () -> transitionShard(transition, shardIds, userRegions, actor, results)));
+
+    List<BatchTransitionResponse.Result> ordered = new ArrayList<>(ids.size());
+    int transitioned = 0;
+    for (long id : ids) {
+      BatchTransitionResponse.Result r = results.get(id);
+      ordered.add(r);
+      if (Outcome.TRANSITIONED.name().equals(r.outcome())) transitioned++;
+    }
+    return new BatchTransitionResponse(transition.name(), ids.size(), transitioned, ordered);
+  }
+
+  private Void transitionShard(WorkflowTransition transition, List<Long> ids, Collection<String> userRegions,
+                               String actor, Map<Long, BatchTransitionResponse.Result> results) {
+    Map<Long, Current> current = new HashMap<>();
+    jdbc.query(LOCK_SQL, Map.of("ids", ids), rs -> {
+      current.put(rs.getLong("id"), new Current(rs.getString("region"),
+          ContentItem.Status.valueOf(rs.getString("status")), rs.getBoolean("has_variant")));
+    });
+
+    List<Long> eligible = new ArrayList<>();
+    for (long id : ids) {
+      Current c = current.get(id);
+      Outcome outcome;
+      if (c == null) {
+        outcome = Outcome.NOT_FOUND;
+      } else if (!userRegions.contains(c.region())) {
+        outcome = Outcome.FORBIDDEN;
+      } else if (c.status() == transition.target()) {
+        outcome = Outcome.UNCHANGED;
+      } else if (!transition.allowedFrom(c.status())) {
+        outcome = Outcome.INVALID_STATE;
+      } else if (transition.requiresVariant() && !c.hasVariant()) {
+        outcome = Outcome.NO_VARIANT;
+      } else {
+        eligible.add(id);
+        continue;
+      }
+      boolean visible = c != null && outcome != Outcome.FORBIDDEN;
+      results.put(id, new BatchTransitionResponse.Result(id, outcome.name(), visible ? c.status().name() : null));
+    }
+    if (eligible.isEmpty()) {
+      return null;
+    }
+
+    Instant now = Instant.now();
+    ContentItem.Status target = transition.target();
+    switch (transition) {
+      case APPROVE -> itemRepo.markApproved(eligible, target, actor, now);
+      case PUBLISH -> itemRepo.markPublished(eligible, target, actor, now);
+      case ARCHIVE -> itemRepo.markArchived(eligible, target, actor, now);
+      case UNPUBLISH -> itemRepo.markStatus(eligible, target, actor, now);
+    }
+    outbox.recordAll(transition.event(), eligible, actor, now);
+    for (long id : eligible) {
+      results.put(id, new BatchTransitionResponse.Result(id, Outcome.TRANSITIONED.name(), target.name()));
+    }
+    return null;
+  }
+
+  private record Current(String region, ContentItem.Status status, boolean hasVariant) {}
+}
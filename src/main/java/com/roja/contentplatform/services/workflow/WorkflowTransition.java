@@ -0,0 +1,46 @@
+package com.roja.contentplatform.services.workflow;
+
+import com.roja.contentplatform.model.ContentItem.Status;
+import com.roja.contentplatform.model.OutboxEvent;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/** Editorial status changes that can be applied to many items at once. */
+public enum WorkflowTransition {
+
+  APPROVE(Status.APPROVED, OutboxEvent.Type.APPROVED, false, EnumSet.of(Status.DRAFT, Status.IN_REVIEW)),
+  PUBLISH(Status.PUBLISHED, OutboxEvent.Type.PUBLISHED, true,
+      EnumSet.of(Status.DRAFT, Status.IN_REVIEW, Status.APPROVED, Status.ARCHIVED)),
+  ARCHIVE(Status.ARCHIVED, OutboxEvent.Type.ARCHIVED, false,
+      EnumSet.of(Status.DRAFT, Status.IN_REVIEW, Status.APPROVED, Status.PUBLISHED)),
+  UNPUBLISH(Status.APPROVED, OutboxEvent.Type.UNPUBLISHED, false, EnumSet.of(Status.PUBLISHED));
+
+  private final Status target;
+  private final OutboxEvent.Type event;
+  private final boolean requiresVariant;
+  private final Set<Status> from;
+
+  WorkflowTransition(Status target, OutboxEvent.Type event, boolean requiresVariant, Set<Status> from) {
+    this.target = target;
+    this.event = event;
+    this.requiresVariant = requiresVariant;
+    this.from = from;
+  }
+
+  public Status target() { return target; }
+  public OutboxEvent.Type event() { return event; }
+  /** Same rule as single publish: an item without any language variant has nothing to show. */
+  public boolean requiresVariant() { return requiresVariant; }
+  public boolean allowedFrom(Status status) { return from.contains(status); }
+
+  /** Parses the lower-case path form ({@code approve}, {@code publish}, ...); {@code null} if unknown. */
+  public static WorkflowTransition parse(String value) {
+    try {
+      return valueOf(value.toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException ex) {
+      return null;
+    }
+  }
+}
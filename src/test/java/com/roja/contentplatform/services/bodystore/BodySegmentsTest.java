@@ -0,0 +1,204 @@
+package com.roja.contentplatform.services.bodystore;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BodySegmentsTest {
+
+  private static final int SEGMENT_BYTES = 4096;
+
+  @TempDir
+  Path dir;
+
+  private BodySegments open() throws IOException {
+    BodySegments segments = new BodySegments(dir, SEGMENT_BYTES);
+    segments.recover();
+    return segments;
+  }
+
+  private static byte[] bytes(String s) {
+    return s.getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static String text(ByteBuffer buf) {
+    byte[] out = new byte[buf.remaining()];
+    buf.duplicate().get(out);
+    return new String(out, StandardCharsets.UTF_8);
+  }
+
+  private static String find(BodySegments segments, long variantId, long updatedAt) {
+    ByteBuffer buf = segments.find(variantId, updatedAt, () -> {});
+    return buf == null ? null : text(buf);
+  }
+
+  private Path onlySegment() throws IOException {
+    try (Stream<Path> files = Files.list(dir)) {
+      return files.filter(p -> p.toString().endsWith(".seg")).findFirst().orElseThrow();
+    }
+  }
+
+  @Test
+  void findsTheStampedVersionAndSurvivesReopen() throws IOException {
+    try (BodySegments segments = open()) {
+      assertTrue(segments.put(1, 10, 100, bytes("{\"b\":\"v1\"}")));
+      assertTrue(segments.put(1, 10, 200, bytes("{\"b\":\"v2\"}")));
+      assertTrue(segments.put(2, 20, 100, bytes("{\"b\":\"other\"}")));
+
+      assertEquals("{\"b\":\"v2\"}", find(segments, 10, 200));
+      assertNull(find(segments, 10, 100), "superseded version");
+      assertNull(find(segments, 30, 100), "unknown variant");
+      assertFalse(segments.put(1, 11, 100, new byte[0]), "empty bodies would read as tombstones");
+      assertFalse(segments.put(1, 11, 100, new byte[SEGMENT_BYTES]), "larger than a segment");
+    }
+
+    try (BodySegments reopened = new BodySegments(dir, SEGMENT_BYTES)) {
+      BodySegments.Recovery recovery = reopened.recover();
+      assertEquals(3, recovery.records());
+      assertFalse(recovery.corrupt());
+      assertEquals(2, reopened.size());
+      assertEquals("{\"b\":\"v2\"}", find(reopened, 10, 200));
+      assertEquals("{\"b\":\"other\"}", find(reopened, 20, 100));
+    }
+  }
+
+  @Test
+  void recoversUpToATornWrite() throws IOException {
+    int end;
+    try (BodySegments segments = open()) {
+      segments.put(1, 10, 100, bytes("first"));
+      segments.put(1, 11, 100, bytes("second"));
+      end = 2 * BodySegments.HEADER + "first".length() + "second".length();
+    }
+    // A crash mid-append leaves everything but the magic, which is written last
+    try (RandomAccessFile raf = new RandomAccessFile(onlySegment().toFile(), "rw")) {
+      raf.seek(end + 4);
+      raf.writeInt(5);
+      raf.writeLong(1);
+      raf.writeLong(12);
+    }
+
+    try (BodySegments reopened = new BodySegments(dir, SEGMENT_BYTES)) {
+      BodySegments.Recovery recovery = reopened.recover();
+      assertEquals(2, recovery.records());
+      assertFalse(recovery.corrupt(), "a record without its magic is a clean end");
+      assertEquals("second", find(reopened, 11, 100));
+      assertFalse(reopened.contains(12));
+
+      // Appends continue over the torn record
+      reopened.put(1, 12, 100, bytes("third"));
+    }
+    try (BodySegments reopened = open()) {
+      assertEquals("third", find(reopened, 12, 100));
+    }
+  }
+
+  @Test
+  void stopsAtADamagedRecordAndAppendsElsewhere() throws IOException {
+    try (BodySegments segments = open()) {
+      segments.put(1, 10, 100, bytes("first"));
+      segments.put(1, 11, 100, bytes("second"));
+    }
+    try (RandomAccessFile raf = new RandomAccessFile(onlySegment().toFile(), "rw")) {
+      raf.seek(2L * BodySegments.HEADER + "first".length());
+      raf.write('S'); // payload of the second record
+    }
+
+    try (BodySegments reopened = new BodySegments(dir, SEGMENT_BYTES)) {
+      BodySegments.Recovery recovery = reopened.recover();
+      assertEquals(1, recovery.records());
+      assertTrue(recovery.corrupt());
+      assertEquals("first", find(reopened, 10, 100));
+      assertNull(find(reopened, 11, 100));
+      reopened.put(1, 11, 200, bytes("rewritten"));
+    }
+    try (BodySegments reopened = open()) {
+      assertEquals("rewritten", find(reopened, 11, 200));
+      try (Stream<Path> files = Files.list(dir)) {
+        assertEquals(2, files.filter(p -> p.toString().endsWith(".seg")).count(), "new segment after the damage");
+      }
+    }
+  }
+
+  @Test
+  void dropsARecordThatFailsItsChecksumOnRead() throws IOException {
+    try (BodySegments segments = open()) {
+      segments.put(1, 10, 100, bytes("payload"));
+      try (RandomAccessFile raf = new RandomAccessFile(onlySegment().toFile(), "rw")) {
+        raf.seek(BodySegments.HEADER);
+        raf.write('P'); // the mapping shares the page cache
+      }
+      AtomicInteger corrupt = new AtomicInteger();
+      assertNull(segments.find(10, 100, corrupt::incrementAndGet));
+      assertEquals(1, corrupt.get());
+      assertFalse(segments.contains(10));
+    }
+  }
+
+  @Test
+  void tombstonesSurviveReopen() throws IOException {
+    try (BodySegments segments = open()) {
+      segments.put(1, 10, 100, bytes("en"));
+      segments.put(1, 11, 100, bytes("ja"));
+      segments.put(2, 20, 100, bytes("kept"));
+      segments.removeItem(1);
+      assertFalse(segments.contains(10));
+      assertFalse(segments.contains(11));
+      assertEquals(1, segments.size());
+    }
+    try (BodySegments reopened = open()) {
+      assertNull(find(reopened, 10, 100));
+      assertNull(find(reopened, 11, 100));
+      assertEquals("kept", find(reopened, 20, 100));
+
+      reopened.retainOnly(Set.of());
+      assertEquals(0, reopened.size());
+    }
+    try (BodySegments reopened = open()) {
+      assertEquals(0, reopened.size());
+    }
+  }
+
+  @Test
+  void compactsMostlyDeadSegments() throws IOException {
+    byte[] body = new byte[1000];
+    ByteBuffer earlier;
+    try (BodySegments segments = open()) {
+      segments.put(2, 20, 1, bytes("long lived"));
+      // Ten versions of one variant: the early segments end up holding one live record between them
+      for (int v = 1; v <= 10; v++) {
+        body[0] = (byte) v;
+        segments.put(1, 10, v, body);
+      }
+      earlier = segments.find(20, 1, () -> {});
+      long mappedBefore = segments.mappedBytes();
+
+      int deleted = segments.compact(0.5);
+      assertTrue(deleted > 0);
+      assertTrue(segments.mappedBytes() < mappedBefore);
+      assertEquals("long lived", find(segments, 20, 1));
+      assertEquals(10, segments.find(10, 10, () -> {}).get(0));
+      assertEquals("long lived", text(earlier), "slices handed out before compaction stay readable");
+      assertTrue(segments.liveBytes() <= segments.mappedBytes());
+    }
+    try (BodySegments reopened = open()) {
+      assertEquals(2, reopened.size());
+      assertEquals("long lived", find(reopened, 20, 1));
+      assertEquals(10, reopened.find(10, 10, () -> {}).get(0));
+    }
+  }
+}
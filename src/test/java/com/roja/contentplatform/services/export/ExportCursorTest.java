@@ -0,0 +1,73 @@
+package com.roja.contentplatform.services.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.roja.contentplatform.model.ContentItem;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ExportCursorTest {
+
+  private final ObjectMapper mapper = JsonMapper.builder().findAndAddModules().build();
+
+  private static String token(String json) {
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private void assertRejected(String token) {
+    ResponseStatusException ex = assertThrows(ResponseStatusException.class, () -> ExportCursor.decode(token, mapper));
+    assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+  }
+
+  @Test
+  void roundTripsFiltersAndPosition() {
+    ExportCursor cursor = ExportCursor.start("IN", ContentItem.Status.PUBLISHED,
+        Instant.parse("2024-01-01T00:00:00Z"), Instant.parse("2024-02-01T00:00:00.123456Z")).resumeAfter(4711);
+
+    String token = cursor.encode(mapper);
+    assertFalse(token.matches(".*[+/=].*"), "token must be safe in a query string: " + token);
+    assertEquals(cursor, ExportCursor.decode(token, mapper));
+  }
+
+  @Test
+  void roundTripsWithoutOptionalFilters() {
+    ExportCursor cursor = ExportCursor.start("US", null, null, null);
+    assertEquals(0, cursor.after());
+    assertEquals(cursor, ExportCursor.decode(cursor.encode(mapper), mapper));
+  }
+
+  @Test
+  void resumeKeepsTheFilters() {
+    ExportCursor start = ExportCursor.start("IN", ContentItem.Status.DRAFT, null, Instant.parse("2024-02-01T00:00:00Z"));
+    ExportCursor resumed = start.resumeAfter(10).resumeAfter(20);
+    assertEquals(new ExportCursor("IN", ContentItem.Status.DRAFT, null, start.to(), 20), resumed);
+  }
+
+  @Test
+  void rejectsAnEmptyOrReversedRange() {
+    Instant t = Instant.parse("2024-01-01T00:00:00Z");
+    ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+        () -> ExportCursor.start("IN", null, t, t));
+    assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+    assertThrows(ResponseStatusException.class, () -> ExportCursor.start("IN", null, t, t.minusSeconds(1)));
+  }
+
+  @Test
+  void rejectsMalformedTokens() {
+    assertRejected("not a token!");
+    assertRejected(token("not json"));
+    assertRejected(token("{\"region\":\"IN\",\"status\":\"NOPE\",\"after\":1}"));
+    assertRejected(token("{\"status\":\"PUBLISHED\",\"after\":1}"));
+    assertRejected(token("{\"region\":\"IN\",\"after\":-1}"));
+    assertRejected(token("{\"region\":\"IN\",\"from\":\"yesterday\",\"after\":1}"));
+  }
+}
@@ -0,0 +1,139 @@
+package com.roja.contentplatform.services.related;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Index build and query throughput of {@link LshIndex} at up to 1M items, plus the cost of one
+ * {@link MinHasher} signature. Items are drawn from topics: an item keeps each slot of its
+ * topic's signature with probability 0.6, so items of a topic are similar and the rest are not.
+ *
+ * <pre>
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt -Dmdep.includeScope=test
+ * java -Xmx4g -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *   com.roja.contentplatform.services.related.LshIndexBenchmark
+ * </pre>
+ */
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class LshIndexBenchmark {
+
+  private static final int TOPICS = 5_000;
+  private static final int REGIONS = 3;
+
+  @State(Scope.Benchmark)
+  public static class Signatures {
+
+    @Param({"100000", "1000000"})
+    int items;
+
+    char[][] signatures;
+
+    @Setup(Level.Trial)
+    public void generate() {
+      SplittableRandom random = new SplittableRandom(7);
+      char[][] topics = new char[TOPICS][MinHasher.K];
+      for (char[] topic : topics) {
+        for (int i = 0; i < MinHasher.K; i++) {
+          topic[i] = (char) random.nextInt(1 << 16);
+        }
+      }
+      signatures = new char[items][];
+      for (int n = 0; n < items; n++) {
+        char[] topic = topics[random.nextInt(TOPICS)];
+        char[] sig = new char[MinHasher.K];
+        for (int i = 0; i < MinHasher.K; i++) {
+          sig[i] = random.nextInt(10) < 6 ? topic[i] : (char) random.nextInt(1 << 16);
+        }
+        signatures[n] = sig;
+      }
+    }
+  }
+
+  @State(Scope.Benchmark)
+  public static class Built {
+
+    LshIndex index;
+    int items;
+
+    @Setup(Level.Trial)
+    public void build(Signatures s) {
+      index = fill(s);
+      items = s.items;
+    }
+  }
+
+  @State(Scope.Benchmark)
+  public static class Text {
+
+    MinHasher hasher = new MinHasher(1);
+    String body;
+
+    @Setup(Level.Trial)
+    public void generate() {
+      SplittableRandom random = new SplittableRandom(3);
+      StringBuilder html = new StringBuilder("<p>");
+      for (int w = 0; w < 800; w++) {
+        html.append("word").append(random.nextInt(4000)).append(w % 40 == 39 ? "</p><p>" : " ");
+      }
+      body = html.append("</p>").toString();
+    }
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @OutputTimeUnit(TimeUnit.MILLISECONDS)
+  @Warmup(iterations = 2)
+  @Measurement(iterations = 5)
+  public LshIndex build(Signatures s) {
+    return fill(s);
+  }
+
+  @Benchmark
+  @BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  @Threads(4)
+  public List<SimilarItem> query(Built b) {
+    long itemId = 1 + ThreadLocalRandom.current().nextInt(b.items);
+    return b.index.query(itemId, 10, 0.1, (region, internal, languages) -> region != 2 && !internal);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  @OutputTimeUnit(TimeUnit.MICROSECONDS)
+  public char[] signature(Text t) {
+    return t.hasher.signature(List.of("fx", "rates"), "TRADES", List.of("Quarterly rates outlook", t.body));
+  }
+
+  private static LshIndex fill(Signatures s) {
+    LshIndex index = new LshIndex(1024, 64);
+    for (int n = 0; n < s.items; n++) {
+      index.put(n + 1, s.signatures[n], n % REGIONS, n % 10 == 0, 1L);
+    }
+    return index;
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(LshIndexBenchmark.class.getSimpleName()).build()).run();
+  }
+}
@@ -0,0 +1,116 @@
+package com.roja.contentplatform.services.revisions;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TextDeltaTest {
+
+  private static void assertRoundTrip(String base, String target) {
+    assertEquals(target, TextDelta.apply(base, TextDelta.encode(base, target)));
+  }
+
+  @Test
+  void roundTripsATypicalEdit() {
+    String base = "<p>The quick brown fox jumps over the lazy dog.</p><p>Second paragraph.</p>";
+    String target = "<p>The quick red fox leaps over the lazy dog.</p><h3>New</h3><p>Second paragraph.</p>";
+    assertRoundTrip(base, target);
+
+    List<TextDelta.Edit> edits = TextDelta.diff(base, target);
+    assertEquals(TextDelta.Op.EQUAL, edits.get(0).op());
+    assertTrue(edits.get(0).text().startsWith("<p>The quick "));
+    assertEquals(TextDelta.Op.EQUAL, edits.get(edits.size() - 1).op());
+  }
+
+  @Test
+  void handlesEmptyBaseOrTarget() {
+    assertRoundTrip("", "");
+    assertRoundTrip("", "<p>brand new</p>");
+    assertRoundTrip("<p>all gone</p>", "");
+    assertEquals(List.of(new TextDelta.Edit(TextDelta.Op.INSERT, "abc")), TextDelta.diff("", "abc"));
+    assertEquals(List.of(new TextDelta.Edit(TextDelta.Op.DELETE, "abc")), TextDelta.diff("abc", ""));
+    assertEquals(List.of(), TextDelta.diff("", ""));
+  }
+
+  @Test
+  void neverSplitsASurrogatePair() {
+    // U+1F600 and U+1F601 share their high surrogate, so a char-level prefix would end mid-pair
+    String base = "mood: \uD83D\uDE00 ok";
+    String target = "mood: \uD83D\uDE01 ok";
+    assertRoundTrip(base, target);
+    for (TextDelta.Edit e : TextDelta.diff(base, target)) {
+      String t = e.text();
+      assertTrue(!Character.isLowSurrogate(t.charAt(0)), "edit starts inside a pair: " + e);
+      assertTrue(!Character.isHighSurrogate(t.charAt(t.length() - 1)), "edit ends inside a pair: " + e);
+    }
+
+    // Same low surrogate at the end of the changed region
+    assertRoundTrip("a\uD83D\uDE00", "a\uD83E\uDE00");
+    assertRoundTrip("\uD83D\uDE00\uD83D\uDE00", "\uD83D\uDE00x\uD83D\uDE00");
+  }
+
+  @Test
+  void fallsBackToOneReplacementBeyondMaxEditTokens() {
+    StringBuilder a = new StringBuilder();
+    StringBuilder b = new StringBuilder();
+    for (int i = 0; i < TextDelta.MAX_EDIT_TOKENS + 100; i++) {
+      a.append("a").append(i).append(' ');
+      b.append("b").append(i).append(' ');
+    }
+    String base = "<p>" + a + "</p>";
+    String target = "<p>" + b + "</p>";
+
+    List<TextDelta.Edit> edits = TextDelta.diff(base, target);
+    assertEquals(List.of(TextDelta.Op.EQUAL, TextDelta.Op.DELETE, TextDelta.Op.INSERT, TextDelta.Op.EQUAL),
+        edits.stream().map(TextDelta.Edit::op).toList());
+    assertRoundTrip(base, target);
+  }
+
+  @Test
+  void roundTripsRandomEdits() {
+    SplittableRandom random = new SplittableRandom(7);
+    String[] words = {"alpha ", "beta ", "<p>", "</p>", "\uD83D\uDE00 ", "\u65E5\u672C ", "gamma\n"};
+    for (int round = 0; round < 200; round++) {
+      StringBuilder base = new StringBuilder();
+      for (int i = random.nextInt(60); i > 0; i--) base.append(words[random.nextInt(words.length)]);
+      StringBuilder target = new StringBuilder(base);
+      for (int i = random.nextInt(8); i > 0; i--) {
+        int at = random.nextInt(target.length() + 1);
+        if (at > 0 && at < target.length() && Character.isLowSurrogate(target.charAt(at))) at--;
+        if (random.nextBoolean() || target.length() == 0) {
+          target.insert(at, words[random.nextInt(words.length)]);
+        } else {
+          int end = Math.min(target.length(), at + random.nextInt(12));
+          if (end < target.length() && Character.isLowSurrogate(target.charAt(end))) end++;
+          target.delete(at, end);
+        }
+      }
+      assertRoundTrip(base.toString(), target.toString());
+    }
+  }
+
+  @Test
+  void rejectsCorruptDeltas() {
+    String base = "<p>hello</p>";
+    assertThrows(IllegalArgumentException.class, () -> TextDelta.apply(base, new byte[] {1, 2, 3, 4}));
+    // Valid compression, bad contents
+    assertThrows(IllegalArgumentException.class, () -> TextDelta.apply(base, TextDelta.deflate(new byte[0])));
+    assertThrows(IllegalArgumentException.class, () -> TextDelta.apply(base, TextDelta.deflate(new byte[] {9})));
+    assertThrows(IllegalArgumentException.class, () -> TextDelta.apply(base, TextDelta.deflate(new byte[] {1, 'X', 0})));
+    // COPY past the end of the base, INSERT past the end of the delta, truncated length
+    assertThrows(IllegalArgumentException.class, () -> TextDelta.apply(base, TextDelta.deflate(new byte[] {1, 'C', 100})));
+    assertThrows(IllegalArgumentException.class, () -> TextDelta.apply(base, TextDelta.deflate(new byte[] {1, 'I', 5, 'a'})));
+    assertThrows(IllegalArgumentException.class, () -> TextDelta.apply(base, TextDelta.deflate(new byte[] {1, 'C', (byte) 0x80})));
+
+    byte[] good = TextDelta.encode(base, "<p>hello world</p>");
+    ByteArrayOutputStream truncated = new ByteArrayOutputStream();
+    truncated.write(good, 0, good.length / 2);
+    assertThrows(IllegalArgumentException.class, () -> TextDelta.apply(base, truncated.toByteArray()));
+  }
+}
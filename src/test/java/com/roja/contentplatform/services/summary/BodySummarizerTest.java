@@ -0,0 +1,110 @@
+package com.roja.contentplatform.services.summary;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BodySummarizerTest {
+
+  private static BodySummary summarize(int excerptChars, String html) {
+    return new BodySummarizer(excerptChars).summarize(html);
+  }
+
+  @Test
+  void collapsesMarkupAndWhitespace() {
+    BodySummary s = BodySummary.of("<h1>Title</h1>\n  <p>First <b>bold</b>   para.</p><p>Second</p><!-- note -->");
+    assertEquals("Title First bold para. Second", s.excerpt());
+    assertEquals(5, s.wordCount());
+    assertEquals(1, s.readingTimeMinutes());
+    assertNull(s.firstImageSrc());
+  }
+
+  @Test
+  void skipsRawTextElements() {
+    BodySummary s = BodySummary.of("<p>Hello</p><script>var p = '<p>not text</p>';</script>"
+        + "<STYLE type=\"text/css\">p > b { color: red }</style ><noscript>enable js</noscript><p>world</p>");
+    assertEquals("Hello world", s.excerpt());
+    assertEquals(2, s.wordCount());
+
+    // A self-closing raw-text tag has no content to skip
+    assertEquals("before after", BodySummary.of("before <script src=\"a.js\"/> after").excerpt());
+    // An unterminated one swallows the rest rather than leaking code into the excerpt
+    assertEquals("kept", BodySummary.of("kept<script>alert(1)").excerpt());
+  }
+
+  @Test
+  void decodesEntities() {
+    BodySummary s = BodySummary.of("<p>Fish &amp; chips &lt;3 &#169; &#x1F600; &QUOT;</p>");
+    assertEquals("Fish & chips <3 \u00A9 \uD83D\uDE00 &QUOT;", s.excerpt());
+    assertEquals(4, s.wordCount());
+
+    assertEquals("a b", BodySummary.of("a&nbsp;b").excerpt());
+    assertEquals("wait\u2026 ok", BodySummary.of("wait&hellip; ok").excerpt());
+    // Not references: no semicolon, too long, or not a code point
+    assertEquals("R&D & more", BodySummary.of("R&D & more").excerpt());
+    assertEquals("&#1114112;", BodySummary.of("&#1114112;").excerpt());
+    // Surrogates and NUL are never characters on their own
+    assertEquals("\uFFFD\uFFFD", BodySummary.of("&#xD83D;&#0;").excerpt());
+  }
+
+  @Test
+  void cutsTheExcerptWithoutSplittingASurrogatePair() {
+    // The pair straddles the limit: index 9 is the high surrogate, 10 the low one
+    String s = summarize(10, "abcdefghi\uD83D\uDE00\uD83D\uDE00").excerpt();
+    assertEquals("abcdefghi\u2026", s);
+
+    String emoji = summarize(5, "\uD83D\uDE00\uD83D\uDE00\uD83D\uDE00\uD83D\uDE00").excerpt();
+    assertEquals("\uD83D\uDE00\uD83D\uDE00\u2026", emoji);
+    for (int i = 0; i < emoji.length(); i++) {
+      if (Character.isHighSurrogate(emoji.charAt(i))) {
+        assertTrue(Character.isLowSurrogate(emoji.charAt(++i)), "split pair in " + emoji);
+      } else {
+        assertFalse(Character.isLowSurrogate(emoji.charAt(i)), "split pair in " + emoji);
+      }
+    }
+  }
+
+  @Test
+  void cutsTheExcerptAtAWordBoundary() {
+    StringBuilder html = new StringBuilder("<p>");
+    for (int i = 0; i < 200; i++) {
+      html.append("word").append(i).append(' ');
+    }
+    BodySummary s = BodySummary.of(html.append("</p>").toString());
+    assertTrue(s.excerpt().length() <= BodySummary.EXCERPT_CHARS + 1);
+    assertTrue(s.excerpt().matches("(word\\d+ )*word\\d+\u2026"), s.excerpt());
+    assertEquals(200, s.wordCount());
+    assertEquals(1, s.readingTimeMinutes());
+
+    // The words keep counting after the excerpt is full
+    assertEquals(200, summarize(10, html.toString()).wordCount());
+  }
+
+  @Test
+  void countsCjkCharactersAsWords() {
+    BodySummary s = BodySummary.of("<p>\u65E5\u672C\u8A9E\u306E\u6587\u7AE0 and English</p>");
+    assertEquals(8, s.wordCount());
+    assertEquals(0, BodySummary.of("").wordCount());
+    assertEquals(0, BodySummary.of(null).readingTimeMinutes());
+    assertEquals("", BodySummary.of("<p> </p>").excerpt());
+  }
+
+  @Test
+  void takesTheFirstUsableImage() {
+    assertEquals("/media/1.png", BodySummary.of(
+        "<p>x</p><img alt='a > b' src=\"data:image/png;base64,AAAA\"><IMG class=hero SRC='/media/1.png'><img src=/media/2.png>")
+        .firstImageSrc());
+    assertEquals("/media/3.png", BodySummary.of("<img src=/media/3.png>").firstImageSrc());
+    assertNull(BodySummary.of("<img alt=\"no source\"><img src=\"\">").firstImageSrc());
+  }
+
+  @Test
+  void degradesMalformedMarkupToText() {
+    assertEquals("a < b and <3", BodySummary.of("a < b and <3").excerpt());
+    assertEquals("open", BodySummary.of("open<p class=\"x").excerpt());
+    assertEquals("x<", BodySummary.of("x<").excerpt());
+  }
+}
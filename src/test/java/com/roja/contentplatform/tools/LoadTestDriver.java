@@ -0,0 +1,323 @@
+package com.roja.contentplatform.tools;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Self-contained load driver (JDK only) replaying a feed/view/write mix against a running instance.
+ *
+ * <pre>
+ * mvn -q test-compile
+ * java -cp target/test-classes com.roja.contentplatform.tools.LoadTestDriver \
+ *   --base-url=http://localhost:8080 --threads=32 --duration=60 --mix=feed:55,view:35,write:10
+ * </pre>
+ *
+ * Each thread is one virtual user with its own client, {@code <client-prefix><n>} for n below
+ * {@code --clients} (default: one per thread), as registered by the server's {@code synthetic}
+ * profile ({@code content.synthetic.load-clients}, 64 by default; more threads than clients share
+ * them round-robin when {@code --clients} is set). Users therefore have their own rate-limit buckets and the run exercises admission
+ * control as real integrations would; 429s show up in the status codes. {@code --client-id} puts
+ * every user on one client instead. Tokens are minted with the client-credentials grant and
+ * re-minted before they expire. View targets are harvested from feed responses. Prints
+ * throughput, status codes and a latency histogram (p50/p90/p99/p99.9/max) per operation.
+ */
+public final class LoadTestDriver {
+
+  private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+  private static final Pattern ACCESS_TOKEN = Pattern.compile("\"access_token\"\\s*:\\s*\"([^\"]+)\"");
+  private static final Pattern EXPIRES_IN = Pattern.compile("\"expires_in\"\\s*:\\s*(\\d+)");
+
+  private final String baseUrl;
+  private final String clientSecret;
+  private final List<String> regions;
+  private final List<String> langs;
+  private final Map<String, Integer> mix;
+  private final HttpClient http;
+  private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+  private final Map<String, Map<Integer, Long>> statuses = new ConcurrentHashMap<>();
+  private final List<Long> knownIds = new CopyOnWriteArrayList<>();
+  private final List<VirtualUser> users = new ArrayList<>();
+
+  private LoadTestDriver(Map<String, String> args, int threads) {
+    this.baseUrl = args.getOrDefault("base-url", "http://localhost:8080");
+    String sharedClient = args.get("client-id");
+    this.clientSecret = args.getOrDefault("client-secret", sharedClient == null ? "loadtest" : "secret");
+    String prefix = args.getOrDefault("client-prefix", "loadtest-");
+    int clients = Integer.parseInt(args.getOrDefault("clients", Integer.toString(threads)));
+    for (int t = 0; t < threads; t++) {
+      users.add(new VirtualUser(sharedClient != null ? sharedClient : prefix + (t % clients)));
+    }
+    this.regions = List.of(args.getOrDefault("regions", "US,JP,RU").split(","));
+    this.langs = List.of(args.getOrDefault("langs", "en,ja,ru,en-US,ja-JP").split(","));
+    this.mix = parseMix(args.getOrDefault("mix", "feed:55,view:35,write:10"));
+    this.http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+  }
+
+  public static void main(String[] argv) throws Exception {
+    Map<String, String> args = new LinkedHashMap<>();
+    for (String a : argv) {
+      if (!a.startsWith("--") || !a.contains("=")) {
+        throw new IllegalArgumentException("expected --key=value, got " + a);
+      }
+      args.put(a.substring(2, a.indexOf('=')), a.substring(a.indexOf('=') + 1));
+    }
+    int threads = Integer.parseInt(args.getOrDefault("threads", "16"));
+    int duration = Integer.parseInt(args.getOrDefault("duration", "60"));
+    int warmup = Integer.parseInt(args.getOrDefault("warmup", "10"));
+
+    LoadTestDriver driver = new LoadTestDriver(args, threads);
+    driver.seedIds();
+
+    System.out.printf("warmup %ds, run %ds, %d threads, %d clients, mix %s%n", warmup, duration, threads,
+        driver.users.stream().map(u -> u.clientId).distinct().count(), driver.mix);
+    driver.run(threads, warmup);
+    driver.histograms.clear();
+    driver.statuses.clear();
+    long started = System.nanoTime();
+    driver.run(threads, duration);
+    driver.report((System.nanoTime() - started) / 1e9);
+  }
+
+  private void run(int threads, int seconds) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+    ExecutorService pool = Executors.newFixedThreadPool(threads);
+    for (int t = 0; t < threads; t++) {
+      VirtualUser user = users.get(t);
+      pool.execute(() -> {
+        while (System.nanoTime() < deadline) {
+          String op = pickOperation();
+          try {
+            switch (op) {
+              case "feed" -> feed(user);
+              case "view" -> view(user);
+              case "write" -> write(user);
+              default -> throw new IllegalArgumentException("unknown operation " + op);
+            }
+          } catch (Exception ex) {
+            record(op, -1, 0);
+          }
+        }
+      });
+    }
+    pool.shutdown();
+    pool.awaitTermination(seconds + 60L, TimeUnit.SECONDS);
+  }
+
+  // ---- Operations
+
+  private void feed(VirtualUser user) throws Exception {
+    String region = pick(regions);
+    HttpResponse<String> res = send(user, "feed", get("/api/v1/feed?region=" + region + "&lang=" + pick(langs)));
+    if (res.statusCode() == 200 && knownIds.size() < 50_000) {
+      Matcher m = ID.matcher(res.body());
+      for (int i = 0; i < 20 && m.find(); i++) {
+        knownIds.add(Long.parseLong(m.group(1)));
+      }
+    }
+  }
+
+  private void view(VirtualUser user) throws Exception {
+    if (knownIds.isEmpty()) {
+      feed(user);
+      return;
+    }
+    long id = knownIds.get(ThreadLocalRandom.current().nextInt(knownIds.size()));
+    send(user, "view", get("/api/v1/content/" + id + "/view?lang=" + pick(langs)));
+  }
+
+  private void write(VirtualUser user) throws Exception {
+    String region = pick(regions);
+    String create = "{\"contentType\":\"ARTICLE\",\"region\":\"" + region + "\",\"category\":\"MARKETS\","
+        + "\"tags\":[\"loadtest\"],\"priority\":\"NORMAL\",\"pinned\":false,\"internal\":false}";
+    HttpResponse<String> res = send(user, "write", json("POST", "/api/v1/content", create));
+    Matcher m = ID.matcher(res.body());
+    if (res.statusCode() == 201 && m.find()) {
+      String body = "<p>" + "load test body ".repeat(50 + ThreadLocalRandom.current().nextInt(500)) + "</p>";
+      String variant = "{\"languageCode\":\"en\",\"title\":\"Load test " + m.group(1) + "\",\"bodyHtml\":\""
+          + body + "\",\"isDefaultLang\":true}";
+      send(user, "write", json("PUT", "/api/v1/content/" + m.group(1) + "/variants", variant));
+    }
+  }
+
+  // ---- HTTP
+
+  private HttpRequest.Builder get(String path) {
+    return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET();
+  }
+
+  private HttpRequest.Builder json(String method, String path, String body) {
+    return HttpRequest.newBuilder(URI.create(baseUrl + path))
+        .header("Content-Type", "application/json")
+        .method(method, HttpRequest.BodyPublishers.ofString(body));
+  }
+
+  private HttpResponse<String> send(VirtualUser user, String op, HttpRequest.Builder request) throws Exception {
+    if (System.nanoTime() > user.tokenExpiresAtNanos) {
+      mintToken(user);
+    }
+    HttpRequest req = request.header("Authorization", "Bearer " + user.token).timeout(Duration.ofSeconds(30)).build();
+    long start = System.nanoTime();
+    HttpResponse<String> res = http.send(req, HttpResponse.BodyHandlers.ofString());
+    record(op, res.statusCode(), System.nanoTime() - start);
+    return res;
+  }
+
+  private void mintToken(VirtualUser user) throws Exception {
+    String basic = Base64.getEncoder().encodeToString((user.clientId + ":" + clientSecret).getBytes(StandardCharsets.UTF_8));
+    HttpRequest req = HttpRequest.newBuilder(URI.create(baseUrl + "/oauth2/token"))
+        .header("Authorization", "Basic " + basic)
+        .header("Content-Type", "application/x-www-form-urlencoded")
+        .POST(HttpRequest.BodyPublishers.ofString("grant_type=client_credentials&scope=content.read%20content.write"))
+        .build();
+    HttpResponse<String> res = http.send(req, HttpResponse.BodyHandlers.ofString());
+    Matcher t = ACCESS_TOKEN.matcher(res.body());
+    if (res.statusCode() != 200 || !t.find()) {
+      throw new IllegalStateException("token request for " + user.clientId + " failed: HTTP "
+          + res.statusCode() + " " + res.body());
+    }
+    Matcher e = EXPIRES_IN.matcher(res.body());
+    long expiresIn = e.find() ? Long.parseLong(e.group(1)) : 300;
+    user.token = t.group(1);
+    // Re-mint with a safety margin before expiry
+    user.tokenExpiresAtNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(Math.max(10, expiresIn - 30));
+  }
+
+  private void seedIds() throws Exception {
+    for (int i = 0; i < regions.size() * 2; i++) {
+      feed(users.get(i % users.size()));
+    }
+  }
+
+  // ---- Reporting
+
+  private void record(String op, int status, long nanos) {
+    statuses.computeIfAbsent(op, k -> new ConcurrentHashMap<>()).merge(status, 1L, Long::sum);
+    if (status > 0) {
+      histograms.computeIfAbsent(op, k -> new Histogram()).record(nanos);
+    }
+  }
+
+  private void report(double seconds) {
+    System.out.printf("%n%-6s %9s %9s %9s %9s %9s %9s %9s  %s%n",
+        "op", "count", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "status codes");
+    for (String op : mix.keySet()) {
+      Histogram h = histograms.get(op);
+      if (h == null) continue;
+      long count = h.count();
+      System.out.printf("%-6s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f  %s%n",
+          op, count, count / seconds,
+          h.percentileMillis(50), h.percentileMillis(90), h.percentileMillis(99), h.percentileMillis(99.9),
+          h.maxMillis(), statuses.getOrDefault(op, Map.of()));
+    }
+  }
+
+  private String pickOperation() {
+    int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+    int r = ThreadLocalRandom.current().nextInt(total);
+    for (Map.Entry<String, Integer> e : mix.entrySet()) {
+      r -= e.getValue();
+      if (r < 0) return e.getKey();
+    }
+    throw new IllegalStateException();
+  }
+
+  private static <T> T pick(List<T> values) {
+    return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+  }
+
+  private static Map<String, Integer> parseMix(String spec) {
+    Map<String, Integer> mix = new LinkedHashMap<>();
+    for (String part : spec.split(",")) {
+      String[] kv = part.split(":");
+      mix.put(kv[0].trim(), Integer.parseInt(kv[1].trim()));
+    }
+    return mix;
+  }
+
+  /** One thread's client and its current token; only that thread touches it. */
+  private static final class VirtualUser {
+    final String clientId;
+    String token;
+    long tokenExpiresAtNanos = System.nanoTime();
+
+    VirtualUser(String clientId) {
+      this.clientId = clientId;
+    }
+  }
+
+  /**
+   * Log-linear histogram over microseconds: 64 power-of-two ranges, each split into 16 linear
+   * sub-buckets (~6% relative error), recorded lock-free.
+   */
+  static final class Histogram {
+    private static final int SUB = 16;
+    private final AtomicLongArray buckets = new AtomicLongArray(64 * SUB);
+    private final AtomicLongArray stats = new AtomicLongArray(2); // count, max micros
+
+    void record(long nanos) {
+      long micros = Math.max(1, nanos / 1000);
+      buckets.incrementAndGet(index(micros));
+      stats.incrementAndGet(0);
+      long max;
+      while (micros > (max = stats.get(1)) && !stats.compareAndSet(1, max, micros)) {
+        // retry
+      }
+    }
+
+    long count() {
+      return stats.get(0);
+    }
+
+    double maxMillis() {
+      return stats.get(1) / 1000.0;
+    }
+
+    double percentileMillis(double p) {
+      long target = (long) Math.ceil(count() * p / 100.0);
+      long seen = 0;
+      for (int i = 0; i < buckets.length(); i++) {
+        seen += buckets.get(i);
+        if (seen >= target && seen > 0) {
+          return upperBound(i) / 1000.0;
+        }
+      }
+      return maxMillis();
+    }
+
+    private static int index(long micros) {
+      int exp = 63 - Long.numberOfLeadingZeros(micros);
+      if (exp < 4) {
+        return (int) micros; // 1..15 us are exact
+      }
+      int sub = (int) ((micros >>> (exp - 4)) & (SUB - 1));
+      return (exp - 3) * SUB + sub;
+    }
+
+    private static long upperBound(int index) {
+      if (index < SUB) {
+        return index;
+      }
+      int exp = index / SUB + 3;
+      int sub = index % SUB;
+      return ((long) (SUB + sub + 1) << (exp - 4)) - 1;
+    }
+  }
+}
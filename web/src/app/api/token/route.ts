@@ -0,0 +1,38 @@
+// Mints dashboard tokens on the server so the staff client secret never reaches the browser
+const apiBase = process.env.API_BASE || process.env.NEXT_PUBLIC_API_BASE || "https://content-platform-api-1gk1.onrender.com";
+const clientId = "content-platform-staff";
+
+export const dynamic = "force-dynamic";
+
+export async function POST(req: Request) {
+  const clientSecret = process.env.STAFF_CLIENT_SECRET;
+  if (!clientSecret) {
+    return Response.json({ error: "STAFF_CLIENT_SECRET is not set" }, { status: 500 });
+  }
+  // Only the dashboard's own pages may ask; other sites cannot borrow a staff token
+  const site = req.headers.get("sec-fetch-site");
+  if (site && site !== "same-origin") {
+    return Response.json({ error: "forbidden" }, { status: 403 });
+  }
+
+  const res = await fetch(`${apiBase}/oauth2/token`, {
+    method: "POST",
+    headers: {
+      Authorization: `Basic ${Buffer.from(`${clientId}:${clientSecret}`).toString("base64")}`,
+      "Content-Type": "application/x-www-form-urlencoded",
+    },
+    body: new URLSearchParams({
+      grant_type: "client_credentials",
+      scope: "content.read content.write content.internal",
+    }),
+    cache: "no-store",
+  });
+  if (!res.ok) {
+    return Response.json({ error: "token request failed" }, { status: 502 });
+  }
+  const data = await res.json();
+  return Response.json(
+    { access_token: data.access_token, expires_in: data.expires_in },
+    { headers: { "Cache-Control": "no-store" } },
+  );
+}
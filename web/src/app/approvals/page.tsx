@@ -3,7 +3,7 @@
 import { useEffect, useState } from "react";
 import Link from "next/link";
 import { getToken } from "@/lib/token";
-import { publishContent } from "@/lib/api";
+import { batchTransition, publishContent } from "@/lib/api";
 
 type DraftEntry = {
   id: number;
@@ -37,6 +37,8 @@ export default function ApprovalsPage() {
   const [message, setMessage] = useState<string | null>(null);
   const [loadingId, setLoadingId] = useState<number | null>(null);
   const [manualId, setManualId] = useState("");
+  const [selected, setSelected] = useState<Set<number>>(new Set());
+  const [batchLoading, setBatchLoading] = useState(false);
 
   useEffect(() => {
     setDrafts(loadDrafts());
@@ -56,6 +58,9 @@ export default function ApprovalsPage() {
       const nextDrafts = drafts.filter((d) => d.id !== id);
       setDrafts(nextDrafts);
       saveDrafts(nextDrafts);
+      const nextSelected = new Set(selected);
+      nextSelected.delete(id);
+      setSelected(nextSelected);
 
       setMessage(`Approved and published (ID ${id}).`);
     } catch (e: any) {
@@ -65,6 +70,49 @@ export default function ApprovalsPage() {
     }
   };
 
+  const toggle = (id: number) => {
+    const next = new Set(selected);
+    if (next.has(id)) next.delete(id);
+    else next.add(id);
+    setSelected(next);
+  };
+
+  const toggleAll = () => {
+    setSelected(selected.size === pending.length ? new Set() : new Set(pending.map((d) => d.id)));
+  };
+
+  const publishSelected = async () => {
+    const ids = pending.filter((d) => selected.has(d.id)).map((d) => d.id);
+    if (ids.length === 0) return;
+    setErr(null);
+    setMessage(null);
+    setBatchLoading(true);
+
+    try {
+      const token = await getToken();
+      const res = await batchTransition(token, "publish", ids);
+
+      // Already published counts as done; anything else stays pending with its reason
+      const done = new Set(
+        res.results.filter((r) => r.outcome === "TRANSITIONED" || r.outcome === "UNCHANGED").map((r) => r.id)
+      );
+      const nextDrafts = drafts.filter((d) => !done.has(d.id));
+      setDrafts(nextDrafts);
+      saveDrafts(nextDrafts);
+      setSelected(new Set());
+
+      const failed = res.results.filter((r) => !done.has(r.id));
+      setMessage(`Published ${res.transitioned} of ${res.requested}.`);
+      if (failed.length > 0) {
+        setErr(`Not published: ${failed.map((r) => `${r.id} (${r.outcome})`).join(", ")}`);
+      }
+    } catch (e: any) {
+      setErr(e.message || "Failed to publish selected.");
+    } finally {
+      setBatchLoading(false);
+    }
+  };
+
   const approveManual = () => {
     const id = Number(manualId);
     if (!id) {
@@ -116,11 +164,30 @@ export default function ApprovalsPage() {
           <h2 className="panel-title">Pending approvals</h2>
           {pending.length === 0 && <p className="subtle">No pending approvals.</p>}
 
+          {pending.length > 0 && (
+            <button
+              className="btn btn-primary"
+              style={{ marginBottom: "0.75rem" }}
+              onClick={publishSelected}
+              disabled={batchLoading || selected.size === 0}
+            >
+              {batchLoading ? "Publishing..." : `Approve & publish selected (${selected.size})`}
+            </button>
+          )}
+
           {pending.length > 0 && (
             <div style={{ overflowX: "auto" }}>
               <table className="table">
                 <thead>
                   <tr>
+                    <th>
+                      <input
+                        type="checkbox"
+                        aria-label="Select all"
+                        checked={selected.size > 0 && selected.size === pending.length}
+                        onChange={toggleAll}
+                      />
+                    </th>
                     <th>ID</th>
                     <th>Title</th>
                     <th>Region</th>
@@ -132,6 +199,14 @@ export default function ApprovalsPage() {
                 <tbody>
                   {pending.map((draft) => (
                     <tr key={draft.id}>
+                      <td>
+                        <input
+                          type="checkbox"
+                          aria-label={`Select ${draft.id}`}
+                          checked={selected.has(draft.id)}
+                          onChange={() => toggle(draft.id)}
+                        />
+                      </td>
                       <td>{draft.id}</td>
                       <td>{draft.title}</td>
                       <td>{draft.region}</td>
@@ -3,7 +3,7 @@
 import { useEffect, useState } from "react";
 import { useParams, useSearchParams } from "next/navigation";
 import { getToken } from "@/lib/token";
-import { apiFetch } from "@/lib/api";
+import { apiFetch, apiUrl, resolveMediaUrls } from "@/lib/api";
 import Link from "next/link";
 
 type ContentView = {
@@ -25,6 +25,7 @@ type ContentView = {
   approvedAt: string | null;
   version: number;
   internal: boolean;
+  coverImageUrl: string | null;
   coverImage?: string;
 };
 
@@ -61,14 +62,14 @@ export default function ContentPage() {
         const token = await getToken();
         const res = await apiFetch(`/api/v1/content/${params.id}/view?lang=${lang}`, token);
         
-        // Load drafts from localStorage to get cover image
-        const drafts = loadDrafts();
-        const draft = drafts.find(d => d.id === parseInt(params.id));
-        
-        // Merge cover image from localStorage
+        // The stored cover wins; localStorage only covers drafts saved before media uploads
+        const draft = res.coverImageUrl ? undefined : loadDrafts().find(d => d.id === parseInt(params.id));
+        const legacy = draft?.coverImage;
         setData({
           ...res,
-          coverImage: res.coverImage || draft?.coverImage
+          coverImage: res.coverImageUrl
+            ? apiUrl(res.coverImageUrl)
+            : legacy && legacy.startsWith("/") ? apiUrl(legacy) : legacy
         });
       } catch (e: any) {
         setErr(e.message);
@@ -165,7 +166,7 @@ export default function ContentPage() {
         )}
 
         <article className="panel" style={{ fontSize: "1.05rem", lineHeight: 1.8 }}>
-          <div dangerouslySetInnerHTML={{ __html: data.bodyHtml }} />
+          <div dangerouslySetInnerHTML={{ __html: resolveMediaUrls(data.bodyHtml) }} />
         </article>
       </main>
     </div>
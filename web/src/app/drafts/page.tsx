@@ -2,7 +2,15 @@
 
 import { useEffect, useState } from "react";
 import Link from "next/link";
-import { createContent, upsertVariant, publishContent } from "@/lib/api";
+import {
+  apiUrl,
+  createContent,
+  publishContent,
+  relativeMediaUrls,
+  resolveMediaUrls,
+  uploadMedia,
+  upsertVariant,
+} from "@/lib/api";
 import { getToken } from "@/lib/token";
 
 type DraftEntry = {
@@ -18,7 +26,7 @@ type DraftEntry = {
   tags: string;
   internal: boolean;
   body: string;
-  coverImage?: string;
+  coverImage?: string; // media path; legacy drafts hold a data: URL or a pasted URL
   scheduledPublishAt?: string;
 };
 
@@ -82,6 +90,30 @@ function saveDrafts(drafts: DraftEntry[]) {
   localStorage.setItem(STORAGE_KEY, JSON.stringify(drafts));
 }
 
+/** Uploaded media are API paths; pasted URLs, previews and legacy data: URLs are used as they are. */
+function mediaSrc(src: string) {
+  return src.startsWith("/") ? apiUrl(src) : src;
+}
+
+/** Uploads the image a cover field points at (a pasted URL or a legacy data: URL) and returns its media path. */
+async function uploadCoverFromUrl(token: string, id: number, src: string) {
+  const res = await fetch(src).catch(() => null);
+  if (!res?.ok) throw new Error("Could not load the cover image URL; upload the file instead.");
+  return (await uploadMedia(token, id, await res.blob(), true)).url;
+}
+
+/** Uploads every inline data: image in the body and points it at the stored media instead. */
+async function uploadInlineImages(token: string, id: number, html: string) {
+  const inline = new Set(Array.from(html.matchAll(/src="(data:image\/[^"]+)"/g), (m) => m[1]));
+  let out = html;
+  for (const dataUrl of inline) {
+    const blob = await (await fetch(dataUrl)).blob();
+    const asset = await uploadMedia(token, id, blob, false);
+    out = out.split(dataUrl).join(asset.url);
+  }
+  return out;
+}
+
 export default function DraftsPage() {
   const [drafts, setDrafts] = useState<DraftEntry[]>([]);
   const [err, setErr] = useState<string | null>(null);
@@ -132,18 +164,31 @@ export default function DraftsPage() {
   const handleImageUpload = (e: React.ChangeEvent<HTMLInputElement>) => {
     const file = e.target.files?.[0];
     if (file) {
+      // Uploaded on save; until then only a local preview
       setCoverImageFile(file);
-      const reader = new FileReader();
-      reader.onloadend = () => {
-        setCoverImage(reader.result as string);
-      };
-      reader.readAsDataURL(file);
+      setCoverImage(URL.createObjectURL(file));
     }
   };
 
+  const insertBodyImage = (e: React.ChangeEvent<HTMLInputElement>) => {
+    const file = e.target.files?.[0];
+    e.target.value = "";
+    if (!file) return;
+    // Inline until save, when uploadInlineImages swaps it for a media URL
+    const reader = new FileReader();
+    reader.onloadend = () => {
+      const editor = document.querySelector('[contenteditable="true"]') as HTMLDivElement;
+      if (!editor) return;
+      editor.focus();
+      document.execCommand("insertImage", false, reader.result as string);
+      setBody(editor.innerHTML);
+    };
+    reader.readAsDataURL(file);
+  };
+
   const loadDraftForEdit = (draft: DraftEntry) => {
     setTitle(draft.title || "");
-    setBody(draft.body || "");
+    setBody(resolveMediaUrls(draft.body || ""));
     setTags(draft.tags || "");
     setContentType(draft.contentType || "ARTICLE");
     setRegion(draft.region || "US");
@@ -153,10 +198,11 @@ export default function DraftsPage() {
     setLanguage(draft.language || "en");
     setEditingDraftId(draft.id);
     setCoverImage(draft.coverImage || "");
+    setCoverImageFile(null);
     setScheduledPublishAt(draft.scheduledPublishAt || "");
     // Update the contentEditable div
     const editor = document.querySelector('[contenteditable="true"]') as HTMLDivElement;
-    if (editor) editor.innerHTML = draft.body || "";
+    if (editor) editor.innerHTML = resolveMediaUrls(draft.body || "");
     // Scroll to top and switch to create tab
     setActiveTab("create");
     window.scrollTo({ top: 0, behavior: 'smooth' });
@@ -205,12 +251,6 @@ export default function DraftsPage() {
       // If editing existing draft, just update the variant
       if (editingDraftId !== null) {
         contentId = editingDraftId;
-        await upsertVariant(token, contentId, {
-          languageCode: language,
-          title: title.trim(),
-          bodyHtml: body.trim(),
-          isDefaultLang: true,
-        });
       } else {
         // Create new content
         const created = await createContent(token, {
@@ -226,14 +266,23 @@ export default function DraftsPage() {
           internal,
         });
         contentId = created.id;
+      }
 
-        await upsertVariant(token, contentId, {
-          languageCode: language,
-          title: title.trim(),
-          bodyHtml: body.trim(),
-          isDefaultLang: true,
-        });
+      // Images go to the media store; the item and its body only reference them
+      let cover = coverImage;
+      if (coverImageFile) {
+        cover = (await uploadMedia(token, contentId, coverImageFile, true)).url;
+      } else if (cover && !cover.startsWith("/")) {
+        cover = await uploadCoverFromUrl(token, contentId, cover);
       }
+      const storedBody = relativeMediaUrls(await uploadInlineImages(token, contentId, body.trim()));
+
+      await upsertVariant(token, contentId, {
+        languageCode: language,
+        title: title.trim(),
+        bodyHtml: storedBody,
+        isDefaultLang: true,
+      });
 
       const entry: DraftEntry = {
         id: contentId,
@@ -247,8 +296,8 @@ export default function DraftsPage() {
         priority,
         tags,
         internal,
-        body: body.trim(),
-        coverImage: coverImage || undefined,
+        body: storedBody,
+        coverImage: cover || undefined,
         scheduledPublishAt: scheduledPublishAt || undefined,
       };
 
@@ -281,6 +330,11 @@ export default function DraftsPage() {
         resetForm();
       } else {
         setEditingDraftId(contentId);
+        setCoverImage(cover);
+        setCoverImageFile(null);
+        const editor = document.querySelector('[contenteditable="true"]') as HTMLDivElement;
+        if (editor) editor.innerHTML = resolveMediaUrls(storedBody);
+        setBody(resolveMediaUrls(storedBody));
       }
     } catch (e: any) {
       setErr(e.message || "Failed to save draft.");
@@ -458,7 +512,7 @@ export default function DraftsPage() {
               />
               {coverImage && (
                 <div style={{ marginTop: "0.5rem", border: "1px solid var(--border)", borderRadius: "8px", overflow: "hidden", maxHeight: "160px" }}>
-                  <img src={coverImage} alt="Cover preview" style={{ width: "100%", height: "auto", display: "block" }} />
+                  <img src={mediaSrc(coverImage)} alt="Cover preview" style={{ width: "100%", height: "auto", display: "block" }} />
                 </div>
               )}
             </div>
@@ -534,6 +588,14 @@ export default function DraftsPage() {
               >
                 H3
               </button>
+              <label
+                className="btn btn-ghost"
+                style={{ minWidth: "auto", padding: "0.25rem 0.75rem", fontSize: "0.875rem", cursor: "pointer" }}
+                title="Insert image"
+              >
+                Image
+                <input type="file" accept="image/*" hidden onChange={insertBodyImage} />
+              </label>
             </div>
             <div
               contentEditable
@@ -733,10 +795,10 @@ export default function DraftsPage() {
                                     const token = await getToken();
                                     await publishContent(token, draft.id);
                                     
-                                    // Update draft status to published but keep coverImage in localStorage
+                                    // Update draft status to published; the cover itself is stored with the item
                                     const nextDrafts = drafts.map(d => 
                                       d.id === draft.id 
-                                        ? { ...d, status: "DRAFT" as const } // Keep it as DRAFT so cover image persists
+                                        ? { ...d, status: "DRAFT" as const }
                                         : d
                                     );
                                     setDrafts(nextDrafts);
@@ -824,7 +886,7 @@ export default function DraftsPage() {
             {/* Cover Image */}
             {previewDraft.coverImage && (
               <div style={{ marginBottom: "1.5rem", borderRadius: "12px", overflow: "hidden", aspectRatio: "16 / 6" }}>
-                <img src={previewDraft.coverImage} alt={previewDraft.title} style={{ width: "100%", height: "100%", objectFit: "cover", display: "block" }} />
+                <img src={mediaSrc(previewDraft.coverImage)} alt={previewDraft.title} style={{ width: "100%", height: "100%", objectFit: "cover", display: "block" }} />
               </div>
             )}
 
@@ -869,7 +931,7 @@ export default function DraftsPage() {
                 borderTop: "2px solid var(--border)",
                 paddingTop: "1.5rem"
               }}
-              dangerouslySetInnerHTML={{ __html: previewDraft.body }}
+              dangerouslySetInnerHTML={{ __html: resolveMediaUrls(previewDraft.body) }}
             />
 
             {/* Footer Info */}
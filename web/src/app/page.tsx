@@ -3,7 +3,7 @@
 import { useEffect, useMemo, useState } from "react";
 import Link from "next/link";
 import { getToken } from "@/lib/token";
-import { apiFetch } from "@/lib/api";
+import { apiFetch, apiUrl } from "@/lib/api";
 
 type FeedItem = {
   id: number;
@@ -25,6 +25,11 @@ type FeedItem = {
   approvedAt: string | null;
   version: number;
   internal: boolean;
+  coverImageUrl: string | null;
+  excerpt: string | null;
+  wordCount: number | null;
+  readingTimeMinutes: number | null;
+  firstImageSrc: string | null;
   coverImage?: string;
 };
 
@@ -45,6 +50,12 @@ function loadDrafts(): DraftEntry[] {
   }
 }
 
+/** Body images are written either as API paths (uploaded media) or as absolute URLs. */
+function bodyImageUrl(src: string | null): string | undefined {
+  if (!src) return undefined;
+  return src.startsWith("/") ? apiUrl(src) : src;
+}
+
 const REGIONS = [
   { code: "US", label: "US" },
   { code: "JP", label: "JP" },
@@ -77,10 +88,12 @@ export default function PublishedDashboard() {
         const drafts = loadDrafts();
         const draftMap = new Map(drafts.map(d => [d.id, d]));
         
-        // Merge cover images from localStorage with API data
+        // Prefer the stored cover image, then the body's first image, then legacy localStorage drafts
         const itemsWithImages = data.map((item: FeedItem) => ({
           ...item,
-          coverImage: item.coverImage || draftMap.get(item.id)?.coverImage
+          coverImage: item.coverImageUrl
+            ? apiUrl(item.coverImageUrl)
+            : bodyImageUrl(item.firstImageSrc) ?? draftMap.get(item.id)?.coverImage
         }));
         
         setItems(itemsWithImages);
@@ -214,6 +227,7 @@ export default function PublishedDashboard() {
                     </div>
                     <div className="tile-body">
                       <h3>{item.title}</h3>
+                      {item.excerpt && <p className="subtle tile-excerpt">{item.excerpt}</p>}
                       <div className="tile-meta">
                         <span className="pill">{item.category}</span>
                         <span className="subtle">{item.region}</span>
@@ -221,6 +235,9 @@ export default function PublishedDashboard() {
                       </div>
                       <div className="tile-footer">
                         <span className="subtle">{new Date(item.publishedAt).toLocaleDateString()}</span>
+                        {item.readingTimeMinutes ? (
+                          <span className="subtle">{item.readingTimeMinutes} min read</span>
+                        ) : null}
                       </div>
                     </div>
                   </div>
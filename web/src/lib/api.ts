@@ -1,5 +1,22 @@
 const API = process.env.NEXT_PUBLIC_API_BASE || "https://content-platform-api-1gk1.onrender.com";
 
+/** Absolute URL for a backend path such as `/api/v1/media/{sha256}`. */
+export function apiUrl(path: string) {
+  return `${API}${path}`;
+}
+
+const MEDIA_PATH = "/api/v1/media/";
+
+/** Bodies store uploaded images as API paths; the browser needs the API host in front of them. */
+export function resolveMediaUrls(html: string) {
+  return html.replace(/(src=["'])\/api\/v1\/media\//g, `$1${API}${MEDIA_PATH}`);
+}
+
+/** Inverse of {@link resolveMediaUrls}, applied before a body is saved. */
+export function relativeMediaUrls(html: string) {
+  return html.split(`${API}${MEDIA_PATH}`).join(MEDIA_PATH);
+}
+
 export type CreateContentPayload = {
   contentType: string;
   region: string;
@@ -63,3 +80,45 @@ export async function publishContent(token: string, id: number) {
     method: "POST",
   });
 }
+
+export type WorkflowTransition = "approve" | "publish" | "archive" | "unpublish";
+
+export type BatchTransitionResponse = {
+  transition: string;
+  requested: number;
+  transitioned: number;
+  results: { id: number; outcome: string; status: string | null }[];
+};
+
+export async function batchTransition(token: string, transition: WorkflowTransition, ids: number[]) {
+  return apiFetch(`/api/v1/content:batch/${transition}`, token, {
+    method: "POST",
+    body: JSON.stringify({ ids }),
+  }) as Promise<BatchTransitionResponse>;
+}
+
+export type MediaAssetResponse = {
+  sha256: string;
+  url: string;
+  mediaType: string;
+  sizeBytes: number;
+  width: number | null;
+  height: number | null;
+  renditions: Record<string, string>;
+};
+
+export async function uploadMedia(token: string, id: number, file: Blob, cover: boolean) {
+  const form = new FormData();
+  form.append("file", file);
+  const res = await fetch(`${API}/api/v1/content/${id}/media?cover=${cover}`, {
+    method: "POST",
+    headers: { Authorization: `Bearer ${token}` },
+    body: form,
+    cache: "no-store",
+  });
+  if (!res.ok) {
+    const text = await res.text();
+    throw new Error(text || `HTTP ${res.status}`);
+  }
+  return res.json() as Promise<MediaAssetResponse>;
+}